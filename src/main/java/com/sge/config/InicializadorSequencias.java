@@ -0,0 +1,72 @@
+package com.sge.config;
+
+import com.sge.entity.ItensVenda;
+import com.sge.entity.Venda;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+// Venda e ItensVenda passaram de IDENTITY para sequências com blocos. Em um banco que já tinha vendas as sequências
+// (tabelas que as emulam no MySQL) começariam em 1 e colidiriam com as chaves gravadas, então antes de qualquer
+// inserção cada uma é avançada até o próximo bloco começar depois do maior id; sequências já adiantadas não mudam
+@Slf4j
+@Component
+public class InicializadorSequencias {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Garante o esquema criado pelo Hibernate antes dos ajustes
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void iniciar() {
+        boolean mysql = jdbcTemplate.execute((ConnectionCallback<String>) conexao ->
+                conexao.getMetaData().getDatabaseProductName()).toLowerCase().contains("mysql");
+
+        ajustar(Venda.class, mysql);
+        ajustar(ItensVenda.class, mysql);
+    }
+
+    private void ajustar(Class<?> entidade, boolean mysql) {
+        String tabela = entidade.getAnnotation(Table.class).name();
+        SequenceGenerator gerador = obterGerador(entidade);
+
+        Long maiorId = jdbcTemplate.queryForObject("select max(id) from " + tabela, Long.class);
+        if (maiorId == null) {
+            return;
+        }
+
+        // O otimizador "pooled" usa o valor lido como topo do bloco: os ids vão de valor - (bloco - 1) até valor
+        long minimo = maiorId + gerador.allocationSize();
+        long atual = mysql
+                ? jdbcTemplate.queryForObject("select next_val from " + gerador.sequenceName(), Long.class)
+                : jdbcTemplate.queryForObject("select BASE_VALUE from INFORMATION_SCHEMA.SEQUENCES where upper(SEQUENCE_NAME) = upper(?)",
+                Long.class, gerador.sequenceName());
+        if (atual >= minimo) {
+            return;
+        }
+
+        if (mysql) {
+            jdbcTemplate.update("update " + gerador.sequenceName() + " set next_val = ? where next_val < ?", minimo, minimo);
+        } else {
+            jdbcTemplate.execute("alter sequence " + gerador.sequenceName() + " restart with " + minimo);
+        }
+        log.info("Sequência {} avançada de {} para {} (maior id em {}: {})", gerador.sequenceName(), atual, minimo, tabela, maiorId);
+    }
+
+    private SequenceGenerator obterGerador(Class<?> entidade) {
+        try {
+            return entidade.getDeclaredField("id").getAnnotation(SequenceGenerator.class);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("Entidade sem campo id: " + entidade.getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.sge.controller;
+
+import com.sge.dto.EstatisticaCacheDTO;
+import com.sge.service.catalogo.CatalogoCacheService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/catalogo")
+@RequiredArgsConstructor
+@Tag(name = "Catálogo", description = "API do cache de Produtos, Categorias e Fabricantes")
+public class CatalogoController {
+
+    private final CatalogoCacheService catalogoCacheService;
+
+    @GetMapping("/cache/estatisticas")
+    @CrossOrigin("http://localhost:3000")
+    @Operation(summary = "Estatísticas do cache", description = "Retorna tamanho, acertos, falhas, carregamentos e despejos dos caches do catálogo")
+    public List<EstatisticaCacheDTO> buscarEstatisticas() {
+        return catalogoCacheService.buscarEstatisticas();
+    }
+}
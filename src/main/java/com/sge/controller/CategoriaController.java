@@ -1,7 +1,10 @@
 package com.sge.controller;
 
+import com.sge.dto.PaginaReferenciaDTO;
 import com.sge.entity.Categoria;
+import com.sge.enums.TipoReferencia;
 import com.sge.exceptions.InfoException;
+import com.sge.service.buscaReferencia.BuscaReferenciaService;
 import com.sge.service.categoria.CategoriaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -19,6 +22,8 @@ public class CategoriaController {
 
     private final CategoriaService categoriaService;
 
+    private final BuscaReferenciaService buscaReferenciaService;
+
     @GetMapping("")
     @CrossOrigin("http://localhost:3000")
     @Operation(summary = "Buscar Categorias", description = "Busca todas as Categorias cadastradas")
@@ -26,6 +31,15 @@ public class CategoriaController {
         return categoriaService.buscarTodos();
     }
 
+    @GetMapping("/busca")
+    @CrossOrigin("http://localhost:3000")
+    @Operation(summary = "Pesquisar Categorias", description = "Pesquisa Categorias por trecho do nome, sem diferenciar acentos e maiúsculas, com paginação")
+    public PaginaReferenciaDTO buscar(@RequestParam(value = "termo", required = false) String termo,
+                                      @RequestParam(value = "pagina", defaultValue = "0") int pagina,
+                                      @RequestParam(value = "tamanho", defaultValue = "20") int tamanho) throws InfoException {
+        return buscaReferenciaService.buscar(TipoReferencia.CATEGORIA, termo, pagina, tamanho);
+    }
+
     @PostMapping("/cadastrar")
     @CrossOrigin("http://localhost:3000")
     @Operation(summary = "Cadastrar Categoria", description = "Cadastra uma Categoria")
@@ -0,0 +1,63 @@
+package com.sge.controller;
+
+import com.sge.dto.MovimentoEstoqueDTO;
+import com.sge.dto.SaldoEstoqueDTO;
+import com.sge.exceptions.InfoException;
+import com.sge.service.estoque.EstoqueService;
+import com.sge.util.Util;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.text.ParseException;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/estoque")
+@RequiredArgsConstructor
+@Tag(name = "Estoque", description = "API de Estoque")
+public class EstoqueController {
+    @Autowired
+    private EstoqueService estoqueService;
+
+    @GetMapping("/{produtoId}")
+    @CrossOrigin("http://localhost:3000")
+    @Operation(summary = "Buscar saldo de estoque", description = "Busca o saldo atual de um Produto ou, com data, o saldo ao final do dia informado")
+    public SaldoEstoqueDTO buscarSaldo(@PathVariable("produtoId") Long produtoId,
+                                       @RequestParam(value = "data", required = false) String data) throws InfoException, ParseException {
+        return estoqueService.buscarSaldo(produtoId, data != null ? fimDoDia(Util.converterData(data)) : null);
+    }
+
+    @GetMapping("/{produtoId}/movimentos")
+    @CrossOrigin("http://localhost:3000")
+    @Operation(summary = "Listar movimentos de estoque", description = "Lista os movimentos de estoque de um Produto entre a data início e a data fim, incluindo os dois dias")
+    public List<MovimentoEstoqueDTO> buscarMovimentos(@PathVariable("produtoId") Long produtoId,
+                                                      @RequestParam("dataInicio") String dataInicio,
+                                                      @RequestParam("dataFim") String dataFim) throws ParseException {
+        return estoqueService.buscarMovimentos(produtoId, Util.converterData(dataInicio), fimDoDia(Util.converterData(dataFim)));
+    }
+
+    @PostMapping("/{produtoId}/movimento")
+    @CrossOrigin("http://localhost:3000")
+    @Operation(summary = "Registrar movimento de estoque", description = "Registra uma ENTRADA de mercadoria ou um AJUSTE de inventário para um Produto")
+    public MovimentoEstoqueDTO movimentar(@PathVariable("produtoId") Long produtoId,
+                                          @RequestBody MovimentoEstoqueDTO movimento) throws InfoException {
+        return estoqueService.movimentar(produtoId, movimento);
+    }
+
+    @PostMapping("/snapshots")
+    @CrossOrigin("http://localhost:3000")
+    @Operation(summary = "Gerar snapshots de estoque", description = "Gera imediatamente os snapshots de saldo dos produtos movimentados desde o último snapshot, com o mesmo atraso de corte do agendamento")
+    public int gerarSnapshots() {
+        return estoqueService.gerarSnapshots();
+    }
+
+    private Date fimDoDia(Date dia) {
+        return Date.from(dia.toInstant().atZone(ZoneId.systemDefault()).toLocalDate().plusDays(1)
+                .atStartOfDay(ZoneId.systemDefault()).toInstant().minusMillis(1));
+    }
+}
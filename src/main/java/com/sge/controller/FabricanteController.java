@@ -1,7 +1,10 @@
 package com.sge.controller;
 
+import com.sge.dto.PaginaReferenciaDTO;
 import com.sge.entity.Fabricante;
+import com.sge.enums.TipoReferencia;
 import com.sge.exceptions.InfoException;
+import com.sge.service.buscaReferencia.BuscaReferenciaService;
 import com.sge.service.fabricante.FabricanteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -18,6 +21,8 @@ import java.util.List;
 public class FabricanteController {
     private final FabricanteService fabricanteService;
 
+    private final BuscaReferenciaService buscaReferenciaService;
+
     @GetMapping("")
     @CrossOrigin("http://localhost:3000")
     @Operation(summary = "Buscar Fabricantes", description = "Busca todas os Fabricantes cadastrados")
@@ -25,6 +30,15 @@ public class FabricanteController {
         return fabricanteService.buscarTodos();
     }
 
+    @GetMapping("/busca")
+    @CrossOrigin("http://localhost:3000")
+    @Operation(summary = "Pesquisar Fabricantes", description = "Pesquisa Fabricantes por trecho do nome, sem diferenciar acentos e maiúsculas, com paginação")
+    public PaginaReferenciaDTO buscar(@RequestParam(value = "termo", required = false) String termo,
+                                      @RequestParam(value = "pagina", defaultValue = "0") int pagina,
+                                      @RequestParam(value = "tamanho", defaultValue = "20") int tamanho) throws InfoException {
+        return buscaReferenciaService.buscar(TipoReferencia.FABRICANTE, termo, pagina, tamanho);
+    }
+
     @PostMapping("/cadastrar")
     @CrossOrigin("http://localhost:3000")
     @Operation(summary = "Cadastrar Fabricante", description = "Cadastra um Fabricante")
@@ -1,7 +1,10 @@
 package com.sge.controller;
 
+import com.sge.dto.PaginaReferenciaDTO;
 import com.sge.entity.Permissao;
+import com.sge.enums.TipoReferencia;
 import com.sge.exceptions.InfoException;
+import com.sge.service.buscaReferencia.BuscaReferenciaService;
 import com.sge.service.permissao.PermissaoService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -16,12 +19,22 @@ public class PermissaoController {
 
     private final PermissaoService permissaoService;
 
+    private final BuscaReferenciaService buscaReferenciaService;
+
     @GetMapping
     @CrossOrigin("http://localhost:3000")
     public List<Permissao> buscarTodos() {
         return permissaoService.buscarTodos();
     }
 
+    @GetMapping("/busca")
+    @CrossOrigin("http://localhost:3000")
+    public PaginaReferenciaDTO buscar(@RequestParam(value = "termo", required = false) String termo,
+                                      @RequestParam(value = "pagina", defaultValue = "0") int pagina,
+                                      @RequestParam(value = "tamanho", defaultValue = "20") int tamanho) throws InfoException {
+        return buscaReferenciaService.buscar(TipoReferencia.PERMISSAO, termo, pagina, tamanho);
+    }
+
     @PostMapping("/cadastrar")
     @CrossOrigin("http://localhost:3000")
     public Permissao inserir(@RequestBody Permissao permissao) throws InfoException {
@@ -1,7 +1,11 @@
 package com.sge.controller;
 
+import com.sge.dto.NavegacaoProdutoDTO;
+import com.sge.dto.ProdutoDTO;
+import com.sge.dto.ResultadoBuscaProdutoDTO;
 import com.sge.entity.Produto;
 import com.sge.exceptions.InfoException;
+import com.sge.service.buscaProduto.BuscaProdutoService;
 import com.sge.service.produto.ProdutoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -20,11 +24,33 @@ public class ProdutoController {
     @Autowired
     private ProdutoService produtoService;
 
+    @Autowired
+    private BuscaProdutoService buscaProdutoService;
+
     @GetMapping("")
     @CrossOrigin("http://localhost:3000")
     @Operation(summary = "Buscar Produtos", description = "Busca todos os Produtos cadastrados")
-    public List<Produto> buscarTodos() {
-        return produtoService.buscarTodos();
+    public List<ProdutoDTO> buscarTodos() {
+        return produtoService.listar();
+    }
+
+    @GetMapping("/busca")
+    @CrossOrigin("http://localhost:3000")
+    @Operation(summary = "Pesquisar Produtos", description = "Pesquisa Produtos pelo nome e descrição, sem diferenciar acentos e maiúsculas; cada termo também casa como prefixo para autocompletar")
+    public List<ResultadoBuscaProdutoDTO> buscar(@RequestParam(value = "termo", required = false) String termo,
+                                                 @RequestParam(value = "limite", defaultValue = "20") int limite) throws InfoException {
+        return buscaProdutoService.buscar(termo, limite);
+    }
+
+    @GetMapping("/navegar")
+    @CrossOrigin("http://localhost:3000")
+    @Operation(summary = "Navegar Produtos por facetas", description = "Filtra Produtos por categorias, fabricantes e faixas de preço, retornando a página pedida e a contagem de cada faceta")
+    public NavegacaoProdutoDTO navegar(@RequestParam(value = "categoria", required = false) List<Long> categoriaIds,
+                                       @RequestParam(value = "fabricante", required = false) List<Long> fabricanteIds,
+                                       @RequestParam(value = "faixaPreco", required = false) List<Integer> faixasPreco,
+                                       @RequestParam(value = "pagina", defaultValue = "0") int pagina,
+                                       @RequestParam(value = "tamanho", defaultValue = "20") int tamanho) throws InfoException {
+        return buscaProdutoService.navegar(categoriaIds, fabricanteIds, faixasPreco, pagina, tamanho);
     }
 
     @PostMapping("/cadastrar")
@@ -1,15 +1,35 @@
 package com.sge.controller;
 
+import com.sge.dto.AgregadoVendaDTO;
+import com.sge.dto.RelatorioJobDTO;
+import com.sge.dto.RetornoDistintosDTO;
+import com.sge.dto.RetornoHistogramaDTO;
 import com.sge.dto.RetornoRelatorioDTO;
+import com.sge.dto.RetornoResumoDiarioDTO;
+import com.sge.dto.SolicitacaoRelatorioDTO;
+import com.sge.dto.TopProdutoDTO;
+import com.sge.enums.GranularidadeHistograma;
 import com.sge.exceptions.InfoException;
+import com.sge.service.analitico.AnaliticoVendaService;
+import com.sge.service.distintos.DistintosVendaService;
+import com.sge.service.histograma.HistogramaVendaService;
 import com.sge.service.relatorio.RelatorioService;
+import com.sge.service.relatorioJob.RelatorioJobService;
+import com.sge.service.resumoVenda.ResumoVendaService;
+import com.sge.service.topProduto.TopProdutoService;
+import com.sge.util.Util;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.text.ParseException;
+import java.util.Date;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/relatorio")
@@ -19,25 +39,170 @@ public class RelatorioController {
     @Autowired
     private RelatorioService relatorioService;
 
+    @Autowired
+    private ResumoVendaService resumoVendaService;
+
+    @Autowired
+    private RelatorioJobService relatorioJobService;
+
+    @Autowired
+    private AnaliticoVendaService analiticoVendaService;
+
+    @Autowired
+    private TopProdutoService topProdutoService;
+
+    @Autowired
+    private HistogramaVendaService histogramaVendaService;
+
+    @Autowired
+    private DistintosVendaService distintosVendaService;
+
     @GetMapping("/usuario/{id}")
     @CrossOrigin("http://localhost:3000")
-    @Operation(summary = "Listar Vendas", description = "Lista as vendas realizadas por um usuário")
-    public RetornoRelatorioDTO gerarRelatorioFuncionario(@PathVariable("id") Long id) throws InfoException {
+    @Operation(summary = "Listar Vendas", description = "Lista as vendas realizadas por um usuário; com resumo=true devolve apenas os totais")
+    public RetornoRelatorioDTO gerarRelatorioFuncionario(@PathVariable("id") Long id,
+                                                         @RequestParam(value = "resumo", required = false, defaultValue = "false") boolean resumo) throws InfoException {
+        if (resumo) {
+            return relatorioService.resumoVendasPorUsuario(id);
+        }
         return relatorioService.vendasPorUsuario(id);
     }
 
     @GetMapping("/cliente/{id}")
     @CrossOrigin("http://localhost:3000")
-    @Operation(summary = "Listar Compras", description = "Lista as compras realizadas por um cliente")
-    public RetornoRelatorioDTO gerarRelatorioCliente(@PathVariable("id") Long id) throws InfoException {
+    @Operation(summary = "Listar Compras", description = "Lista as compras realizadas por um cliente; com resumo=true devolve apenas os totais")
+    public RetornoRelatorioDTO gerarRelatorioCliente(@PathVariable("id") Long id,
+                                                     @RequestParam(value = "resumo", required = false, defaultValue = "false") boolean resumo) throws InfoException {
+        if (resumo) {
+            return relatorioService.resumoComprasPorCliente(id);
+        }
         return relatorioService.comprasPorCliente(id);
     }
 
     @GetMapping
     @CrossOrigin("http://localhost:3000")
-    @Operation(summary = "Listar Vendas por data de início e data fim", description = "Lista as vendas realizadas em um intervalo de tempo")
+    @Operation(summary = "Listar Vendas por data de início e data fim", description = "Lista as vendas realizadas entre as datas informadas, inclusive; com resumo=true devolve apenas os totais")
     public RetornoRelatorioDTO listarVendasFiltroPorData(@RequestParam("dataInicio") String dataInicio,
-                                                         @RequestParam("dataFim") String dataFim) throws InfoException, ParseException {
+                                                         @RequestParam("dataFim") String dataFim,
+                                                         @RequestParam(value = "resumo", required = false, defaultValue = "false") boolean resumo) throws InfoException, ParseException {
+        if (resumo) {
+            return relatorioService.resumoVendasFiltroPorData(dataInicio, dataFim);
+        }
         return relatorioService.vendasFiltroPorData(dataInicio, dataFim);
     }
+
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    @CrossOrigin("http://localhost:3000")
+    @Operation(summary = "Transmitir Vendas por data de início e data fim", description = "Transmite as vendas realizadas entre as datas informadas, inclusive, uma linha JSON por item seguida do valor total")
+    public ResponseEntity<StreamingResponseBody> transmitirVendasFiltroPorData(@RequestParam("dataInicio") String dataInicio,
+                                                                               @RequestParam("dataFim") String dataFim) throws ParseException {
+        Date inicio = Util.converterData(dataInicio);
+        Date fim = Util.converterData(dataFim);
+
+        StreamingResponseBody corpo = outputStream -> relatorioService.vendasFiltroPorDataStream(inicio, fim, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(corpo);
+    }
+
+    @GetMapping("/resumo-diario")
+    @CrossOrigin("http://localhost:3000")
+    @Operation(summary = "Resumo diário de Vendas", description = "Lista os totais diários de venda entre as datas informadas, inclusive, opcionalmente filtrados por produto, usuário ou cliente")
+    public RetornoResumoDiarioDTO buscarResumoDiario(@RequestParam("dataInicio") String dataInicio,
+                                                     @RequestParam("dataFim") String dataFim,
+                                                     @RequestParam(value = "produtoId", required = false) Long produtoId,
+                                                     @RequestParam(value = "usuarioId", required = false) Long usuarioId,
+                                                     @RequestParam(value = "clienteId", required = false) Long clienteId) throws ParseException {
+        return resumoVendaService.buscarResumoDiario(Util.converterData(dataInicio), Util.converterData(dataFim),
+                produtoId, usuarioId, clienteId);
+    }
+
+    @PostMapping("/resumo-diario/reconstruir")
+    @CrossOrigin("http://localhost:3000")
+    @Operation(summary = "Reconstruir resumo diário", description = "Recalcula o resumo diário de vendas a partir das vendas cadastradas")
+    public ResponseEntity<Void> reconstruirResumoDiario() {
+        resumoVendaService.reconstruir();
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/jobs")
+    @CrossOrigin("http://localhost:3000")
+    @Operation(summary = "Solicitar Relatório", description = "Agenda a geração de um relatório e devolve o identificador para acompanhamento")
+    public ResponseEntity<RelatorioJobDTO> submeterRelatorio(@RequestBody SolicitacaoRelatorioDTO solicitacao) throws InfoException {
+        return ResponseEntity.accepted().body(relatorioJobService.submeter(solicitacao));
+    }
+
+    @GetMapping("/jobs/{id}")
+    @CrossOrigin("http://localhost:3000")
+    @Operation(summary = "Consultar Relatório", description = "Consulta a situação e o progresso de um relatório solicitado")
+    public RelatorioJobDTO consultarRelatorio(@PathVariable("id") String id) throws InfoException {
+        return relatorioJobService.consultar(id);
+    }
+
+    @GetMapping(value = "/jobs/{id}/resultado", produces = MediaType.APPLICATION_JSON_VALUE)
+    @CrossOrigin("http://localhost:3000")
+    @Operation(summary = "Baixar Relatório", description = "Baixa o resultado de um relatório concluído")
+    public ResponseEntity<byte[]> baixarRelatorio(@PathVariable("id") String id) throws InfoException {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(relatorioJobService.baixarResultado(id));
+    }
+
+    @GetMapping("/analitico/produtos")
+    @CrossOrigin("http://localhost:3000")
+    @Operation(summary = "Vendas por Produto", description = "Agrupa as vendas entre as datas informadas, inclusive, por produto, a partir do armazenamento analítico em memória")
+    public List<AgregadoVendaDTO> agruparPorProduto(@RequestParam("dataInicio") String dataInicio,
+                                                    @RequestParam("dataFim") String dataFim) throws ParseException {
+        return analiticoVendaService.agruparPorProduto(Util.converterData(dataInicio), Util.converterData(dataFim));
+    }
+
+    @GetMapping("/analitico/categorias")
+    @CrossOrigin("http://localhost:3000")
+    @Operation(summary = "Vendas por Categoria", description = "Agrupa as vendas entre as datas informadas, inclusive, por categoria, a partir do armazenamento analítico em memória")
+    public List<AgregadoVendaDTO> agruparPorCategoria(@RequestParam("dataInicio") String dataInicio,
+                                                      @RequestParam("dataFim") String dataFim) throws ParseException {
+        return analiticoVendaService.agruparPorCategoria(Util.converterData(dataInicio), Util.converterData(dataFim));
+    }
+
+    @GetMapping("/analitico/dias")
+    @CrossOrigin("http://localhost:3000")
+    @Operation(summary = "Vendas por Dia", description = "Agrupa as vendas entre as datas informadas, inclusive, por dia, a partir do armazenamento analítico em memória")
+    public List<AgregadoVendaDTO> agruparPorDia(@RequestParam("dataInicio") String dataInicio,
+                                                @RequestParam("dataFim") String dataFim) throws ParseException {
+        return analiticoVendaService.agruparPorDia(Util.converterData(dataInicio), Util.converterData(dataFim));
+    }
+
+    @GetMapping("/top-produtos")
+    @CrossOrigin("http://localhost:3000")
+    @Operation(summary = "Produtos mais vendidos", description = "Lista os produtos mais vendidos em quantidade, estimados sobre todas as vendas; com exato=true recalcula a lista no banco sobre todas as vendas ou, se informadas, entre as datas, inclusive")
+    public List<TopProdutoDTO> buscarTopProdutos(@RequestParam(value = "quantidade", required = false, defaultValue = "10") int quantidade,
+                                                 @RequestParam(value = "exato", required = false, defaultValue = "false") boolean exato,
+                                                 @RequestParam(value = "dataInicio", required = false) String dataInicio,
+                                                 @RequestParam(value = "dataFim", required = false) String dataFim) throws InfoException, ParseException {
+        if (exato) {
+            return topProdutoService.buscarTopProdutosExato(quantidade,
+                    dataInicio != null ? Util.converterData(dataInicio) : null,
+                    dataFim != null ? Util.converterData(dataFim) : null);
+        }
+        return topProdutoService.buscarTopProdutos(quantidade);
+    }
+
+    @GetMapping("/histograma")
+    @CrossOrigin("http://localhost:3000")
+    @Operation(summary = "Histograma de Vendas", description = "Agrupa vendas, itens, quantidades e valores por hora, dia, semana ou mês entre as datas informadas, inclusive; intervalos sem venda são omitidos")
+    public RetornoHistogramaDTO gerarHistograma(@RequestParam("dataInicio") String dataInicio,
+                                                @RequestParam("dataFim") String dataFim,
+                                                @RequestParam(value = "granularidade", required = false, defaultValue = "DIA") String granularidade) throws InfoException, ParseException {
+        return histogramaVendaService.gerarHistograma(Util.converterData(dataInicio), Util.converterData(dataFim),
+                GranularidadeHistograma.fromValue(granularidade));
+    }
+
+    @GetMapping("/distintos")
+    @CrossOrigin("http://localhost:3000")
+    @Operation(summary = "Clientes e produtos distintos", description = "Estima quantos clientes e produtos distintos tiveram venda entre as datas informadas, inclusive; com exato=true a contagem é feita no banco")
+    public RetornoDistintosDTO contarDistintos(@RequestParam("dataInicio") String dataInicio,
+                                              @RequestParam("dataFim") String dataFim,
+                                              @RequestParam(value = "exato", required = false, defaultValue = "false") boolean exato) throws InfoException, ParseException {
+        return distintosVendaService.contarDistintos(Util.converterData(dataInicio), Util.converterData(dataFim), exato);
+    }
 }
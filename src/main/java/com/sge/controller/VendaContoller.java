@@ -1,16 +1,27 @@
 package com.sge.controller;
 
+import com.sge.dto.RetornoExclusaoVendaDTO;
 import com.sge.dto.VendaDTO;
 import com.sge.entity.Venda;
 import com.sge.exceptions.InfoException;
+import com.sge.service.feedVenda.FeedVendaService;
+import com.sge.service.idempotencia.IdempotenciaVendaService;
+import com.sge.service.journal.JournalVendaService;
 import com.sge.service.venda.VendaService;
+import com.sge.service.vendaLote.VendaLoteService;
+import com.sge.util.Util;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.text.ParseException;
 import java.util.List;
 
 @RestController
@@ -21,18 +32,53 @@ public class VendaContoller {
     @Autowired
     private VendaService vendaService;
 
+    @Autowired
+    private VendaLoteService vendaLoteService;
+
+    @Autowired
+    private IdempotenciaVendaService idempotenciaVendaService;
+
+    @Autowired
+    private JournalVendaService journalVendaService;
+
+    @Autowired
+    private FeedVendaService feedVendaService;
+
     @GetMapping("")
     @CrossOrigin("http://localhost:3000")
-    @Operation(summary = "Buscar Vendas", description = "Busca todas as Vendas cadastradas")
-    public List<VendaDTO> buscarTodos() {
+    @Operation(summary = "Buscar Vendas", description = "Busca as Vendas cadastradas; com pagina e tamanho, devolve apenas a página solicitada em ordem de id")
+    public List<VendaDTO> buscarTodos(@RequestParam(value = "pagina", required = false) Integer pagina,
+                                      @RequestParam(value = "tamanho", required = false, defaultValue = "100") int tamanho) throws InfoException {
+        if (pagina != null) {
+            return vendaService.buscarPagina(pagina, tamanho);
+        }
         return vendaService.buscarTodos();
     }
 
+    @GetMapping(value = "/eventos", produces = "text/event-stream")
+    @CrossOrigin("http://localhost:3000")
+    @Operation(summary = "Acompanhar Vendas", description = "Envia via Server-Sent Events as vendas cadastradas e excluídas; com o cabeçalho Last-Event-ID, reenvia os eventos perdidos desde esse id ou o evento reiniciar quando eles já não estão disponíveis")
+    public SseEmitter acompanhar(@RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId) throws InfoException {
+        return feedVendaService.assinar(ultimoEventoId);
+    }
+
     @PostMapping("/cadastrar")
     @CrossOrigin("http://localhost:3000")
-    @Operation(summary = "Cadastrar Venda", description = "Cadastra uma Venda")
-    public VendaDTO inserir(@RequestBody Venda venda) throws InfoException {
-        return vendaService.inserir(venda);
+    @Operation(summary = "Cadastrar Venda", description = "Cadastra uma Venda; com o cabeçalho Idempotency-Key, novas tentativas com a mesma chave devolvem a venda já cadastrada. Com o journal habilitado, a venda é confirmada ao ser gravada no journal e aplicada ao banco em segundo plano")
+    public VendaDTO inserir(@RequestBody Venda venda,
+                            @RequestHeader(value = "Idempotency-Key", required = false) String chaveIdempotencia) throws InfoException {
+        if (journalVendaService.isHabilitado()) {
+            return journalVendaService.registrar(venda, chaveIdempotencia);
+        }
+        return idempotenciaVendaService.inserir(venda, chaveIdempotencia);
+    }
+
+    @PostMapping(value = "/lote", produces = "application/x-ndjson")
+    @CrossOrigin("http://localhost:3000")
+    @Operation(summary = "Cadastrar Vendas em lote", description = "Cadastra uma lista de Vendas em blocos transacionais, devolvendo uma linha JSON com o resultado de cada venda seguida do resumo do lote")
+    public void inserirLote(HttpServletRequest request, HttpServletResponse response) throws IOException, InfoException {
+        response.setContentType("application/x-ndjson");
+        vendaLoteService.inserirLote(request.getInputStream(), response.getOutputStream());
     }
 
     @DeleteMapping("/deletar/{id}")
@@ -42,4 +88,19 @@ public class VendaContoller {
         vendaService.excluir(id);
         return ResponseEntity.ok().build();
     }
+
+    @DeleteMapping("/deletar")
+    @CrossOrigin("http://localhost:3000")
+    @Operation(summary = "Deletar Vendas em lote", description = "Exclui as Vendas informadas no corpo da requisição; ids inexistentes são ignorados")
+    public RetornoExclusaoVendaDTO excluirLote(@RequestBody List<Long> ids) throws InfoException {
+        return vendaService.excluirLote(ids);
+    }
+
+    @DeleteMapping("/deletar/periodo")
+    @CrossOrigin("http://localhost:3000")
+    @Operation(summary = "Deletar Vendas por data de início e data fim", description = "Exclui as Vendas realizadas entre a data início e a data fim, incluindo os dois dias")
+    public RetornoExclusaoVendaDTO excluirPorPeriodo(@RequestParam("dataInicio") String dataInicio,
+                                                     @RequestParam("dataFim") String dataFim) throws InfoException, ParseException {
+        return vendaService.excluirPorPeriodo(Util.converterData(dataInicio), Util.converterData(dataFim));
+    }
 }
@@ -0,0 +1,21 @@
+package com.sge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AgregadoVendaDTO {
+    private Long id;
+    private String nome;
+    private LocalDate dia;
+    private Long quantidadeItens;
+    private Double quantidade;
+    private Double valorTotal;
+}
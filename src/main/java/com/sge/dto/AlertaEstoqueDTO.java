@@ -0,0 +1,17 @@
+package com.sge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AlertaEstoqueDTO {
+    private Long produtoId;
+    private String nomeProduto;
+    private Double estoque;
+    private Double estoqueMinimo;
+}
@@ -0,0 +1,15 @@
+package com.sge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ErroDTO {
+    private Integer status;
+    private String mensagem;
+}
@@ -0,0 +1,20 @@
+package com.sge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EstatisticaCacheDTO {
+    private String nome;
+    private Long tamanho;
+    private Long acertos;
+    private Long falhas;
+    private Double taxaAcerto;
+    private Long carregamentos;
+    private Long despejos;
+}
@@ -0,0 +1,21 @@
+package com.sge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EventoVendaDTO {
+    private Long id;
+    private String tipo;
+    private Date dataEvento;
+    private List<Long> vendaIds;
+    private VendaDTO venda;
+}
@@ -10,5 +10,6 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Builder
 public class FabricanteDTO {
+    private Long id;
     private String nome;
 }
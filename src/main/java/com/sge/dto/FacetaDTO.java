@@ -0,0 +1,16 @@
+package com.sge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FacetaDTO {
+    private Long id;
+    private String nome;
+    private Long quantidade;
+}
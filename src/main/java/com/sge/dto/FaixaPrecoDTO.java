@@ -0,0 +1,17 @@
+package com.sge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FaixaPrecoDTO {
+    private Integer indice;
+    private Double minimo;
+    private Double maximo;
+    private Long quantidade;
+}
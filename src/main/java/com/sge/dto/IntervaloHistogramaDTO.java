@@ -0,0 +1,22 @@
+package com.sge.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class IntervaloHistogramaDTO {
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm")
+    private LocalDateTime inicio;
+    private Long quantidadeVendas;
+    private Long quantidadeItens;
+    private Double quantidade;
+    private Double valorTotal;
+}
@@ -0,0 +1,18 @@
+package com.sge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class LinhaDistintoDTO {
+    private Date dataVenda;
+    private Long clienteId;
+    private Long produtoId;
+}
@@ -0,0 +1,19 @@
+package com.sge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class LinhaHistogramaDTO {
+    private Long vendaId;
+    private Date dataVenda;
+    private Double quantidade;
+    private Double valorUnitario;
+}
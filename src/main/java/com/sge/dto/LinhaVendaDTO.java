@@ -0,0 +1,23 @@
+package com.sge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class LinhaVendaDTO {
+    private Long vendaId;
+    private Date dataVenda;
+    private Long produtoId;
+    private String nomeProduto;
+    private Long categoriaId;
+    private String nomeCategoria;
+    private Double quantidade;
+    private Double valorUnitario;
+}
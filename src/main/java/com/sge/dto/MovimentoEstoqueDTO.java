@@ -0,0 +1,23 @@
+package com.sge.dto;
+
+import com.sge.enums.TipoMovimentoEstoque;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MovimentoEstoqueDTO {
+    private Long id;
+    private Long produtoId;
+    private TipoMovimentoEstoque tipo;
+    private Double quantidade;
+    private Date dataMovimento;
+    private Long vendaId;
+    private String observacao;
+}
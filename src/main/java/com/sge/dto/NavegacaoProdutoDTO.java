@@ -0,0 +1,20 @@
+package com.sge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class NavegacaoProdutoDTO {
+    private Long total;
+    private List<ResultadoBuscaProdutoDTO> produtos;
+    private List<FacetaDTO> categorias;
+    private List<FacetaDTO> fabricantes;
+    private List<FaixaPrecoDTO> faixasPreco;
+}
@@ -0,0 +1,19 @@
+package com.sge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PaginaReferenciaDTO {
+    private Long total;
+    private Integer pagina;
+    private Integer tamanho;
+    private List<ReferenciaDTO> itens;
+}
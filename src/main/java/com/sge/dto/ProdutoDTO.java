@@ -10,10 +10,21 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Builder
 public class ProdutoDTO {
+    private Long id;
     private String nome;
     private String descricao;
     private Double valorCusto;
     private Double valorVenda;
+    private Double estoque;
+    private Double estoqueMinimo;
     private FabricanteDTO fabricante;
     private CategoriaDTO categoria;
+
+    // Usado pela consulta de listagem, que traz fabricante e categoria na mesma linha do produto
+    public ProdutoDTO(Long id, String nome, String descricao, Double valorCusto, Double valorVenda, Double estoque,
+                      Double estoqueMinimo, Long fabricanteId, String nomeFabricante, Long categoriaId, String nomeCategoria) {
+        this(id, nome, descricao, valorCusto, valorVenda, estoque, estoqueMinimo,
+                fabricanteId != null ? new FabricanteDTO(fabricanteId, nomeFabricante) : null,
+                categoriaId != null ? new CategoriaDTO(categoriaId, nomeCategoria) : null);
+    }
 }
@@ -0,0 +1,24 @@
+package com.sge.dto;
+
+import com.sge.enums.StatusRelatorioJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RelatorioJobDTO {
+    private String id;
+    private StatusRelatorioJob status;
+    private Integer progresso;
+    private String mensagem;
+    private SolicitacaoRelatorioDTO solicitacao;
+    private Date dataCriacao;
+    private Date dataConclusao;
+    private Long tamanhoResultado;
+}
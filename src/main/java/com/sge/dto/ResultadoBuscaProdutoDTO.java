@@ -0,0 +1,18 @@
+package com.sge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ResultadoBuscaProdutoDTO {
+    private Long id;
+    private String nome;
+    private String descricao;
+    private Double valorVenda;
+    private Double pontuacao;
+}
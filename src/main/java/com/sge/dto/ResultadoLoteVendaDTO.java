@@ -0,0 +1,17 @@
+package com.sge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ResultadoLoteVendaDTO {
+    private Long indice;
+    private Long vendaId;
+    private Boolean sucesso;
+    private String mensagem;
+}
@@ -0,0 +1,18 @@
+package com.sge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RetornoDistintosDTO {
+    private String mensagem;
+    private Long clientesDistintos;
+    private Long produtosDistintos;
+    private Boolean exato;
+    private Double erroPadrao;
+}
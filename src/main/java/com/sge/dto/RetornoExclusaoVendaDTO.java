@@ -0,0 +1,16 @@
+package com.sge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RetornoExclusaoVendaDTO {
+    private String mensagem;
+    private Long quantidadeVendas;
+    private Long quantidadeItens;
+}
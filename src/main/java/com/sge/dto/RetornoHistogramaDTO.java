@@ -0,0 +1,19 @@
+package com.sge.dto;
+
+import com.sge.enums.GranularidadeHistograma;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RetornoHistogramaDTO {
+    private String mensagem;
+    private GranularidadeHistograma granularidade;
+    private List<IntervaloHistogramaDTO> intervalos;
+}
@@ -0,0 +1,17 @@
+package com.sge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RetornoLoteVendaDTO {
+    private String mensagem;
+    private Long quantidadeVendas;
+    private Long quantidadeSucesso;
+    private Long quantidadeFalha;
+}
@@ -17,4 +17,6 @@ public class RetornoRelatorioDTO {
     private ClienteDTO clienteDTO;
     private List<RelatorioDTO> relatorioDTO;
     private Double valorTotalVenda;
+    private Long quantidadeVendas;
+    private Long quantidadeItens;
 }
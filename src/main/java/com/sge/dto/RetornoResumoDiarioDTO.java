@@ -0,0 +1,18 @@
+package com.sge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RetornoResumoDiarioDTO {
+    private String mensagem;
+    private List<ResumoDiarioDTO> resumoDiarioDTO;
+    private Double valorTotalVenda;
+}
@@ -0,0 +1,21 @@
+package com.sge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SaldoEstoqueDTO {
+    private Long produtoId;
+    private Date data;
+    private Double saldo;
+    private Date dataSnapshot;
+    private Double saldoSnapshot;
+    private Long movimentosDesdeSnapshot;
+}
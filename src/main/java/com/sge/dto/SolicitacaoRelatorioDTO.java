@@ -0,0 +1,19 @@
+package com.sge.dto;
+
+import com.sge.enums.TipoRelatorio;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SolicitacaoRelatorioDTO {
+    private TipoRelatorio tipo;
+    private Long id;
+    private String dataInicio;
+    private String dataFim;
+    private boolean resumo;
+}
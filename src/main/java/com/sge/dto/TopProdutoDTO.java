@@ -0,0 +1,21 @@
+package com.sge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TopProdutoDTO {
+    private Long produtoId;
+    private String nomeProduto;
+    private Double quantidade;
+    private Double erroMaximo;
+
+    public TopProdutoDTO(Long produtoId, String nomeProduto, Double quantidade) {
+        this(produtoId, nomeProduto, quantidade, 0.0);
+    }
+}
@@ -0,0 +1,17 @@
+package com.sge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TotalRelatorioDTO {
+    private Double valorTotal;
+    private Double quantidadeTotal;
+    private Long quantidadeItens;
+    private Long quantidadeVendas;
+}
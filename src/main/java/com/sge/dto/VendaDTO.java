@@ -16,4 +16,5 @@ public class VendaDTO {
     private UsuarioDTO usuario;
     private ClienteDTO cliente;
     private List<ItensVendaDTO> itensVenda;
+    private String chaveIdempotencia;
 }
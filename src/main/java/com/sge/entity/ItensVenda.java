@@ -14,7 +14,8 @@ import javax.persistence.*;
         property = "id")
 public class ItensVenda {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "itens_venda_seq")
+    @SequenceGenerator(name = "itens_venda_seq", sequenceName = "itens_venda_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
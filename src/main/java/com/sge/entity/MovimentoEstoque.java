@@ -0,0 +1,44 @@
+package com.sge.entity;
+
+import com.sge.enums.TipoMovimentoEstoque;
+import lombok.*;
+
+import javax.persistence.*;
+import java.util.Date;
+
+@Entity
+@Table(name = "movimento_estoque", indexes = {
+        @Index(name = "idx_movimento_estoque_produto_data", columnList = "id_produto, data_movimento"),
+        @Index(name = "idx_movimento_estoque_data", columnList = "data_movimento")
+})
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class MovimentoEstoque {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movimento_estoque_seq")
+    @SequenceGenerator(name = "movimento_estoque_seq", sequenceName = "movimento_estoque_seq", allocationSize = 50)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "id_produto", nullable = false, updatable = false)
+    private Long produtoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo", nullable = false, updatable = false, length = 20)
+    private TipoMovimentoEstoque tipo;
+
+    // Positiva para entradas e devoluções, negativa para vendas
+    @Column(name = "quantidade", nullable = false, updatable = false)
+    private Double quantidade;
+
+    @Column(name = "data_movimento", nullable = false, updatable = false)
+    private Date dataMovimento;
+
+    @Column(name = "id_venda", updatable = false)
+    private Long vendaId;
+
+    @Column(name = "observacao", updatable = false)
+    private String observacao;
+}
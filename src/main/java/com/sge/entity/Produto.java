@@ -28,6 +28,15 @@ public class Produto extends Auditavel {
     @Column(name = "valor_venda")
     private Double valorVenda;
 
+    // Quantidade em estoque; nula para produtos sem controle de estoque. Só é alterada pelos updates atômicos do
+    // EstoqueService, que registram cada movimento
+    @Column(name = "estoque", updatable = false)
+    private Double estoque;
+
+    // Ao atingir este saldo o produto entra no próximo alerta de estoque baixo
+    @Column(name = "estoque_minimo")
+    private Double estoqueMinimo;
+
     @ManyToOne
     @JoinColumn(name = "id_fabricante")
     private Fabricante fabricante;
@@ -0,0 +1,54 @@
+package com.sge.entity;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.util.Date;
+
+@Entity
+@Table(name = "resumo_venda_diario", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_resumo_venda_diario_chave", columnNames = {"dia", "id_produto", "id_usuario", "id_cliente"})
+})
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ResumoVendaDiario {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "dia", nullable = false)
+    @Temporal(TemporalType.DATE)
+    private Date dia;
+
+    @Column(name = "id_produto", nullable = false)
+    private Long produtoId;
+
+    @Column(name = "id_usuario", nullable = false)
+    private Long usuarioId;
+
+    @Column(name = "id_cliente", nullable = false)
+    private Long clienteId;
+
+    @Column(name = "quantidade_itens", nullable = false)
+    private Long quantidadeItens;
+
+    @Column(name = "quantidade", nullable = false)
+    private Double quantidade;
+
+    @Column(name = "valor_total", nullable = false)
+    private Double valorTotal;
+
+    public ResumoVendaDiario(Date dia, Long produtoId, Long usuarioId, Long clienteId, Long quantidadeItens,
+                             Double quantidade, Double valorTotal) {
+        this.dia = dia;
+        this.produtoId = produtoId;
+        this.usuarioId = usuarioId;
+        this.clienteId = clienteId;
+        this.quantidadeItens = quantidadeItens;
+        this.quantidade = quantidade;
+        this.valorTotal = valorTotal;
+    }
+}
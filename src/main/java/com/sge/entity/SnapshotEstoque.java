@@ -0,0 +1,36 @@
+package com.sge.entity;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.util.Date;
+
+@Entity
+@Table(name = "snapshot_estoque", indexes = {
+        @Index(name = "idx_snapshot_estoque_produto_data", columnList = "id_produto, data_snapshot")
+})
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class SnapshotEstoque {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "id_produto", nullable = false)
+    private Long produtoId;
+
+    // Saldo de todos os movimentos anteriores a esta data
+    @Column(name = "data_snapshot", nullable = false)
+    private Date dataSnapshot;
+
+    @Column(name = "saldo", nullable = false)
+    private Double saldo;
+
+    public SnapshotEstoque(Long produtoId, Double saldo) {
+        this.produtoId = produtoId;
+        this.saldo = saldo;
+    }
+}
@@ -14,7 +14,8 @@ import java.util.List;
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class Venda {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "venda_seq")
+    @SequenceGenerator(name = "venda_seq", sequenceName = "venda_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -27,6 +28,9 @@ public class Venda {
     @ManyToOne
     private Cliente cliente;
 
+    @Column(name = "chave_idempotencia", unique = true, length = 100)
+    private String chaveIdempotencia;
+
     @Transient
     private List<ItensVenda> itensVenda;
 }
@@ -0,0 +1,45 @@
+package com.sge.enums;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+@Getter
+@AllArgsConstructor
+public enum GranularidadeHistograma {
+    HORA("HORA", ChronoUnit.HOURS),
+    DIA("DIA", ChronoUnit.DAYS),
+    SEMANA("SEMANA", ChronoUnit.WEEKS),
+    MES("MES", ChronoUnit.MONTHS);
+
+    private final String value;
+    private final ChronoUnit unidade;
+
+    public LocalDateTime truncar(LocalDateTime data) {
+        switch (this) {
+            case HORA:
+                return data.truncatedTo(ChronoUnit.HOURS);
+            case DIA:
+                return data.truncatedTo(ChronoUnit.DAYS);
+            case SEMANA:
+                return data.truncatedTo(ChronoUnit.DAYS).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            default:
+                return data.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+        }
+    }
+
+    @JsonCreator
+    public static GranularidadeHistograma fromValue(String text) {
+        for (GranularidadeHistograma b : GranularidadeHistograma.values()) {
+            if (String.valueOf(b.value).equals(text.toUpperCase())) {
+                return b;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.sge.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum StatusRelatorioJob {
+    PENDENTE("PENDENTE"),
+    EXECUTANDO("EXECUTANDO"),
+    CONCLUIDO("CONCLUIDO"),
+    FALHOU("FALHOU");
+
+    private final String value;
+}
@@ -0,0 +1,13 @@
+package com.sge.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum TipoEventoVenda {
+    VENDA_REGISTRADA("venda-registrada"),
+    VENDA_EXCLUIDA("venda-excluida");
+
+    private final String value;
+}
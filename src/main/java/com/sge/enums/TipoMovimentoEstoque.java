@@ -0,0 +1,15 @@
+package com.sge.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum TipoMovimentoEstoque {
+    VENDA("VENDA"),
+    DEVOLUCAO("DEVOLUCAO"),
+    ENTRADA("ENTRADA"),
+    AJUSTE("AJUSTE");
+
+    private final String value;
+}
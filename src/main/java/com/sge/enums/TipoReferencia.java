@@ -0,0 +1,14 @@
+package com.sge.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum TipoReferencia {
+    CATEGORIA("CATEGORIA"),
+    FABRICANTE("FABRICANTE"),
+    PERMISSAO("PERMISSAO");
+
+    private final String value;
+}
@@ -0,0 +1,25 @@
+package com.sge.enums;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum TipoRelatorio {
+    USUARIO("USUARIO"),
+    CLIENTE("CLIENTE"),
+    DATA("DATA");
+
+    private final String value;
+
+    @JsonCreator
+    public static TipoRelatorio fromValue(String text) {
+        for (TipoRelatorio b : TipoRelatorio.values()) {
+            if (String.valueOf(b.value).equals(text.toUpperCase())) {
+                return b;
+            }
+        }
+        return null;
+    }
+}
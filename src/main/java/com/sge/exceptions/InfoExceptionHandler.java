@@ -0,0 +1,20 @@
+package com.sge.exceptions;
+
+import com.sge.dto.ErroDTO;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+// Sem este mapeamento toda InfoException chegava ao cliente como 500, ignorando o status escolhido pelo serviço
+@RestControllerAdvice
+public class InfoExceptionHandler {
+    @ExceptionHandler(InfoException.class)
+    public ResponseEntity<ErroDTO> tratar(InfoException e) {
+        HttpStatus status = e.getStatus() != null ? e.getStatus() : HttpStatus.INTERNAL_SERVER_ERROR;
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErroDTO(status.value(), e.getMessage()));
+    }
+}
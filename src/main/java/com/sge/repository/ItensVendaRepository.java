@@ -1,10 +1,124 @@
 package com.sge.repository;
 
+import com.sge.dto.LinhaDistintoDTO;
+import com.sge.dto.LinhaHistogramaDTO;
+import com.sge.dto.LinhaVendaDTO;
+import com.sge.dto.RelatorioDTO;
+import com.sge.dto.TopProdutoDTO;
+import com.sge.dto.TotalRelatorioDTO;
 import com.sge.entity.ItensVenda;
+import com.sge.entity.ResumoVendaDiario;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
+
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface ItensVendaRepository extends JpaRepository<ItensVenda, Long> {
     List<ItensVenda> findItensVendasByVendaId(Long id);
+
+    @Query(value = "select i from ItensVenda i join fetch i.produto p left join fetch p.fabricante left join fetch p.categoria " +
+            "where i.venda.id in ?1 order by i.id")
+    List<ItensVenda> findItensVendasComProdutoByVendaIdIn(Collection<Long> vendaIds);
+
+    @Modifying
+    @Query(value = "delete from ItensVenda i where i.venda.id in ?1")
+    int excluirByVendaIdIn(Collection<Long> vendaIds);
+
+    @Query(value = "select new com.sge.dto.LinhaVendaDTO(v.id, v.dataVenda, p.id, p.nome, c.id, c.nome, i.quantidade, i.valorUnitario) " +
+            "from ItensVenda i join i.venda v join i.produto p left join p.categoria c where v.id in ?1 order by v.id, i.id")
+    List<LinhaVendaDTO> findLinhasVendaByVendaIdIn(Collection<Long> vendaIds);
+
+    @Query(value = "select new com.sge.dto.RelatorioDTO(p.nome, i.quantidade, i.valorUnitario, p.id, v.id) " +
+            "from ItensVenda i join i.venda v join i.produto p where v.usuario.id = ?1 order by v.id, i.id")
+    List<RelatorioDTO> findRelatorioByUsuarioId(Long id);
+
+    @Query(value = "select new com.sge.dto.RelatorioDTO(p.nome, i.quantidade, i.valorUnitario, p.id, v.id) " +
+            "from ItensVenda i join i.venda v join i.produto p where v.cliente.id = ?1 order by v.id, i.id")
+    List<RelatorioDTO> findRelatorioByClienteId(Long id);
+
+    @QueryHints(value = {@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query(value = "select new com.sge.dto.RelatorioDTO(p.nome, i.quantidade, i.valorUnitario, p.id, v.id) " +
+            "from ItensVenda i join i.venda v join i.produto p where v.dataVenda >= ?1 and v.dataVenda < ?2 order by v.id, i.id")
+    List<RelatorioDTO> findRelatorioByPeriodo(Date dataInicio, Date dataFimExclusivo);
+
+    @Query(value = "select new com.sge.dto.TotalRelatorioDTO(sum(i.quantidade * i.valorUnitario), sum(i.quantidade), count(i), count(distinct v.id)) " +
+            "from ItensVenda i join i.venda v where v.usuario.id = ?1")
+    TotalRelatorioDTO totalizarByUsuarioId(Long id);
+
+    @Query(value = "select new com.sge.dto.TotalRelatorioDTO(sum(i.quantidade * i.valorUnitario), sum(i.quantidade), count(i), count(distinct v.id)) " +
+            "from ItensVenda i join i.venda v where v.cliente.id = ?1")
+    TotalRelatorioDTO totalizarByClienteId(Long id);
+
+    @Query(value = "select new com.sge.dto.TotalRelatorioDTO(sum(i.quantidade * i.valorUnitario), sum(i.quantidade), count(i), count(distinct v.id)) " +
+            "from ItensVenda i join i.venda v where v.dataVenda >= ?1 and v.dataVenda < ?2")
+    TotalRelatorioDTO totalizarByPeriodo(Date dataInicio, Date dataFimExclusivo);
+
+    @QueryHints(value = {@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query(value = "select new com.sge.dto.RelatorioDTO(p.nome, i.quantidade, i.valorUnitario, p.id, v.id) " +
+            "from ItensVenda i join i.venda v join i.produto p where v.dataVenda >= ?1 and v.dataVenda < ?2 order by v.id, i.id")
+    Stream<RelatorioDTO> streamRelatorioByPeriodo(Date dataInicio, Date dataFimExclusivo);
+
+    @Query(value = "select new com.sge.entity.ResumoVendaDiario(cast(v.dataVenda as date), p.id, v.usuario.id, v.cliente.id, " +
+            "count(i), sum(i.quantidade), sum(i.quantidade * i.valorUnitario)) " +
+            "from ItensVenda i join i.venda v join i.produto p where v.id in ?1 " +
+            "group by cast(v.dataVenda as date), p.id, v.usuario.id, v.cliente.id")
+    List<ResumoVendaDiario> agruparResumoDiarioByVendaIdIn(Collection<Long> ids);
+
+    @Query(value = "select new com.sge.entity.ResumoVendaDiario(cast(v.dataVenda as date), p.id, v.usuario.id, v.cliente.id, " +
+            "count(i), sum(i.quantidade), sum(i.quantidade * i.valorUnitario)) " +
+            "from ItensVenda i join i.venda v join i.produto p " +
+            "group by cast(v.dataVenda as date), p.id, v.usuario.id, v.cliente.id")
+    List<ResumoVendaDiario> agruparResumoDiario();
+
+    @QueryHints(value = {@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query(value = "select new com.sge.dto.LinhaVendaDTO(v.id, v.dataVenda, p.id, p.nome, c.id, c.nome, i.quantidade, i.valorUnitario) " +
+            "from ItensVenda i join i.venda v join i.produto p left join p.categoria c order by v.dataVenda, v.id, i.id")
+    Stream<LinhaVendaDTO> streamLinhasVenda();
+
+    @Query(value = "select new com.sge.dto.TopProdutoDTO(p.id, p.nome, sum(i.quantidade)) " +
+            "from ItensVenda i join i.produto p group by p.id, p.nome")
+    List<TopProdutoDTO> agruparQuantidadePorProduto();
+
+    @Query(value = "select new com.sge.dto.TopProdutoDTO(p.id, p.nome, sum(i.quantidade)) " +
+            "from ItensVenda i join i.produto p group by p.id, p.nome order by sum(i.quantidade) desc, p.id")
+    List<TopProdutoDTO> findTopProdutos(Pageable pageable);
+
+    @Query(value = "select new com.sge.dto.TopProdutoDTO(p.id, p.nome, sum(i.quantidade)) " +
+            "from ItensVenda i join i.venda v join i.produto p where v.dataVenda >= ?1 and v.dataVenda < ?2 " +
+            "group by p.id, p.nome order by sum(i.quantidade) desc, p.id")
+    List<TopProdutoDTO> findTopProdutosByPeriodo(Date dataInicio, Date dataFimExclusivo, Pageable pageable);
+
+    @QueryHints(value = {@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query(value = "select new com.sge.dto.LinhaHistogramaDTO(v.id, v.dataVenda, i.quantidade, i.valorUnitario) " +
+            "from ItensVenda i join i.venda v where v.dataVenda >= ?1 and v.dataVenda < ?2 order by v.id")
+    Stream<LinhaHistogramaDTO> streamLinhasHistograma(Date dataInicio, Date dataFimExclusivo);
+
+    @QueryHints(value = {@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query(value = "select new com.sge.dto.LinhaDistintoDTO(v.dataVenda, c.id, i.produto.id) " +
+            "from ItensVenda i join i.venda v left join v.cliente c")
+    Stream<LinhaDistintoDTO> streamLinhasDistintos();
+
+    @QueryHints(value = {@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query(value = "select new com.sge.dto.LinhaDistintoDTO(v.dataVenda, c.id, i.produto.id) " +
+            "from ItensVenda i join i.venda v left join v.cliente c where v.dataVenda >= ?1 and v.dataVenda < ?2")
+    Stream<LinhaDistintoDTO> streamLinhasDistintosByPeriodo(Date dataInicio, Date dataFimExclusivo);
+
+    @Query(value = "select count(distinct v.cliente.id) from ItensVenda i join i.venda v " +
+            "where v.dataVenda >= ?1 and v.dataVenda < ?2")
+    Long contarClientesDistintosByPeriodo(Date dataInicio, Date dataFimExclusivo);
+
+    @Query(value = "select count(distinct i.produto.id) from ItensVenda i join i.venda v " +
+            "where v.dataVenda >= ?1 and v.dataVenda < ?2")
+    Long contarProdutosDistintosByPeriodo(Date dataInicio, Date dataFimExclusivo);
 }
@@ -0,0 +1,25 @@
+package com.sge.repository;
+
+import com.sge.entity.MovimentoEstoque;
+import com.sge.entity.SnapshotEstoque;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Date;
+import java.util.List;
+
+public interface MovimentoEstoqueRepository extends JpaRepository<MovimentoEstoque, Long> {
+    List<MovimentoEstoque> findByProdutoIdAndDataMovimentoBetweenOrderByDataMovimentoAscIdAsc(Long produtoId, Date dataInicio, Date dataFim);
+
+    @Query(value = "select coalesce(sum(m.quantidade), 0) from MovimentoEstoque m " +
+            "where m.produtoId = ?1 and m.dataMovimento >= ?2 and m.dataMovimento <= ?3")
+    Double somarQuantidadeByProdutoIdAndDataMovimentoBetween(Long produtoId, Date dataInicio, Date dataFim);
+
+    @Query(value = "select count(m) from MovimentoEstoque m " +
+            "where m.produtoId = ?1 and m.dataMovimento >= ?2 and m.dataMovimento <= ?3")
+    Long contarByProdutoIdAndDataMovimentoBetween(Long produtoId, Date dataInicio, Date dataFim);
+
+    @Query(value = "select new com.sge.entity.SnapshotEstoque(m.produtoId, sum(m.quantidade)) from MovimentoEstoque m " +
+            "where m.dataMovimento >= ?1 and m.dataMovimento < ?2 group by m.produtoId")
+    List<SnapshotEstoque> agruparQuantidadeByPeriodo(Date dataInicio, Date dataFimExclusivo);
+}
@@ -1,8 +1,54 @@
 package com.sge.repository;
 
+import com.sge.dto.AlertaEstoqueDTO;
+import com.sge.dto.ProdutoDTO;
 import com.sge.entity.Produto;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface ProdutoRepository extends JpaRepository<Produto, Long> {
-}
\ No newline at end of file
+    @Query(value = "select new com.sge.dto.ProdutoDTO(p.id, p.nome, p.descricao, p.valorCusto, p.valorVenda, p.estoque, " +
+            "p.estoqueMinimo, f.id, f.nome, c.id, c.nome) from Produto p left join p.fabricante f left join p.categoria c order by p.id")
+    List<ProdutoDTO> findAllProdutoDTO();
+
+    @QueryHints(value = {@QueryHint(name = HINT_READONLY, value = "true")})
+    List<Produto> findByIdIn(Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "update Produto p set p.estoque = p.estoque - ?2 where p.id = ?1 and p.estoque >= ?2")
+    int reservarEstoque(Long id, Double quantidade);
+
+    @Modifying
+    @Query(value = "update Produto p set p.estoque = p.estoque + ?2 where p.id = ?1 and p.estoque is not null")
+    int reporEstoque(Long id, Double quantidade);
+
+    @Modifying
+    @Query(value = "update Produto p set p.estoque = coalesce(p.estoque, 0) + ?2 where p.id = ?1 and coalesce(p.estoque, 0) + ?2 >= 0")
+    int movimentarEstoque(Long id, Double quantidade);
+
+    @Modifying
+    @Query(value = "update Produto p set p.estoque = ?2 where p.id = ?1")
+    int definirEstoque(Long id, Double estoque);
+
+    // Leitura com bloqueio da linha (for update): devolve o saldo mais recente confirmado, mesmo no MySQL em
+    // REPEATABLE READ, e segura vendas e movimentos concorrentes até o fim da transação
+    @Query(value = "select estoque from produto where id = ?1 for update", nativeQuery = true)
+    Double findEstoqueParaAtualizarById(Long id);
+
+    @Query(value = "select p.estoque from Produto p where p.id = ?1")
+    Double findEstoqueById(Long id);
+
+    @Query(value = "select new com.sge.dto.AlertaEstoqueDTO(p.id, p.nome, p.estoque, p.estoqueMinimo) from Produto p " +
+            "where p.id = ?1 and p.estoque <= p.estoqueMinimo")
+    Optional<AlertaEstoqueDTO> findAlertaEstoqueById(Long id);
+}
@@ -0,0 +1,30 @@
+package com.sge.repository;
+
+import com.sge.dto.ResumoDiarioDTO;
+import com.sge.entity.ResumoVendaDiario;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Date;
+import java.util.List;
+
+public interface ResumoVendaDiarioRepository extends JpaRepository<ResumoVendaDiario, Long> {
+    @Modifying
+    @Query(value = "update ResumoVendaDiario r set r.quantidadeItens = r.quantidadeItens + ?5, " +
+            "r.quantidade = r.quantidade + ?6, r.valorTotal = r.valorTotal + ?7 " +
+            "where r.dia = ?1 and r.produtoId = ?2 and r.usuarioId = ?3 and r.clienteId = ?4")
+    int incrementar(Date dia, Long produtoId, Long usuarioId, Long clienteId, Long quantidadeItens,
+                    Double quantidade, Double valorTotal);
+
+    @Modifying
+    @Query(value = "delete from ResumoVendaDiario r where r.dia = ?1 and r.produtoId = ?2 and r.usuarioId = ?3 " +
+            "and r.clienteId = ?4 and r.quantidadeItens <= 0")
+    int excluirSeZerado(Date dia, Long produtoId, Long usuarioId, Long clienteId);
+
+    @Query(value = "select new com.sge.dto.ResumoDiarioDTO(r.dia, sum(r.quantidadeItens), sum(r.quantidade), sum(r.valorTotal)) " +
+            "from ResumoVendaDiario r where r.dia between ?1 and ?2 " +
+            "and (?3 is null or r.produtoId = ?3) and (?4 is null or r.usuarioId = ?4) and (?5 is null or r.clienteId = ?5) " +
+            "group by r.dia order by r.dia")
+    List<ResumoDiarioDTO> findResumoDiario(Date dataInicio, Date dataFim, Long produtoId, Long usuarioId, Long clienteId);
+}
@@ -0,0 +1,21 @@
+package com.sge.repository;
+
+import com.sge.entity.SnapshotEstoque;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+public interface SnapshotEstoqueRepository extends JpaRepository<SnapshotEstoque, Long> {
+    Optional<SnapshotEstoque> findFirstByProdutoIdAndDataSnapshotLessThanEqualOrderByDataSnapshotDesc(Long produtoId, Date data);
+
+    @Query(value = "select max(s.dataSnapshot) from SnapshotEstoque s")
+    Date findUltimaDataSnapshot();
+
+    @Query(value = "select s from SnapshotEstoque s where s.produtoId in ?1 and s.dataSnapshot = " +
+            "(select max(u.dataSnapshot) from SnapshotEstoque u where u.produtoId = s.produtoId)")
+    List<SnapshotEstoque> findUltimosByProdutoIdIn(Collection<Long> produtoIds);
+}
@@ -1,10 +1,17 @@
 package com.sge.repository;
 
+import com.sge.dto.IdentificacaoVendaDTO;
 import com.sge.entity.Venda;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 public interface VendaRepository extends JpaRepository<Venda, Long> {
     List<Venda> findVendaByUsuarioId(Long id);
@@ -12,4 +19,22 @@ public interface VendaRepository extends JpaRepository<Venda, Long> {
     List<Venda> findVendaByClienteId(Long id);
 
     List<Venda> findByDataVendaBetween(Date dataInicio, Date dataFim);
+
+    Optional<Venda> findByChaveIdempotencia(String chaveIdempotencia);
+
+    @Query(value = "select new com.sge.dto.IdentificacaoVendaDTO(v.id, v.chaveIdempotencia) from Venda v order by v.id")
+    Slice<IdentificacaoVendaDTO> findPagina(Pageable pageable);
+
+    @Query(value = "select new com.sge.dto.IdentificacaoVendaDTO(v.id, v.chaveIdempotencia) from Venda v where v.id > ?1 order by v.id")
+    List<IdentificacaoVendaDTO> findPaginaApos(Long ultimoId, Pageable pageable);
+
+    @Query(value = "select v.id from Venda v where v.id in ?1 order by v.id")
+    List<Long> findIdsByIdIn(Collection<Long> ids);
+
+    @Query(value = "select v.id from Venda v where v.dataVenda >= ?1 and v.dataVenda < ?2 and v.id > ?3 order by v.id")
+    List<Long> findIdsByPeriodoApos(Date dataInicio, Date dataFimExclusivo, Long ultimoId, Pageable pageable);
+
+    @Modifying
+    @Query(value = "delete from Venda v where v.id in ?1")
+    int excluirByIdIn(Collection<Long> ids);
 }
@@ -0,0 +1,11 @@
+package com.sge.service.alertaEstoque;
+
+import com.sge.dto.AlertaEstoqueDTO;
+
+import java.util.List;
+
+public interface AlertaEstoqueService {
+    List<AlertaEstoqueDTO> buscarPendentes();
+
+    int enviarPendentes();
+}
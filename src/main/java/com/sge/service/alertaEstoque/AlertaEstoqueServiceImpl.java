@@ -0,0 +1,126 @@
+package com.sge.service.alertaEstoque;
+
+import com.sge.dto.AlertaEstoqueDTO;
+import com.sge.service.estoque.EstoqueBaixoEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+public class AlertaEstoqueServiceImpl implements AlertaEstoqueService {
+    @Autowired
+    private JavaMailSender javaMailSender;
+
+    @Value("${estoque.alerta.habilitado:false}")
+    private boolean habilitado;
+
+    @Value("${estoque.alerta.destinatarios:}")
+    private String[] destinatarios;
+
+    @Value("${spring.mail.username:}")
+    private String remetente;
+
+    @Value("${estoque.alerta.intervalo-ms:60000}")
+    private long intervaloMs;
+
+    @Value("${estoque.alerta.tamanho-lote:100}")
+    private int tamanhoLote;
+
+    // Um alerta por produto: novas baixas dentro da janela apenas atualizam o saldo informado
+    private final Map<Long, AlertaEstoqueDTO> pendentes = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService remetenteAgendado;
+
+    // Sem destinatários todo envio falharia e os mesmos alertas voltariam para a fila indefinidamente
+    @PostConstruct
+    public void iniciar() {
+        if (habilitado && Arrays.stream(destinatarios).allMatch(String::isBlank)) {
+            throw new IllegalStateException("estoque.alerta.destinatarios deve ser informado quando estoque.alerta.habilitado=true");
+        }
+        if (habilitado) {
+            remetenteAgendado = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("alerta-estoque-"));
+            remetenteAgendado.scheduleWithFixedDelay(this::enviarPendentes, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (remetenteAgendado != null) {
+            remetenteAgendado.shutdownNow();
+        }
+    }
+
+    @TransactionalEventListener
+    public void registrar(EstoqueBaixoEvent event) {
+        if (habilitado) {
+            pendentes.put(event.getAlerta().getProdutoId(), event.getAlerta());
+        }
+    }
+
+    @Override
+    public List<AlertaEstoqueDTO> buscarPendentes() {
+        return new ArrayList<>(new TreeMap<>(pendentes).values());
+    }
+
+    @Override
+    public synchronized int enviarPendentes() {
+        Map<Long, AlertaEstoqueDTO> alertas = new TreeMap<>();
+        for (Long produtoId : pendentes.keySet()) {
+            AlertaEstoqueDTO alerta = pendentes.remove(produtoId);
+            if (alerta != null) {
+                alertas.put(produtoId, alerta);
+            }
+        }
+
+        List<AlertaEstoqueDTO> lista = new ArrayList<>(alertas.values());
+        int enviados = 0;
+        for (int inicio = 0; inicio < lista.size(); inicio += tamanhoLote) {
+            List<AlertaEstoqueDTO> lote = lista.subList(inicio, Math.min(inicio + tamanhoLote, lista.size()));
+            try {
+                javaMailSender.send(montarMensagem(lote));
+                enviados += lote.size();
+            } catch (MailException e) {
+                log.warn("Falha ao enviar alerta de estoque baixo de {} produto(s); nova tentativa no próximo envio", lote.size(), e);
+                for (AlertaEstoqueDTO alerta : lote) {
+                    pendentes.putIfAbsent(alerta.getProdutoId(), alerta);
+                }
+            }
+        }
+        return enviados;
+    }
+
+    private SimpleMailMessage montarMensagem(List<AlertaEstoqueDTO> alertas) {
+        StringBuilder texto = new StringBuilder("Os produtos abaixo atingiram o estoque mínimo:\n\n");
+        for (AlertaEstoqueDTO alerta : alertas) {
+            texto.append("- ").append(alerta.getNomeProduto())
+                    .append(" (id ").append(alerta.getProdutoId()).append("): estoque ").append(alerta.getEstoque())
+                    .append(", mínimo ").append(alerta.getEstoqueMinimo()).append('\n');
+        }
+
+        SimpleMailMessage mensagem = new SimpleMailMessage();
+        mensagem.setFrom(remetente);
+        mensagem.setTo(destinatarios);
+        mensagem.setSubject("Alerta de estoque baixo: " + alertas.size() + " produto(s)");
+        mensagem.setText(texto.toString());
+        return mensagem;
+    }
+}
@@ -0,0 +1,14 @@
+package com.sge.service.analitico;
+
+import com.sge.dto.AgregadoVendaDTO;
+
+import java.util.Date;
+import java.util.List;
+
+public interface AnaliticoVendaService {
+    List<AgregadoVendaDTO> agruparPorProduto(Date dataInicio, Date dataFim);
+
+    List<AgregadoVendaDTO> agruparPorCategoria(Date dataInicio, Date dataFim);
+
+    List<AgregadoVendaDTO> agruparPorDia(Date dataInicio, Date dataFim);
+}
@@ -0,0 +1,88 @@
+package com.sge.service.analitico;
+
+import com.sge.dto.AgregadoVendaDTO;
+import com.sge.dto.LinhaVendaDTO;
+import com.sge.entity.ItensVenda;
+import com.sge.entity.Produto;
+import com.sge.entity.Venda;
+import com.sge.repository.ItensVendaRepository;
+import com.sge.service.venda.VendaExcluidaEvent;
+import com.sge.service.venda.VendaRegistradaEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+public class AnaliticoVendaServiceImpl implements AnaliticoVendaService {
+    private static final int SEM_CATEGORIA = 0;
+
+    @Autowired
+    private ItensVendaRepository itensVendaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ArmazemColunarVendas armazem = new ArmazemColunarVendas();
+
+    @PostConstruct
+    public void carregar() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<LinhaVendaDTO> linhas = itensVendaRepository.streamLinhasVenda()) {
+                linhas.forEach(linha -> armazem.adicionar(linha.getVendaId(), converterDia(linha.getDataVenda()),
+                        linha.getProdutoId().intValue(), linha.getNomeProduto(),
+                        linha.getCategoriaId() != null ? linha.getCategoriaId().intValue() : SEM_CATEGORIA,
+                        linha.getNomeCategoria(), linha.getQuantidade(), linha.getValorUnitario()));
+            }
+        });
+    }
+
+    @TransactionalEventListener
+    public void registrarVenda(VendaRegistradaEvent event) {
+        Venda venda = event.getVenda();
+        int dia = converterDia(venda.getDataVenda());
+
+        for (ItensVenda item : venda.getItensVenda()) {
+            Produto produto = item.getProduto();
+            armazem.adicionar(venda.getId(), dia, produto.getId().intValue(), produto.getNome(),
+                    produto.getCategoria() != null ? produto.getCategoria().getId().intValue() : SEM_CATEGORIA,
+                    produto.getCategoria() != null ? produto.getCategoria().getNome() : null,
+                    item.getQuantidade(), item.getValorUnitario());
+        }
+    }
+
+    @TransactionalEventListener
+    public void excluirVendas(VendaExcluidaEvent event) {
+        armazem.excluirVendas(event.getVendaIds());
+    }
+
+    @Override
+    public List<AgregadoVendaDTO> agruparPorProduto(Date dataInicio, Date dataFim) {
+        return armazem.agruparPorProduto(converterDia(dataInicio), converterDia(dataFim));
+    }
+
+    @Override
+    public List<AgregadoVendaDTO> agruparPorCategoria(Date dataInicio, Date dataFim) {
+        return armazem.agruparPorCategoria(converterDia(dataInicio), converterDia(dataFim));
+    }
+
+    @Override
+    public List<AgregadoVendaDTO> agruparPorDia(Date dataInicio, Date dataFim) {
+        return armazem.agruparPorDia(converterDia(dataInicio), converterDia(dataFim));
+    }
+
+    private int converterDia(Date data) {
+        Date dataVenda = data != null ? data : new Date();
+        return (int) dataVenda.toInstant().atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+    }
+}
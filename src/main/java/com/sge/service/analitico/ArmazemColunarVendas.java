@@ -0,0 +1,220 @@
+package com.sge.service.analitico;
+
+import com.sge.dto.AgregadoVendaDTO;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntUnaryOperator;
+
+class ArmazemColunarVendas {
+    private static final int CAPACIDADE_INICIAL = 1024;
+    // Compacta quando as linhas excluídas passam de um quarto do armazenamento, e ao menos esta quantidade
+    private static final int MINIMO_COMPACTACAO = 1024;
+    private static final int SEM_ANTERIOR = -1;
+
+    private long[] vendaIds = new long[CAPACIDADE_INICIAL];
+    private int[] produtoIds = new int[CAPACIDADE_INICIAL];
+    private int[] categoriaIds = new int[CAPACIDADE_INICIAL];
+    private int[] dias = new int[CAPACIDADE_INICIAL];
+    private double[] quantidades = new double[CAPACIDADE_INICIAL];
+    private double[] valores = new double[CAPACIDADE_INICIAL];
+    // Linha anterior da mesma venda; com a última linha de cada venda a exclusão percorre só as linhas dela
+    private int[] anteriores = new int[CAPACIDADE_INICIAL];
+    private final Map<Long, Integer> ultimasLinhas = new HashMap<>();
+    private final BitSet excluidos = new BitSet();
+    private int quantidadeExcluidos;
+    private int tamanho;
+    private boolean ordenadoPorDia = true;
+
+    private final Map<Integer, String> nomesProduto = new HashMap<>();
+    private final Map<Integer, String> nomesCategoria = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    void adicionar(long vendaId, int dia, int produtoId, String nomeProduto, int categoriaId, String nomeCategoria,
+                   double quantidade, double valorUnitario) {
+        lock.writeLock().lock();
+        try {
+            if (tamanho == vendaIds.length) {
+                crescer();
+            }
+            if (tamanho > 0 && dia < dias[tamanho - 1]) {
+                ordenadoPorDia = false;
+            }
+            vendaIds[tamanho] = vendaId;
+            produtoIds[tamanho] = produtoId;
+            categoriaIds[tamanho] = categoriaId;
+            dias[tamanho] = dia;
+            quantidades[tamanho] = quantidade;
+            valores[tamanho] = quantidade * valorUnitario;
+            Integer anterior = ultimasLinhas.put(vendaId, tamanho);
+            anteriores[tamanho] = anterior != null ? anterior : SEM_ANTERIOR;
+            tamanho++;
+
+            if (nomeProduto != null) {
+                nomesProduto.put(produtoId, nomeProduto);
+            }
+            if (nomeCategoria != null) {
+                nomesCategoria.put(categoriaId, nomeCategoria);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void excluirVendas(Collection<Long> ids) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                Integer linha = ultimasLinhas.remove(id);
+                for (int i = linha != null ? linha : SEM_ANTERIOR; i != SEM_ANTERIOR; i = anteriores[i]) {
+                    excluidos.set(i);
+                    quantidadeExcluidos++;
+                }
+            }
+            if (quantidadeExcluidos >= Math.max(MINIMO_COMPACTACAO, tamanho / 4)) {
+                compactar();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int getTamanho() {
+        lock.readLock().lock();
+        try {
+            return tamanho - quantidadeExcluidos;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<AgregadoVendaDTO> agruparPorProduto(int diaInicio, int diaFim) {
+        lock.readLock().lock();
+        try {
+            return agrupar(diaInicio, diaFim, i -> produtoIds[i], nomesProduto, false);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<AgregadoVendaDTO> agruparPorCategoria(int diaInicio, int diaFim) {
+        lock.readLock().lock();
+        try {
+            return agrupar(diaInicio, diaFim, i -> categoriaIds[i], nomesCategoria, false);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<AgregadoVendaDTO> agruparPorDia(int diaInicio, int diaFim) {
+        lock.readLock().lock();
+        try {
+            return agrupar(diaInicio, diaFim, i -> dias[i], null, true);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<AgregadoVendaDTO> agrupar(int diaInicio, int diaFim, IntUnaryOperator chave,
+                                           Map<Integer, String> nomes, boolean porDia) {
+        int inicio = 0;
+        int fim = tamanho;
+        if (ordenadoPorDia) {
+            inicio = primeiraPosicao(diaInicio);
+            fim = primeiraPosicao(diaFim + 1);
+        }
+
+        Map<Integer, double[]> grupos = new HashMap<>();
+        for (int i = inicio; i < fim; i++) {
+            if (dias[i] < diaInicio || dias[i] > diaFim || excluidos.get(i)) {
+                continue;
+            }
+            double[] acumulado = grupos.computeIfAbsent(chave.applyAsInt(i), k -> new double[3]);
+            acumulado[0]++;
+            acumulado[1] += quantidades[i];
+            acumulado[2] += valores[i];
+        }
+
+        List<AgregadoVendaDTO> resultado = new ArrayList<>(grupos.size());
+        for (Map.Entry<Integer, double[]> grupo : grupos.entrySet()) {
+            AgregadoVendaDTO.AgregadoVendaDTOBuilder agregado = AgregadoVendaDTO.builder()
+                    .quantidadeItens((long) grupo.getValue()[0])
+                    .quantidade(grupo.getValue()[1])
+                    .valorTotal(grupo.getValue()[2]);
+            if (porDia) {
+                agregado.dia(LocalDate.ofEpochDay(grupo.getKey()));
+            } else {
+                agregado.id(grupo.getKey().longValue()).nome(nomes.get(grupo.getKey()));
+            }
+            resultado.add(agregado.build());
+        }
+
+        if (porDia) {
+            resultado.sort(Comparator.comparing(AgregadoVendaDTO::getDia));
+        } else {
+            resultado.sort(Comparator.comparing(AgregadoVendaDTO::getValorTotal).reversed());
+        }
+        return resultado;
+    }
+
+    private int primeiraPosicao(int dia) {
+        int baixo = 0;
+        int alto = tamanho;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (dias[meio] < dia) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    // Move as linhas restantes para o início mantendo a ordem, o que preserva a busca binária por dia
+    private void compactar() {
+        int destino = 0;
+        ultimasLinhas.clear();
+        ordenadoPorDia = true;
+        for (int i = 0; i < tamanho; i++) {
+            if (excluidos.get(i)) {
+                continue;
+            }
+            vendaIds[destino] = vendaIds[i];
+            produtoIds[destino] = produtoIds[i];
+            categoriaIds[destino] = categoriaIds[i];
+            dias[destino] = dias[i];
+            quantidades[destino] = quantidades[i];
+            valores[destino] = valores[i];
+            Integer anterior = ultimasLinhas.put(vendaIds[destino], destino);
+            anteriores[destino] = anterior != null ? anterior : SEM_ANTERIOR;
+            if (destino > 0 && dias[destino] < dias[destino - 1]) {
+                ordenadoPorDia = false;
+            }
+            destino++;
+        }
+        tamanho = destino;
+        excluidos.clear();
+        quantidadeExcluidos = 0;
+    }
+
+    private void crescer() {
+        int capacidade = vendaIds.length * 2;
+        vendaIds = Arrays.copyOf(vendaIds, capacidade);
+        produtoIds = Arrays.copyOf(produtoIds, capacidade);
+        categoriaIds = Arrays.copyOf(categoriaIds, capacidade);
+        dias = Arrays.copyOf(dias, capacidade);
+        quantidades = Arrays.copyOf(quantidades, capacidade);
+        valores = Arrays.copyOf(valores, capacidade);
+        anteriores = Arrays.copyOf(anteriores, capacidade);
+    }
+}
@@ -0,0 +1,14 @@
+package com.sge.service.buscaProduto;
+
+import com.sge.dto.NavegacaoProdutoDTO;
+import com.sge.dto.ResultadoBuscaProdutoDTO;
+import com.sge.exceptions.InfoException;
+
+import java.util.List;
+
+public interface BuscaProdutoService {
+    List<ResultadoBuscaProdutoDTO> buscar(String termo, int limite) throws InfoException;
+
+    NavegacaoProdutoDTO navegar(List<Long> categoriaIds, List<Long> fabricanteIds, List<Integer> faixasPreco,
+                                int pagina, int tamanho) throws InfoException;
+}
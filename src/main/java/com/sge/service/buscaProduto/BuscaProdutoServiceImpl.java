@@ -0,0 +1,144 @@
+package com.sge.service.buscaProduto;
+
+import com.sge.dto.FacetaDTO;
+import com.sge.dto.FaixaPrecoDTO;
+import com.sge.dto.NavegacaoProdutoDTO;
+import com.sge.dto.ResultadoBuscaProdutoDTO;
+import com.sge.entity.Categoria;
+import com.sge.entity.Fabricante;
+import com.sge.entity.Produto;
+import com.sge.exceptions.InfoException;
+import com.sge.repository.ProdutoRepository;
+import com.sge.service.catalogo.CatalogoCacheService;
+import com.sge.service.produto.ProdutoExcluidoEvent;
+import com.sge.service.produto.ProdutoSalvoEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class BuscaProdutoServiceImpl implements BuscaProdutoService {
+    private static final int LIMITE_MAXIMO = 100;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CatalogoCacheService catalogoCacheService;
+
+    @Value("${produto.faceta.faixas-preco:50,100,250,500,1000}")
+    private double[] limitesFaixasPreco;
+
+    private final IndiceProdutos indice = new IndiceProdutos();
+
+    private IndiceFacetasProdutos facetas;
+
+    @PostConstruct
+    public void carregar() {
+        facetas = new IndiceFacetasProdutos(limitesFaixasPreco);
+        for (Produto produto : produtoRepository.findAll()) {
+            indexar(produto);
+        }
+    }
+
+    // fallbackExecution: o cadastro de produto não abre transação e o evento precisa ser tratado mesmo assim
+    @TransactionalEventListener(fallbackExecution = true)
+    public void salvarProduto(ProdutoSalvoEvent event) {
+        indexar(event.getProduto());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void excluirProduto(ProdutoExcluidoEvent event) {
+        indice.remover(event.getProdutoId());
+        facetas.remover(event.getProdutoId());
+    }
+
+    @Override
+    public List<ResultadoBuscaProdutoDTO> buscar(String termo, int limite) throws InfoException {
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new InfoException("O limite deve estar entre 1 e " + LIMITE_MAXIMO, HttpStatus.BAD_REQUEST);
+        }
+        return indice.buscar(termo, limite);
+    }
+
+    @Override
+    public NavegacaoProdutoDTO navegar(List<Long> categoriaIds, List<Long> fabricanteIds, List<Integer> faixasPreco,
+                                       int pagina, int tamanho) throws InfoException {
+        if (pagina < 0 || tamanho < 1 || tamanho > LIMITE_MAXIMO) {
+            throw new InfoException("A página deve ser positiva e o tamanho estar entre 1 e " + LIMITE_MAXIMO, HttpStatus.BAD_REQUEST);
+        }
+        if (faixasPreco != null && faixasPreco.stream().anyMatch(faixa -> faixa == null || faixa < 0 || faixa >= facetas.getQuantidadeFaixas())) {
+            throw new InfoException("A faixa de preço deve estar entre 0 e " + (facetas.getQuantidadeFaixas() - 1), HttpStatus.BAD_REQUEST);
+        }
+        if ((long) pagina * tamanho > Integer.MAX_VALUE) {
+            throw new InfoException("Página fora do intervalo", HttpStatus.BAD_REQUEST);
+        }
+
+        IndiceFacetasProdutos.Navegacao navegacao = facetas.navegar(categoriaIds, fabricanteIds, faixasPreco, pagina * tamanho, tamanho);
+
+        // A página é montada a partir do cache do catálogo; produtos excluídos depois da consulta ao índice ficam de fora
+        Map<Long, Produto> produtos = catalogoCacheService.buscarProdutos(navegacao.produtoIds);
+        List<ResultadoBuscaProdutoDTO> resultado = new ArrayList<>(navegacao.produtoIds.size());
+        for (Long produtoId : navegacao.produtoIds) {
+            Produto produto = produtos.get(produtoId);
+            if (produto != null) {
+                resultado.add(ResultadoBuscaProdutoDTO.builder()
+                        .id(produto.getId())
+                        .nome(produto.getNome())
+                        .descricao(produto.getDescricao())
+                        .valorVenda(produto.getValorVenda())
+                        .build());
+            }
+        }
+
+        List<FaixaPrecoDTO> faixas = new ArrayList<>(navegacao.faixas.length);
+        for (int i = 0; i < navegacao.faixas.length; i++) {
+            faixas.add(FaixaPrecoDTO.builder()
+                    .indice(i)
+                    .minimo(facetas.getMinimoFaixa(i))
+                    .maximo(facetas.getMaximoFaixa(i))
+                    .quantidade(navegacao.faixas[i])
+                    .build());
+        }
+
+        return NavegacaoProdutoDTO.builder()
+                .total(navegacao.total)
+                .produtos(resultado)
+                .categorias(converterFacetas(navegacao.categorias,
+                        id -> catalogoCacheService.buscarCategoria(id).map(Categoria::getNome)))
+                .fabricantes(converterFacetas(navegacao.fabricantes,
+                        id -> catalogoCacheService.buscarFabricante(id).map(Fabricante::getNome)))
+                .faixasPreco(faixas)
+                .build();
+    }
+
+    private List<FacetaDTO> converterFacetas(Map<Long, Long> contagens, Function<Long, Optional<String>> nome) {
+        return contagens.entrySet().stream()
+                .map(contagem -> FacetaDTO.builder()
+                        .id(contagem.getKey())
+                        .nome(nome.apply(contagem.getKey()).orElse(null))
+                        .quantidade(contagem.getValue())
+                        .build())
+                .sorted(Comparator.comparing(FacetaDTO::getQuantidade).reversed().thenComparing(FacetaDTO::getId))
+                .collect(Collectors.toList());
+    }
+
+    private void indexar(Produto produto) {
+        indice.indexar(produto.getId(), produto.getNome(), produto.getDescricao(), produto.getValorVenda());
+        facetas.indexar(produto.getId(),
+                produto.getCategoria() != null ? produto.getCategoria().getId() : null,
+                produto.getFabricante() != null ? produto.getFabricante().getId() : null,
+                produto.getValorVenda());
+    }
+}
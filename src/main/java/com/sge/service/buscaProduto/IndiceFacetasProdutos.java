@@ -0,0 +1,215 @@
+package com.sge.service.buscaProduto;
+
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+class IndiceFacetasProdutos {
+    // Limites superiores (exclusivos) das faixas de preço; a última faixa não tem limite
+    private final double[] limitesFaixas;
+
+    private final RoaringBitmap todos = new RoaringBitmap();
+    private final Map<Long, RoaringBitmap> porCategoria = new HashMap<>();
+    private final Map<Long, RoaringBitmap> porFabricante = new HashMap<>();
+    private final RoaringBitmap[] porFaixa;
+    private final Map<Integer, Posicao> posicoes = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    IndiceFacetasProdutos(double[] limitesFaixas) {
+        this.limitesFaixas = limitesFaixas.clone();
+        Arrays.sort(this.limitesFaixas);
+        porFaixa = new RoaringBitmap[this.limitesFaixas.length + 1];
+        for (int i = 0; i < porFaixa.length; i++) {
+            porFaixa[i] = new RoaringBitmap();
+        }
+    }
+
+    int getQuantidadeFaixas() {
+        return porFaixa.length;
+    }
+
+    Double getMinimoFaixa(int faixa) {
+        return faixa == 0 ? 0.0 : limitesFaixas[faixa - 1];
+    }
+
+    Double getMaximoFaixa(int faixa) {
+        return faixa < limitesFaixas.length ? limitesFaixas[faixa] : null;
+    }
+
+    void indexar(Long id, Long categoriaId, Long fabricanteId, Double valorVenda) {
+        int produto = Math.toIntExact(id);
+        Posicao posicao = new Posicao(categoriaId, fabricanteId, faixa(valorVenda));
+
+        lock.writeLock().lock();
+        try {
+            removerPosicao(produto);
+            posicoes.put(produto, posicao);
+            todos.add(produto);
+            if (categoriaId != null) {
+                porCategoria.computeIfAbsent(categoriaId, chave -> new RoaringBitmap()).add(produto);
+            }
+            if (fabricanteId != null) {
+                porFabricante.computeIfAbsent(fabricanteId, chave -> new RoaringBitmap()).add(produto);
+            }
+            porFaixa[posicao.faixa].add(produto);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remover(Long id) {
+        lock.writeLock().lock();
+        try {
+            removerPosicao(Math.toIntExact(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Cada faceta é contada com os filtros das outras dimensões, para que o cliente veja quantos produtos
+    // restariam ao trocar ou acrescentar um valor naquela dimensão
+    Navegacao navegar(Collection<Long> categoriaIds, Collection<Long> fabricanteIds, Collection<Integer> faixas,
+                      int inicio, int tamanho) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap filtroCategoria = unir(porCategoria, categoriaIds);
+            RoaringBitmap filtroFabricante = unir(porFabricante, fabricanteIds);
+            RoaringBitmap filtroFaixa = unirFaixas(faixas);
+
+            RoaringBitmap resultado = intersectar(filtroCategoria, filtroFabricante, filtroFaixa);
+            Navegacao navegacao = new Navegacao(resultado.getLongCardinality(), pagina(resultado, inicio, tamanho), porFaixa.length);
+
+            RoaringBitmap baseCategoria = intersectar(filtroFabricante, filtroFaixa);
+            porCategoria.forEach((categoriaId, produtos) ->
+                    contar(navegacao.categorias, categoriaId, RoaringBitmap.andCardinality(produtos, baseCategoria)));
+
+            RoaringBitmap baseFabricante = intersectar(filtroCategoria, filtroFaixa);
+            porFabricante.forEach((fabricanteId, produtos) ->
+                    contar(navegacao.fabricantes, fabricanteId, RoaringBitmap.andCardinality(produtos, baseFabricante)));
+
+            RoaringBitmap baseFaixa = intersectar(filtroCategoria, filtroFabricante);
+            for (int i = 0; i < porFaixa.length; i++) {
+                navegacao.faixas[i] = RoaringBitmap.andCardinality(porFaixa[i], baseFaixa);
+            }
+            return navegacao;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int faixa(Double valorVenda) {
+        if (valorVenda == null) {
+            return 0;
+        }
+        int posicao = Arrays.binarySearch(limitesFaixas, valorVenda);
+        return posicao >= 0 ? posicao + 1 : -posicao - 1;
+    }
+
+    private void removerPosicao(int produto) {
+        Posicao anterior = posicoes.remove(produto);
+        if (anterior != null) {
+            todos.remove(produto);
+            removerDe(porCategoria, anterior.categoriaId, produto);
+            removerDe(porFabricante, anterior.fabricanteId, produto);
+            porFaixa[anterior.faixa].remove(produto);
+        }
+    }
+
+    private void removerDe(Map<Long, RoaringBitmap> bitmaps, Long chave, int produto) {
+        if (chave != null) {
+            RoaringBitmap produtos = bitmaps.get(chave);
+            produtos.remove(produto);
+            if (produtos.isEmpty()) {
+                bitmaps.remove(chave);
+            }
+        }
+    }
+
+    // Sem filtro na dimensão o retorno é null, que na interseção equivale a todos os produtos
+    private RoaringBitmap unir(Map<Long, RoaringBitmap> bitmaps, Collection<Long> chaves) {
+        if (chaves == null || chaves.isEmpty()) {
+            return null;
+        }
+        RoaringBitmap uniao = new RoaringBitmap();
+        for (Long chave : chaves) {
+            RoaringBitmap produtos = bitmaps.get(chave);
+            if (produtos != null) {
+                uniao.or(produtos);
+            }
+        }
+        return uniao;
+    }
+
+    private RoaringBitmap unirFaixas(Collection<Integer> faixas) {
+        if (faixas == null || faixas.isEmpty()) {
+            return null;
+        }
+        RoaringBitmap uniao = new RoaringBitmap();
+        for (Integer faixa : faixas) {
+            uniao.or(porFaixa[faixa]);
+        }
+        return uniao;
+    }
+
+    private RoaringBitmap intersectar(RoaringBitmap... filtros) {
+        RoaringBitmap resultado = todos;
+        for (RoaringBitmap filtro : filtros) {
+            if (filtro != null) {
+                resultado = RoaringBitmap.and(resultado, filtro);
+            }
+        }
+        return resultado;
+    }
+
+    private List<Long> pagina(RoaringBitmap resultado, int inicio, int tamanho) {
+        List<Long> ids = new ArrayList<>(tamanho);
+        if (inicio < resultado.getLongCardinality()) {
+            PeekableIntIterator iterator = resultado.getIntIterator();
+            iterator.advanceIfNeeded(resultado.select(inicio));
+            while (iterator.hasNext() && ids.size() < tamanho) {
+                ids.add((long) iterator.next());
+            }
+        }
+        return ids;
+    }
+
+    private void contar(Map<Long, Long> contagens, Long chave, long quantidade) {
+        if (quantidade > 0) {
+            contagens.put(chave, quantidade);
+        }
+    }
+
+    static class Navegacao {
+        final long total;
+        final List<Long> produtoIds;
+        final Map<Long, Long> categorias = new HashMap<>();
+        final Map<Long, Long> fabricantes = new HashMap<>();
+        final long[] faixas;
+
+        private Navegacao(long total, List<Long> produtoIds, int quantidadeFaixas) {
+            this.total = total;
+            this.produtoIds = produtoIds;
+            this.faixas = new long[quantidadeFaixas];
+        }
+    }
+
+    private static class Posicao {
+        private final Long categoriaId;
+        private final Long fabricanteId;
+        private final int faixa;
+
+        private Posicao(Long categoriaId, Long fabricanteId, int faixa) {
+            this.categoriaId = categoriaId;
+            this.fabricanteId = fabricanteId;
+            this.faixa = faixa;
+        }
+    }
+}
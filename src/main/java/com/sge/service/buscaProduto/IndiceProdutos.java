@@ -0,0 +1,149 @@
+package com.sge.service.buscaProduto;
+
+import com.sge.dto.ResultadoBuscaProdutoDTO;
+import com.sge.util.Util;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+class IndiceProdutos {
+    private static final int PESO_NOME = 3;
+    private static final int PESO_DESCRICAO = 1;
+    private static final double FATOR_PREFIXO = 0.5;
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    // Termo normalizado -> produto -> peso; ordenado para que o autocompletar percorra apenas a faixa do prefixo
+    private final NavigableMap<String, Map<Long, Integer>> termos = new TreeMap<>();
+    private final Map<Long, Documento> documentos = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    static Set<String> normalizar(String texto) {
+        Set<String> resultado = new LinkedHashSet<>();
+        if (texto != null) {
+            for (String termo : SEPARADORES.split(Util.removerAcentos(texto).toLowerCase(Locale.ROOT))) {
+                if (!termo.isEmpty()) {
+                    resultado.add(termo);
+                }
+            }
+        }
+        return resultado;
+    }
+
+    void indexar(Long id, String nome, String descricao, Double valorVenda) {
+        Map<String, Integer> pesos = new HashMap<>();
+        normalizar(nome).forEach(termo -> pesos.merge(termo, PESO_NOME, Integer::sum));
+        normalizar(descricao).forEach(termo -> pesos.merge(termo, PESO_DESCRICAO, Integer::sum));
+
+        lock.writeLock().lock();
+        try {
+            removerDocumento(id);
+            documentos.put(id, new Documento(nome, descricao, valorVenda, pesos.keySet()));
+            pesos.forEach((termo, peso) -> termos.computeIfAbsent(termo, chave -> new HashMap<>()).put(id, peso));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remover(Long id) {
+        lock.writeLock().lock();
+        try {
+            removerDocumento(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Todos os termos da consulta precisam casar; a pontuação soma o melhor peso de cada termo ponderado pelo idf
+    List<ResultadoBuscaProdutoDTO> buscar(String consulta, int limite) {
+        Set<String> termosConsulta = normalizar(consulta);
+        if (termosConsulta.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> pontuacoes = null;
+            for (String termo : termosConsulta) {
+                Map<Long, Double> encontrados = pontuarTermo(termo);
+                if (pontuacoes == null) {
+                    pontuacoes = encontrados;
+                } else {
+                    pontuacoes.keySet().retainAll(encontrados.keySet());
+                    pontuacoes.replaceAll((id, pontuacao) -> pontuacao + encontrados.get(id));
+                }
+                if (pontuacoes.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+
+            return pontuacoes.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limite)
+                    .map(entrada -> converter(entrada.getKey(), entrada.getValue()))
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // O termo exato pontua inteiro; termos que apenas começam com ele (autocompletar) pontuam pela metade
+    private Map<Long, Double> pontuarTermo(String termo) {
+        Map<Long, Double> pontuacoes = new HashMap<>();
+        for (Map.Entry<String, Map<Long, Integer>> entrada : termos.subMap(termo, true, termo + Character.MAX_VALUE, false).entrySet()) {
+            double fator = entrada.getKey().length() == termo.length() ? 1.0 : FATOR_PREFIXO;
+            double idf = Math.log(1.0 + (double) documentos.size() / entrada.getValue().size());
+            entrada.getValue().forEach((id, peso) -> pontuacoes.merge(id, peso * idf * fator, Math::max));
+        }
+        return pontuacoes;
+    }
+
+    private void removerDocumento(Long id) {
+        Documento anterior = documentos.remove(id);
+        if (anterior != null) {
+            for (String termo : anterior.termos) {
+                Map<Long, Integer> produtos = termos.get(termo);
+                produtos.remove(id);
+                if (produtos.isEmpty()) {
+                    termos.remove(termo);
+                }
+            }
+        }
+    }
+
+    private ResultadoBuscaProdutoDTO converter(Long id, Double pontuacao) {
+        Documento documento = documentos.get(id);
+        return ResultadoBuscaProdutoDTO.builder()
+                .id(id)
+                .nome(documento.nome)
+                .descricao(documento.descricao)
+                .valorVenda(documento.valorVenda)
+                .pontuacao(pontuacao)
+                .build();
+    }
+
+    private static class Documento {
+        private final String nome;
+        private final String descricao;
+        private final Double valorVenda;
+        private final Set<String> termos;
+
+        private Documento(String nome, String descricao, Double valorVenda, Set<String> termos) {
+            this.nome = nome;
+            this.descricao = descricao;
+            this.valorVenda = valorVenda;
+            this.termos = termos;
+        }
+    }
+}
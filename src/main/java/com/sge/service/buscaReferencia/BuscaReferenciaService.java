@@ -0,0 +1,13 @@
+package com.sge.service.buscaReferencia;
+
+import com.sge.dto.PaginaReferenciaDTO;
+import com.sge.enums.TipoReferencia;
+import com.sge.exceptions.InfoException;
+
+public interface BuscaReferenciaService {
+    PaginaReferenciaDTO buscar(TipoReferencia tipo, String termo, int pagina, int tamanho) throws InfoException;
+
+    void indexar(TipoReferencia tipo, Long id, String nome);
+
+    void remover(TipoReferencia tipo, Long id);
+}
@@ -0,0 +1,83 @@
+package com.sge.service.buscaReferencia;
+
+import com.sge.dto.PaginaReferenciaDTO;
+import com.sge.dto.ReferenciaDTO;
+import com.sge.entity.Categoria;
+import com.sge.entity.Fabricante;
+import com.sge.entity.Permissao;
+import com.sge.enums.TipoReferencia;
+import com.sge.exceptions.InfoException;
+import com.sge.repository.CategoriaRepository;
+import com.sge.repository.FabricanteRepository;
+import com.sge.repository.PermissaoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class BuscaReferenciaServiceImpl implements BuscaReferenciaService {
+    private static final int TAMANHO_PAGINA_MAXIMO = 100;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private FabricanteRepository fabricanteRepository;
+
+    @Autowired
+    private PermissaoRepository permissaoRepository;
+
+    private final Map<TipoReferencia, IndiceTrigramas> indices = new EnumMap<>(TipoReferencia.class);
+
+    @PostConstruct
+    public void carregar() {
+        for (TipoReferencia tipo : TipoReferencia.values()) {
+            indices.put(tipo, new IndiceTrigramas());
+        }
+        for (Categoria categoria : categoriaRepository.findAll()) {
+            indexar(TipoReferencia.CATEGORIA, categoria.getId(), categoria.getNome());
+        }
+        for (Fabricante fabricante : fabricanteRepository.findAll()) {
+            indexar(TipoReferencia.FABRICANTE, fabricante.getId(), fabricante.getNome());
+        }
+        for (Permissao permissao : permissaoRepository.findAll()) {
+            indexar(TipoReferencia.PERMISSAO, permissao.getId(), permissao.getNome());
+        }
+    }
+
+    // Busca por trecho do nome, sem diferenciar acentos e maiúsculas; termo vazio lista todos
+    @Override
+    public PaginaReferenciaDTO buscar(TipoReferencia tipo, String termo, int pagina, int tamanho) throws InfoException {
+        if (pagina < 0 || tamanho < 1 || tamanho > TAMANHO_PAGINA_MAXIMO) {
+            throw new InfoException("A página deve ser positiva e o tamanho estar entre 1 e " + TAMANHO_PAGINA_MAXIMO, HttpStatus.BAD_REQUEST);
+        }
+        if ((long) pagina * tamanho > Integer.MAX_VALUE) {
+            throw new InfoException("Página fora do intervalo", HttpStatus.BAD_REQUEST);
+        }
+
+        List<ReferenciaDTO> itens = new ArrayList<>(tamanho);
+        long total = indices.get(tipo).buscar(termo, pagina * tamanho, tamanho, itens);
+        return PaginaReferenciaDTO.builder()
+                .total(total)
+                .pagina(pagina)
+                .tamanho(tamanho)
+                .itens(itens)
+                .build();
+    }
+
+    @Override
+    public void indexar(TipoReferencia tipo, Long id, String nome) {
+        indices.get(tipo).indexar(id, nome);
+    }
+
+    @Override
+    public void remover(TipoReferencia tipo, Long id) {
+        indices.get(tipo).remover(id);
+    }
+}
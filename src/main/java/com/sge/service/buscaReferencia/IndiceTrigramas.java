@@ -0,0 +1,155 @@
+package com.sge.service.buscaReferencia;
+
+import com.sge.dto.ReferenciaDTO;
+import com.sge.util.Util;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+class IndiceTrigramas {
+    private static final int TAMANHO_GRAMA = 3;
+    private static final RoaringBitmap VAZIO = new RoaringBitmap();
+
+    private final Map<Integer, Entrada> entradas = new HashMap<>();
+    // Gramas de 1 a 3 caracteres -> ids; termos curtos saem direto do bitmap, os longos da interseção dos trigramas
+    private final Map<String, RoaringBitmap> gramas = new HashMap<>();
+    private final RoaringBitmap todos = new RoaringBitmap();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    static String normalizar(String texto) {
+        return texto == null ? "" : Util.removerAcentos(texto).toLowerCase(Locale.ROOT).trim();
+    }
+
+    void indexar(Long id, String nome) {
+        int chave = Math.toIntExact(id);
+        Entrada entrada = new Entrada(nome, normalizar(nome));
+
+        lock.writeLock().lock();
+        try {
+            removerEntrada(chave);
+            entradas.put(chave, entrada);
+            todos.add(chave);
+            for (String grama : extrairGramas(entrada.normalizado)) {
+                gramas.computeIfAbsent(grama, g -> new RoaringBitmap()).add(chave);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remover(Long id) {
+        lock.writeLock().lock();
+        try {
+            removerEntrada(Math.toIntExact(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Resultado em ordem de id; acima de 3 caracteres os candidatos da interseção são confirmados com contains,
+    // já que ter todos os trigramas não garante que eles estejam em sequência
+    long buscar(String termo, int inicio, int tamanho, List<ReferenciaDTO> pagina) {
+        String consulta = normalizar(termo);
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap candidatos = candidatos(consulta);
+            if (consulta.length() <= TAMANHO_GRAMA) {
+                adicionarPagina(candidatos, inicio, tamanho, pagina);
+                return candidatos.getLongCardinality();
+            }
+
+            long total = 0;
+            IntIterator iterator = candidatos.getIntIterator();
+            while (iterator.hasNext()) {
+                int chave = iterator.next();
+                Entrada entrada = entradas.get(chave);
+                if (entrada.normalizado.contains(consulta)) {
+                    if (total >= inicio && pagina.size() < tamanho) {
+                        pagina.add(new ReferenciaDTO((long) chave, entrada.nome));
+                    }
+                    total++;
+                }
+            }
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RoaringBitmap candidatos(String consulta) {
+        if (consulta.isEmpty()) {
+            return todos;
+        }
+        if (consulta.length() <= TAMANHO_GRAMA) {
+            return gramas.getOrDefault(consulta, VAZIO);
+        }
+
+        RoaringBitmap candidatos = null;
+        for (int i = 0; i + TAMANHO_GRAMA <= consulta.length(); i++) {
+            RoaringBitmap ids = gramas.get(consulta.substring(i, i + TAMANHO_GRAMA));
+            if (ids == null) {
+                return VAZIO;
+            }
+            candidatos = candidatos == null ? ids : RoaringBitmap.and(candidatos, ids);
+            if (candidatos.isEmpty()) {
+                return VAZIO;
+            }
+        }
+        return candidatos;
+    }
+
+    private void adicionarPagina(RoaringBitmap ids, int inicio, int tamanho, List<ReferenciaDTO> pagina) {
+        if (inicio < ids.getLongCardinality()) {
+            PeekableIntIterator iterator = ids.getIntIterator();
+            iterator.advanceIfNeeded(ids.select(inicio));
+            while (iterator.hasNext() && pagina.size() < tamanho) {
+                int chave = iterator.next();
+                pagina.add(new ReferenciaDTO((long) chave, entradas.get(chave).nome));
+            }
+        }
+    }
+
+    private void removerEntrada(int chave) {
+        Entrada anterior = entradas.remove(chave);
+        if (anterior != null) {
+            todos.remove(chave);
+            for (String grama : extrairGramas(anterior.normalizado)) {
+                RoaringBitmap ids = gramas.get(grama);
+                ids.remove(chave);
+                if (ids.isEmpty()) {
+                    gramas.remove(grama);
+                }
+            }
+        }
+    }
+
+    private static Set<String> extrairGramas(String texto) {
+        Set<String> resultado = new HashSet<>();
+        for (int tamanho = 1; tamanho <= TAMANHO_GRAMA; tamanho++) {
+            for (int i = 0; i + tamanho <= texto.length(); i++) {
+                resultado.add(texto.substring(i, i + tamanho));
+            }
+        }
+        return resultado;
+    }
+
+    private static class Entrada {
+        private final String nome;
+        private final String normalizado;
+
+        private Entrada(String nome, String normalizado) {
+            this.nome = nome;
+            this.normalizado = normalizado;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.sge.service.catalogo;
+
+import com.sge.dto.EstatisticaCacheDTO;
+import com.sge.entity.Categoria;
+import com.sge.entity.Fabricante;
+import com.sge.entity.Produto;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface CatalogoCacheService {
+    Optional<Produto> buscarProduto(Long id);
+
+    Map<Long, Produto> buscarProdutos(Collection<Long> ids);
+
+    Optional<Categoria> buscarCategoria(Long id);
+
+    Optional<Fabricante> buscarFabricante(Long id);
+
+    void invalidarProduto(Long id);
+
+    void invalidarCategoria(Long id);
+
+    void invalidarFabricante(Long id);
+
+    List<EstatisticaCacheDTO> buscarEstatisticas();
+}
@@ -0,0 +1,152 @@
+package com.sge.service.catalogo;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.sge.dto.EstatisticaCacheDTO;
+import com.sge.entity.Categoria;
+import com.sge.entity.Fabricante;
+import com.sge.entity.Produto;
+import com.sge.repository.CategoriaRepository;
+import com.sge.repository.FabricanteRepository;
+import com.sge.repository.ProdutoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// As entidades em cache são compartilhadas entre requisições e devem ser tratadas como somente leitura; o estoque do
+// produto em cache pode estar defasado, o saldo oficial é sempre o do banco
+@Service
+public class CatalogoCacheServiceImpl implements CatalogoCacheService {
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private FabricanteRepository fabricanteRepository;
+
+    @Value("${catalogo.cache.tamanho-maximo:10000}")
+    private long tamanhoMaximo;
+
+    @Value("${catalogo.cache.ttl-minutos:10}")
+    private long ttlMinutos;
+
+    private Cache<Long, Produto> produtos;
+
+    private Cache<Long, Categoria> categorias;
+
+    private Cache<Long, Fabricante> fabricantes;
+
+    @PostConstruct
+    public void iniciar() {
+        produtos = novoCache();
+        categorias = novoCache();
+        fabricantes = novoCache();
+    }
+
+    // Ids inexistentes não são guardados, para que um cadastro posterior com o mesmo id não fique oculto
+    @Override
+    public Optional<Produto> buscarProduto(Long id) {
+        return Optional.ofNullable(produtos.get(id, chave -> produtoRepository.findById(chave).orElse(null)));
+    }
+
+    // Apenas os ids ausentes do cache são buscados, em uma única consulta
+    @Override
+    public Map<Long, Produto> buscarProdutos(Collection<Long> ids) {
+        return produtos.getAll(ids, faltantes -> {
+            List<Long> idsFaltantes = new ArrayList<>();
+            faltantes.forEach(idsFaltantes::add);
+            return produtoRepository.findByIdIn(idsFaltantes).stream()
+                    .collect(Collectors.toMap(Produto::getId, Function.identity()));
+        });
+    }
+
+    @Override
+    public Optional<Categoria> buscarCategoria(Long id) {
+        return Optional.ofNullable(categorias.get(id, chave -> categoriaRepository.findById(chave).orElse(null)));
+    }
+
+    @Override
+    public Optional<Fabricante> buscarFabricante(Long id) {
+        return Optional.ofNullable(fabricantes.get(id, chave -> fabricanteRepository.findById(chave).orElse(null)));
+    }
+
+    @Override
+    public void invalidarProduto(Long id) {
+        invalidar(() -> produtos.invalidate(id));
+    }
+
+    // Os produtos em cache carregam a categoria e o fabricante, então também deixam de valer
+    @Override
+    public void invalidarCategoria(Long id) {
+        invalidar(() -> {
+            categorias.invalidate(id);
+            produtos.asMap().values().removeIf(produto -> produto.getCategoria() != null && id.equals(produto.getCategoria().getId()));
+        });
+    }
+
+    @Override
+    public void invalidarFabricante(Long id) {
+        invalidar(() -> {
+            fabricantes.invalidate(id);
+            produtos.asMap().values().removeIf(produto -> produto.getFabricante() != null && id.equals(produto.getFabricante().getId()));
+        });
+    }
+
+    @Override
+    public List<EstatisticaCacheDTO> buscarEstatisticas() {
+        return Arrays.asList(
+                converterEstatisticas("produtos", produtos),
+                converterEstatisticas("categorias", categorias),
+                converterEstatisticas("fabricantes", fabricantes));
+    }
+
+    private <T> Cache<Long, T> novoCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttlMinutos, TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+    }
+
+    // Invalida já e de novo ao fim da transação: uma leitura concorrente antes do commit pode ter recarregado o valor antigo
+    private void invalidar(Runnable invalidacao) {
+        invalidacao.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidacao.run();
+                }
+            });
+        }
+    }
+
+    private EstatisticaCacheDTO converterEstatisticas(String nome, Cache<Long, ?> cache) {
+        CacheStats estatisticas = cache.stats();
+        return EstatisticaCacheDTO.builder()
+                .nome(nome)
+                .tamanho(cache.estimatedSize())
+                .acertos(estatisticas.hitCount())
+                .falhas(estatisticas.missCount())
+                .taxaAcerto(estatisticas.hitRate())
+                .carregamentos(estatisticas.loadCount())
+                .despejos(estatisticas.evictionCount())
+                .build();
+    }
+}
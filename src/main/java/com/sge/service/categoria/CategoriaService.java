@@ -8,6 +8,8 @@ import java.util.List;
 public interface CategoriaService {
     List<Categoria> buscarTodos();
 
+    Categoria buscarPorId(Long id) throws InfoException;
+
     Categoria inserir(Categoria objeto) throws InfoException;
 
     Categoria alterar(Long id, Categoria objeto) throws InfoException;
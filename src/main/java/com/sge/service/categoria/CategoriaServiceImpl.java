@@ -1,8 +1,11 @@
 package com.sge.service.categoria;
 
+import com.sge.enums.TipoReferencia;
 import com.sge.exceptions.InfoException;
 import com.sge.entity.Categoria;
 import com.sge.repository.CategoriaRepository;
+import com.sge.service.buscaReferencia.BuscaReferenciaService;
+import com.sge.service.catalogo.CatalogoCacheService;
 import com.sge.util.UtilCategoria;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -16,13 +19,31 @@ public class CategoriaServiceImpl implements CategoriaService {
     @Autowired
     private CategoriaRepository categoriaRepository;
 
+    @Autowired
+    private BuscaReferenciaService buscaReferenciaService;
+
+    @Autowired
+    private CatalogoCacheService catalogoCacheService;
+
     public List<Categoria> buscarTodos() {
         return categoriaRepository.findAll();
     }
 
+    public Categoria buscarPorId(Long id) throws InfoException {
+        Optional<Categoria> categoria = catalogoCacheService.buscarCategoria(id);
+
+        if (categoria.isPresent()) {
+            return categoria.get();
+        }
+
+        return null;
+    }
+
     public Categoria inserir(Categoria categoria) throws InfoException {
         if (UtilCategoria.validarCategoria(categoria)) {
-            return categoriaRepository.save(categoria);
+            Categoria categoriaSalva = categoriaRepository.save(categoria);
+            buscaReferenciaService.indexar(TipoReferencia.CATEGORIA, categoriaSalva.getId(), categoriaSalva.getNome());
+            return categoriaSalva;
         } else {
             throw new InfoException("Ocorreu um erro ao cadastrar categoria", HttpStatus.BAD_REQUEST);
         }
@@ -39,6 +60,8 @@ public class CategoriaServiceImpl implements CategoriaService {
 
             if (UtilCategoria.validarCategoria(categoriaBuilder)) {
                 categoriaRepository.save(categoriaBuilder);
+                buscaReferenciaService.indexar(TipoReferencia.CATEGORIA, id, categoriaBuilder.getNome());
+                catalogoCacheService.invalidarCategoria(id);
             }
             return categoriaBuilder;
         } else {
@@ -51,6 +74,8 @@ public class CategoriaServiceImpl implements CategoriaService {
 
         if (categoria.isPresent()) {
             categoriaRepository.delete(categoria.get());
+            buscaReferenciaService.remover(TipoReferencia.CATEGORIA, id);
+            catalogoCacheService.invalidarCategoria(id);
         } else {
             throw new InfoException("Categoria não encontrada", HttpStatus.NOT_FOUND);
         }
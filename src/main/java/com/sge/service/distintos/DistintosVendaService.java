@@ -0,0 +1,10 @@
+package com.sge.service.distintos;
+
+import com.sge.dto.RetornoDistintosDTO;
+import com.sge.exceptions.InfoException;
+
+import java.util.Date;
+
+public interface DistintosVendaService {
+    RetornoDistintosDTO contarDistintos(Date dataInicio, Date dataFim, boolean exato) throws InfoException;
+}
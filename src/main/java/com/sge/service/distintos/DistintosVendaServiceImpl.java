@@ -0,0 +1,235 @@
+package com.sge.service.distintos;
+
+import com.sge.dto.LinhaDistintoDTO;
+import com.sge.dto.LinhaVendaDTO;
+import com.sge.dto.RetornoDistintosDTO;
+import com.sge.entity.ItensVenda;
+import com.sge.entity.Venda;
+import com.sge.exceptions.InfoException;
+import com.sge.repository.ItensVendaRepository;
+import com.sge.service.venda.VendaExcluidaEvent;
+import com.sge.service.venda.VendaRegistradaEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+@Service
+public class DistintosVendaServiceImpl implements DistintosVendaService {
+    @Autowired
+    private ItensVendaRepository itensVendaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final TreeMap<Long, HyperLogLog> clientesPorDia = new TreeMap<>();
+    private final TreeMap<Long, HyperLogLog> produtosPorDia = new TreeMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Recálculos em andamento; vendas registradas enquanto eles consultam o banco também entram nos esboços novos
+    private final List<Recalculo> recalculos = new ArrayList<>();
+
+    @PostConstruct
+    public void carregar() {
+        lock.writeLock().lock();
+        try {
+            somenteLeitura().executeWithoutResult(status -> {
+                try (Stream<LinhaDistintoDTO> linhas = itensVendaRepository.streamLinhasDistintos()) {
+                    linhas.forEach(linha -> adicionar(clientesPorDia, produtosPorDia, linha));
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void registrarVenda(VendaRegistradaEvent event) {
+        Venda venda = event.getVenda();
+        long dia = converterDia(venda.getDataVenda());
+
+        lock.writeLock().lock();
+        try {
+            adicionar(clientesPorDia, produtosPorDia, dia, venda);
+            for (Recalculo recalculo : recalculos) {
+                if (recalculo.dias.contains(dia)) {
+                    adicionar(recalculo.clientes, recalculo.produtos, dia, venda);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Esboços HyperLogLog não permitem remoção, então os dias afetados são recalculados a partir do banco. A consulta
+    // roda sem o lock, para não segurar o registro das vendas; as registradas durante ela são somadas aos esboços
+    // novos, que entram no lugar dos atuais com um lock de escrita curto
+    @TransactionalEventListener
+    public void excluirVendas(VendaExcluidaEvent event) {
+        Set<Long> dias = new TreeSet<>();
+        for (LinhaVendaDTO linha : event.getLinhasVenda()) {
+            dias.add(converterDia(linha.getDataVenda()));
+        }
+
+        Recalculo recalculo = new Recalculo(dias);
+        lock.writeLock().lock();
+        try {
+            recalculos.add(recalculo);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            TreeMap<Long, HyperLogLog> clientes = new TreeMap<>();
+            TreeMap<Long, HyperLogLog> produtos = new TreeMap<>();
+            somenteLeitura().executeWithoutResult(status -> {
+                for (Long dia : dias) {
+                    try (Stream<LinhaDistintoDTO> linhas = itensVendaRepository.streamLinhasDistintosByPeriodo(converterData(dia), converterData(dia + 1))) {
+                        linhas.forEach(linha -> adicionar(clientes, produtos, linha));
+                    }
+                }
+            });
+
+            lock.writeLock().lock();
+            try {
+                for (Long dia : dias) {
+                    substituir(clientesPorDia, dia, unir(clientes.get(dia), recalculo.clientes.get(dia)));
+                    substituir(produtosPorDia, dia, unir(produtos.get(dia), recalculo.produtos.get(dia)));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                recalculos.remove(recalculo);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @Override
+    public RetornoDistintosDTO contarDistintos(Date dataInicio, Date dataFim, boolean exato) throws InfoException {
+        long primeiroDia = converterDia(dataInicio);
+        long ultimoDia = converterDia(dataFim);
+        if (ultimoDia < primeiroDia) {
+            throw new InfoException("A data final deve ser igual ou posterior à data inicial", HttpStatus.BAD_REQUEST);
+        }
+
+        RetornoDistintosDTO retornoDistintosDTO;
+        if (exato) {
+            Date inicio = converterData(primeiroDia);
+            Date fimExclusivo = converterData(ultimoDia + 1);
+
+            retornoDistintosDTO = RetornoDistintosDTO.builder()
+                    .clientesDistintos(itensVendaRepository.contarClientesDistintosByPeriodo(inicio, fimExclusivo))
+                    .produtosDistintos(itensVendaRepository.contarProdutosDistintosByPeriodo(inicio, fimExclusivo))
+                    .exato(true)
+                    .erroPadrao(0.0)
+                    .build();
+        } else {
+            lock.readLock().lock();
+            try {
+                retornoDistintosDTO = RetornoDistintosDTO.builder()
+                        .clientesDistintos(estimar(clientesPorDia, primeiroDia, ultimoDia))
+                        .produtosDistintos(estimar(produtosPorDia, primeiroDia, ultimoDia))
+                        .exato(false)
+                        .erroPadrao(HyperLogLog.ERRO_PADRAO)
+                        .build();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        retornoDistintosDTO.setMensagem(retornoDistintosDTO.getClientesDistintos() + " cliente(s) e "
+                + retornoDistintosDTO.getProdutosDistintos() + " produto(s) distinto(s) no período");
+        return retornoDistintosDTO;
+    }
+
+    private long estimar(TreeMap<Long, HyperLogLog> esbocos, long primeiroDia, long ultimoDia) {
+        HyperLogLog uniao = new HyperLogLog();
+        for (HyperLogLog esboco : esbocos.subMap(primeiroDia, true, ultimoDia, true).values()) {
+            uniao.unir(esboco);
+        }
+        return uniao.estimar();
+    }
+
+    private void adicionar(Map<Long, HyperLogLog> clientes, Map<Long, HyperLogLog> produtos, LinhaDistintoDTO linha) {
+        long dia = converterDia(linha.getDataVenda());
+
+        if (linha.getClienteId() != null) {
+            clientes.computeIfAbsent(dia, d -> new HyperLogLog()).adicionar(linha.getClienteId());
+        }
+        produtos.computeIfAbsent(dia, d -> new HyperLogLog()).adicionar(linha.getProdutoId());
+    }
+
+    private void adicionar(Map<Long, HyperLogLog> clientes, Map<Long, HyperLogLog> produtos, long dia, Venda venda) {
+        if (venda.getCliente() != null) {
+            clientes.computeIfAbsent(dia, d -> new HyperLogLog()).adicionar(venda.getCliente().getId());
+        }
+        for (ItensVenda item : venda.getItensVenda()) {
+            produtos.computeIfAbsent(dia, d -> new HyperLogLog()).adicionar(item.getProduto().getId());
+        }
+    }
+
+    private HyperLogLog unir(HyperLogLog esboco, HyperLogLog registradas) {
+        if (esboco == null) {
+            return registradas;
+        }
+        if (registradas != null) {
+            esboco.unir(registradas);
+        }
+        return esboco;
+    }
+
+    private void substituir(Map<Long, HyperLogLog> esbocos, Long dia, HyperLogLog esboco) {
+        if (esboco != null) {
+            esbocos.put(dia, esboco);
+        } else {
+            esbocos.remove(dia);
+        }
+    }
+
+    // Transação própria: nos listeners pós-commit uma transação REQUIRED se juntaria à que acabou de terminar
+    private TransactionTemplate somenteLeitura() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate;
+    }
+
+    private long converterDia(Date data) {
+        return data.toInstant().atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+    }
+
+    private Date converterData(long dia) {
+        return Date.from(LocalDate.ofEpochDay(dia).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static class Recalculo {
+        private final Set<Long> dias;
+        private final Map<Long, HyperLogLog> clientes = new HashMap<>();
+        private final Map<Long, HyperLogLog> produtos = new HashMap<>();
+
+        private Recalculo(Set<Long> dias) {
+            this.dias = dias;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.sge.service.distintos;
+
+// HyperLogLog com 2^11 registros de um byte (2 KB por esboço, erro padrão de aproximadamente 2,3%)
+class HyperLogLog {
+    private static final int PRECISAO = 11;
+    private static final int REGISTROS = 1 << PRECISAO;
+    private static final double ALFA = 0.7213 / (1 + 1.079 / REGISTROS);
+
+    static final double ERRO_PADRAO = 1.04 / Math.sqrt(REGISTROS);
+
+    private final byte[] registros = new byte[REGISTROS];
+
+    void adicionar(long valor) {
+        long hash = misturar(valor);
+        int indice = (int) (hash >>> (64 - PRECISAO));
+        byte posicao = (byte) (Long.numberOfLeadingZeros((hash << PRECISAO) | (1L << (PRECISAO - 1))) + 1);
+
+        if (posicao > registros[indice]) {
+            registros[indice] = posicao;
+        }
+    }
+
+    void unir(HyperLogLog outro) {
+        for (int i = 0; i < REGISTROS; i++) {
+            if (outro.registros[i] > registros[i]) {
+                registros[i] = outro.registros[i];
+            }
+        }
+    }
+
+    long estimar() {
+        double soma = 0.0;
+        int zerados = 0;
+        for (byte registro : registros) {
+            soma += 1.0 / (1L << registro);
+            if (registro == 0) {
+                zerados++;
+            }
+        }
+
+        double estimativa = ALFA * REGISTROS * REGISTROS / soma;
+        if (estimativa <= 2.5 * REGISTROS && zerados > 0) {
+            estimativa = REGISTROS * Math.log((double) REGISTROS / zerados);
+        }
+        return Math.round(estimativa);
+    }
+
+    private static long misturar(long valor) {
+        long z = valor + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,11 @@
+package com.sge.service.estoque;
+
+import com.sge.dto.AlertaEstoqueDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class EstoqueBaixoEvent {
+    private final AlertaEstoqueDTO alerta;
+}
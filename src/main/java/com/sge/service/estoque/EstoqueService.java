@@ -0,0 +1,29 @@
+package com.sge.service.estoque;
+
+import com.sge.dto.LinhaVendaDTO;
+import com.sge.dto.MovimentoEstoqueDTO;
+import com.sge.dto.SaldoEstoqueDTO;
+import com.sge.exceptions.InfoException;
+
+import java.util.Date;
+import java.util.List;
+
+public interface EstoqueService {
+    boolean reservar(Long produtoId, Double quantidade, Long vendaId);
+
+    void repor(List<LinhaVendaDTO> linhasVenda);
+
+    void registrarEstoqueInicial(Long produtoId, Double quantidade);
+
+    void definirSaldo(Long produtoId, Double saldo) throws InfoException;
+
+    MovimentoEstoqueDTO movimentar(Long produtoId, MovimentoEstoqueDTO movimento) throws InfoException;
+
+    List<MovimentoEstoqueDTO> buscarMovimentos(Long produtoId, Date dataInicio, Date dataFim);
+
+    SaldoEstoqueDTO buscarSaldo(Long produtoId, Date data) throws InfoException;
+
+    int gerarSnapshots(Date corte);
+
+    int gerarSnapshots();
+}
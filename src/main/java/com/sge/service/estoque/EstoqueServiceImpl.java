@@ -0,0 +1,255 @@
+package com.sge.service.estoque;
+
+import com.sge.dto.LinhaVendaDTO;
+import com.sge.dto.MovimentoEstoqueDTO;
+import com.sge.dto.SaldoEstoqueDTO;
+import com.sge.entity.MovimentoEstoque;
+import com.sge.entity.SnapshotEstoque;
+import com.sge.enums.TipoMovimentoEstoque;
+import com.sge.exceptions.InfoException;
+import com.sge.repository.MovimentoEstoqueRepository;
+import com.sge.repository.ProdutoRepository;
+import com.sge.repository.SnapshotEstoqueRepository;
+import com.sge.service.catalogo.CatalogoCacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Service
+public class EstoqueServiceImpl implements EstoqueService {
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private MovimentoEstoqueRepository movimentoEstoqueRepository;
+
+    @Autowired
+    private SnapshotEstoqueRepository snapshotEstoqueRepository;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private CatalogoCacheService catalogoCacheService;
+
+    @Value("${estoque.snapshot.atraso-minutos:5}")
+    private long atrasoMinutos;
+
+    @Value("${estoque.alerta.habilitado:false}")
+    private boolean alertaHabilitado;
+
+    @Override
+    @Transactional
+    public boolean reservar(Long produtoId, Double quantidade, Long vendaId) {
+        if (produtoRepository.reservarEstoque(produtoId, quantidade) == 0) {
+            return false;
+        }
+        movimentoEstoqueRepository.save(novoMovimento(produtoId, TipoMovimentoEstoque.VENDA, -quantidade, vendaId, null));
+        verificarEstoqueMinimo(produtoId, quantidade);
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public void repor(List<LinhaVendaDTO> linhasVenda) {
+        Map<Long, Map<Long, Double>> quantidades = new TreeMap<>();
+        for (LinhaVendaDTO linha : linhasVenda) {
+            if (linha.getQuantidade() != null) {
+                quantidades.computeIfAbsent(linha.getProdutoId(), produtoId -> new TreeMap<>())
+                        .merge(linha.getVendaId(), linha.getQuantidade(), Double::sum);
+            }
+        }
+
+        List<MovimentoEstoque> movimentos = new ArrayList<>();
+        for (Map.Entry<Long, Map<Long, Double>> produto : quantidades.entrySet()) {
+            double total = produto.getValue().values().stream().mapToDouble(Double::doubleValue).sum();
+            // Produtos sem controle de estoque não são alterados e não geram movimento
+            if (produtoRepository.reporEstoque(produto.getKey(), total) > 0) {
+                produto.getValue().forEach((vendaId, quantidade) -> movimentos.add(
+                        novoMovimento(produto.getKey(), TipoMovimentoEstoque.DEVOLUCAO, quantidade, vendaId, null)));
+            }
+        }
+        movimentoEstoqueRepository.saveAll(movimentos);
+    }
+
+    @Override
+    @Transactional
+    public void registrarEstoqueInicial(Long produtoId, Double quantidade) {
+        if (quantidade != null && quantidade > 0) {
+            movimentoEstoqueRepository.save(novoMovimento(produtoId, TipoMovimentoEstoque.ENTRADA, quantidade, null, "Estoque inicial"));
+        }
+    }
+
+    @Override
+    @Transactional(rollbackFor = InfoException.class)
+    public void definirSaldo(Long produtoId, Double saldo) throws InfoException {
+        if (saldo == null || saldo < 0) {
+            throw new InfoException("MESSAGE.ESTOQUE_NEGATIVO", HttpStatus.BAD_REQUEST);
+        }
+        validarProduto(produtoId);
+
+        // O saldo atual é lido com a linha bloqueada, então a diferença registrada no ajuste não pode ser desfeita por
+        // uma venda concorrente entre a leitura e o update
+        Double atual = produtoRepository.findEstoqueParaAtualizarById(produtoId);
+        produtoRepository.definirEstoque(produtoId, saldo);
+        // Um produto sem controle de estoque passa a ter controle: o cache não pode continuar com o estoque nulo
+        catalogoCacheService.invalidarProduto(produtoId);
+        double diferenca = saldo - (atual != null ? atual : 0.0);
+        if (diferenca != 0) {
+            movimentoEstoqueRepository.save(novoMovimento(produtoId, TipoMovimentoEstoque.AJUSTE, diferenca, null,
+                    "Saldo definido na alteração do produto"));
+        }
+        if (diferenca < 0) {
+            verificarEstoqueMinimo(produtoId, -diferenca);
+        }
+    }
+
+    @Override
+    @Transactional(rollbackFor = InfoException.class)
+    public MovimentoEstoqueDTO movimentar(Long produtoId, MovimentoEstoqueDTO movimento) throws InfoException {
+        if (movimento.getTipo() != TipoMovimentoEstoque.ENTRADA && movimento.getTipo() != TipoMovimentoEstoque.AJUSTE) {
+            throw new InfoException("Apenas movimentos de ENTRADA e AJUSTE podem ser registrados manualmente", HttpStatus.BAD_REQUEST);
+        }
+        if (movimento.getQuantidade() == null || movimento.getQuantidade() == 0
+                || (movimento.getTipo() == TipoMovimentoEstoque.ENTRADA && movimento.getQuantidade() < 0)) {
+            throw new InfoException("MESSAGE.QUANTIDADE_REQUIRED", HttpStatus.BAD_REQUEST);
+        }
+        validarProduto(produtoId);
+
+        if (produtoRepository.movimentarEstoque(produtoId, movimento.getQuantidade()) == 0) {
+            throw new InfoException("Estoque insuficiente para o ajuste", HttpStatus.CONFLICT);
+        }
+        catalogoCacheService.invalidarProduto(produtoId);
+        if (movimento.getQuantidade() < 0) {
+            verificarEstoqueMinimo(produtoId, -movimento.getQuantidade());
+        }
+        return converterMovimento(movimentoEstoqueRepository.save(novoMovimento(produtoId, movimento.getTipo(),
+                movimento.getQuantidade(), null, movimento.getObservacao())));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MovimentoEstoqueDTO> buscarMovimentos(Long produtoId, Date dataInicio, Date dataFim) {
+        return movimentoEstoqueRepository.findByProdutoIdAndDataMovimentoBetweenOrderByDataMovimentoAscIdAsc(produtoId, dataInicio, dataFim)
+                .stream()
+                .map(this::converterMovimento)
+                .collect(Collectors.toList());
+    }
+
+    // Saldo = último snapshot até a data + movimentos desde o snapshot, sem percorrer o histórico inteiro
+    @Override
+    @Transactional(readOnly = true)
+    public SaldoEstoqueDTO buscarSaldo(Long produtoId, Date data) throws InfoException {
+        validarProduto(produtoId);
+        Date instante = data != null ? data : new Date();
+
+        SaldoEstoqueDTO.SaldoEstoqueDTOBuilder saldo = SaldoEstoqueDTO.builder().produtoId(produtoId).data(instante);
+        if (produtoRepository.findEstoqueById(produtoId) == null) {
+            return saldo.build();
+        }
+
+        Optional<SnapshotEstoque> snapshot = snapshotEstoqueRepository
+                .findFirstByProdutoIdAndDataSnapshotLessThanEqualOrderByDataSnapshotDesc(produtoId, instante);
+        Date inicio = snapshot.map(SnapshotEstoque::getDataSnapshot).orElse(new Date(0));
+        double saldoSnapshot = snapshot.map(SnapshotEstoque::getSaldo).orElse(0.0);
+
+        return saldo
+                .saldo(saldoSnapshot + movimentoEstoqueRepository.somarQuantidadeByProdutoIdAndDataMovimentoBetween(produtoId, inicio, instante))
+                .dataSnapshot(snapshot.map(SnapshotEstoque::getDataSnapshot).orElse(null))
+                .saldoSnapshot(snapshot.map(SnapshotEstoque::getSaldo).orElse(null))
+                .movimentosDesdeSnapshot(movimentoEstoqueRepository.contarByProdutoIdAndDataMovimentoBetween(produtoId, inicio, instante))
+                .build();
+    }
+
+    // Gera, para cada produto movimentado desde o último corte, o saldo de todos os movimentos anteriores ao novo corte
+    @Override
+    @Transactional
+    public int gerarSnapshots(Date corte) {
+        Date ultimoCorte = snapshotEstoqueRepository.findUltimaDataSnapshot();
+        if (ultimoCorte != null && !corte.after(ultimoCorte)) {
+            return 0;
+        }
+
+        List<SnapshotEstoque> snapshots = movimentoEstoqueRepository.agruparQuantidadeByPeriodo(
+                ultimoCorte != null ? ultimoCorte : new Date(0), corte);
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Double> anteriores = snapshotEstoqueRepository.findUltimosByProdutoIdIn(
+                        snapshots.stream().map(SnapshotEstoque::getProdutoId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(SnapshotEstoque::getProdutoId, SnapshotEstoque::getSaldo, (primeiro, segundo) -> primeiro));
+        for (SnapshotEstoque snapshot : snapshots) {
+            snapshot.setDataSnapshot(corte);
+            snapshot.setSaldo(snapshot.getSaldo() + anteriores.getOrDefault(snapshot.getProdutoId(), 0.0));
+        }
+        snapshotEstoqueRepository.saveAll(snapshots);
+        return snapshots.size();
+    }
+
+    // O corte fica alguns minutos no passado para não deixar de fora movimentos de transações ainda não confirmadas
+    @Override
+    @Transactional
+    public int gerarSnapshots() {
+        return gerarSnapshots(new Date(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(atrasoMinutos)));
+    }
+
+    @Scheduled(cron = "${estoque.snapshot.cron:0 0 * * * *}")
+    @Transactional
+    public void gerarSnapshotsAgendado() {
+        gerarSnapshots();
+    }
+
+    // Chamado logo após cada baixa, ainda com a linha do produto bloqueada: avisa apenas quando esta baixa cruzou o mínimo
+    private void verificarEstoqueMinimo(Long produtoId, double baixa) {
+        if (!alertaHabilitado) {
+            return;
+        }
+        produtoRepository.findAlertaEstoqueById(produtoId)
+                .filter(alerta -> alerta.getEstoque() + baixa > alerta.getEstoqueMinimo())
+                .ifPresent(alerta -> applicationEventPublisher.publishEvent(new EstoqueBaixoEvent(alerta)));
+    }
+
+    private void validarProduto(Long produtoId) throws InfoException {
+        if (!produtoRepository.existsById(produtoId)) {
+            throw new InfoException("Produto não encontrado", HttpStatus.NOT_FOUND);
+        }
+    }
+
+    private MovimentoEstoque novoMovimento(Long produtoId, TipoMovimentoEstoque tipo, Double quantidade, Long vendaId, String observacao) {
+        return MovimentoEstoque.builder()
+                .produtoId(produtoId)
+                .tipo(tipo)
+                .quantidade(quantidade)
+                .dataMovimento(new Date())
+                .vendaId(vendaId)
+                .observacao(observacao)
+                .build();
+    }
+
+    private MovimentoEstoqueDTO converterMovimento(MovimentoEstoque movimento) {
+        return MovimentoEstoqueDTO.builder()
+                .id(movimento.getId())
+                .produtoId(movimento.getProdutoId())
+                .tipo(movimento.getTipo())
+                .quantidade(movimento.getQuantidade())
+                .dataMovimento(movimento.getDataMovimento())
+                .vendaId(movimento.getVendaId())
+                .observacao(movimento.getObservacao())
+                .build();
+    }
+}
@@ -8,6 +8,8 @@ import java.util.List;
 public interface FabricanteService {
     List<Fabricante> buscarTodos();
 
+    Fabricante buscarPorId(Long id) throws InfoException;
+
     Fabricante inserir(Fabricante objeto) throws InfoException;
 
     Fabricante alterar(Long id, Fabricante objeto) throws InfoException;
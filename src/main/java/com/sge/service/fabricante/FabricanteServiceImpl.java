@@ -1,8 +1,11 @@
 package com.sge.service.fabricante;
 
 import com.sge.entity.Fabricante;
+import com.sge.enums.TipoReferencia;
 import com.sge.exceptions.InfoException;
 import com.sge.repository.FabricanteRepository;
+import com.sge.service.buscaReferencia.BuscaReferenciaService;
+import com.sge.service.catalogo.CatalogoCacheService;
 import com.sge.util.UtilFabricante;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -16,13 +19,31 @@ public class FabricanteServiceImpl implements FabricanteService {
     @Autowired
     private FabricanteRepository fabricanteRepository;
 
+    @Autowired
+    private BuscaReferenciaService buscaReferenciaService;
+
+    @Autowired
+    private CatalogoCacheService catalogoCacheService;
+
     public List<Fabricante> buscarTodos() {
         return fabricanteRepository.findAll();
     }
 
+    public Fabricante buscarPorId(Long id) throws InfoException {
+        Optional<Fabricante> fabricante = catalogoCacheService.buscarFabricante(id);
+
+        if (fabricante.isPresent()) {
+            return fabricante.get();
+        }
+
+        return null;
+    }
+
     public Fabricante inserir(Fabricante fabricante) throws InfoException {
         if (UtilFabricante.validarFabricante(fabricante)) {
-            return fabricanteRepository.save(fabricante);
+            Fabricante fabricanteSalvo = fabricanteRepository.save(fabricante);
+            buscaReferenciaService.indexar(TipoReferencia.FABRICANTE, fabricanteSalvo.getId(), fabricanteSalvo.getNome());
+            return fabricanteSalvo;
         } else {
             throw new InfoException("Ocorreu um erro ao cadastrar marca", HttpStatus.BAD_REQUEST);
         }
@@ -39,6 +60,8 @@ public class FabricanteServiceImpl implements FabricanteService {
 
             if (UtilFabricante.validarFabricante(fabricanteBuilder)) {
                 fabricanteRepository.save(fabricanteBuilder);
+                buscaReferenciaService.indexar(TipoReferencia.FABRICANTE, id, fabricanteBuilder.getNome());
+                catalogoCacheService.invalidarFabricante(id);
             }
             return fabricanteBuilder;
         } else {
@@ -51,6 +74,8 @@ public class FabricanteServiceImpl implements FabricanteService {
 
         if (marca.isPresent()) {
             fabricanteRepository.delete(marca.get());
+            buscaReferenciaService.remover(TipoReferencia.FABRICANTE, id);
+            catalogoCacheService.invalidarFabricante(id);
         } else {
             throw new InfoException("Categoria não encontrada", HttpStatus.NOT_FOUND);
         }
@@ -0,0 +1,57 @@
+package com.sge.service.feedVenda;
+
+import com.sge.dto.EventoVendaDTO;
+import com.sge.dto.VendaDTO;
+import com.sge.enums.TipoEventoVenda;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+class BufferEventosVenda {
+    private final EventoVendaDTO[] eventos;
+    private long ultimoId;
+
+    // Os ids partem do instante de criação, para que um Last-Event-ID anterior a um reinício caia fora do buffer
+    BufferEventosVenda(int capacidade, long idInicial) {
+        this.eventos = new EventoVendaDTO[capacidade];
+        this.ultimoId = idInicial;
+    }
+
+    synchronized EventoVendaDTO adicionar(TipoEventoVenda tipo, List<Long> vendaIds, VendaDTO venda) {
+        EventoVendaDTO evento = EventoVendaDTO.builder()
+                .id(++ultimoId)
+                .tipo(tipo.getValue())
+                .dataEvento(new Date())
+                .vendaIds(vendaIds)
+                .venda(venda)
+                .build();
+        eventos[posicao(ultimoId)] = evento;
+        return evento;
+    }
+
+    synchronized long getUltimoId() {
+        return ultimoId;
+    }
+
+    // Devolve null quando parte dos eventos posteriores a id já foi sobrescrita ou o id não pertence a este buffer
+    synchronized List<EventoVendaDTO> buscarApos(long id) {
+        if (id > ultimoId || id < ultimoId - eventos.length) {
+            return null;
+        }
+
+        List<EventoVendaDTO> resultado = new ArrayList<>((int) (ultimoId - id));
+        for (long atual = id + 1; atual <= ultimoId; atual++) {
+            EventoVendaDTO evento = eventos[posicao(atual)];
+            if (evento == null || evento.getId() != atual) {
+                return null;
+            }
+            resultado.add(evento);
+        }
+        return resultado;
+    }
+
+    private int posicao(long id) {
+        return (int) Math.floorMod(id, (long) eventos.length);
+    }
+}
@@ -0,0 +1,8 @@
+package com.sge.service.feedVenda;
+
+import com.sge.exceptions.InfoException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface FeedVendaService {
+    SseEmitter assinar(String ultimoEventoId) throws InfoException;
+}
@@ -0,0 +1,269 @@
+package com.sge.service.feedVenda;
+
+import com.sge.dto.EventoVendaDTO;
+import com.sge.enums.TipoEventoVenda;
+import com.sge.exceptions.InfoException;
+import com.sge.service.venda.VendaExcluidaEvent;
+import com.sge.service.venda.VendaRegistradaEvent;
+import com.sge.util.UtilVenda;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+public class FeedVendaServiceImpl implements FeedVendaService {
+    private static final String EVENTO_REINICIAR = "reiniciar";
+
+    @Value("${venda.feed.capacidade:10000}")
+    private int capacidade;
+
+    @Value("${venda.feed.maximo-assinantes:5000}")
+    private int maximoAssinantes;
+
+    @Value("${venda.feed.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${venda.feed.intervalo-heartbeat-ms:15000}")
+    private long intervaloHeartbeatMs;
+
+    @Value("${venda.feed.threads:4}")
+    private int threads;
+
+    @Value("${venda.feed.atraso-maximo:1000}")
+    private long atrasoMaximo;
+
+    @Value("${venda.feed.tempo-maximo-envio-ms:10000}")
+    private long tempoMaximoEnvioMs;
+
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean despachoPendente = new AtomicBoolean();
+
+    private BufferEventosVenda buffer;
+
+    // Poucos threads escrevem nos emitters: as conexões não prendem threads do servlet enquanto aguardam eventos, e um
+    // assinante lento ocupa no máximo um deles, já que cada assinante tem no máximo um envio em andamento
+    private ExecutorService despachante;
+
+    // Heartbeat e vigia em thread próprio, que nunca escreve nos emitters: segue rodando com todos os threads de envio
+    // presos em assinantes que pararam de ler
+    private ScheduledExecutorService vigia;
+
+    @PostConstruct
+    public void iniciar() {
+        buffer = new BufferEventosVenda(capacidade, System.currentTimeMillis() * 1000);
+        despachante = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("venda-feed-"));
+        vigia = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("venda-feed-vigia-"));
+        vigia.scheduleWithFixedDelay(this::enviarHeartbeat, intervaloHeartbeatMs, intervaloHeartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        vigia.shutdownNow();
+        despachante.shutdownNow();
+        for (Assinante assinante : assinantes) {
+            desconectar(assinante);
+        }
+    }
+
+    @Override
+    public SseEmitter assinar(String ultimoEventoId) throws InfoException {
+        if (assinantes.size() >= maximoAssinantes) {
+            throw new InfoException("Limite de assinantes do feed de vendas atingido, tente novamente mais tarde", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Assinante assinante = new Assinante(emitter, converterId(ultimoEventoId), buffer.getUltimoId());
+        emitter.onCompletion(() -> remover(assinante));
+        emitter.onTimeout(() -> remover(assinante));
+        emitter.onError(erro -> remover(assinante));
+
+        assinantes.add(assinante);
+        if (!agendar(assinante)) {
+            remover(assinante);
+            throw new InfoException("Feed de vendas indisponível", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void registrarVenda(VendaRegistradaEvent event) {
+        buffer.adicionar(TipoEventoVenda.VENDA_REGISTRADA, Collections.singletonList(event.getVenda().getId()),
+                UtilVenda.converteVenda(event.getVenda()));
+        despachar();
+    }
+
+    @TransactionalEventListener
+    public void excluirVendas(VendaExcluidaEvent event) {
+        buffer.adicionar(TipoEventoVenda.VENDA_EXCLUIDA, event.getVendaIds(), null);
+        despachar();
+    }
+
+    private long converterId(String ultimoEventoId) {
+        if (ultimoEventoId != null) {
+            try {
+                return Long.parseLong(ultimoEventoId.trim());
+            } catch (NumberFormatException e) {
+                // Id desconhecido: o assinante recebe "reiniciar" e passa a acompanhar a partir do evento atual
+                return -1;
+            }
+        }
+        return buffer.getUltimoId();
+    }
+
+    // Rajadas de eventos agendam uma única passada pelos assinantes; cada um recebe tudo o que ainda não recebeu.
+    // O buffer guarda os eventos uma vez só e cada assinante guarda apenas até onde já recebeu; quem acumula mais de
+    // atrasoMaximo eventos publicados depois da sua conexão é desconectado e pode retomar pelo Last-Event-ID
+    private void despachar() {
+        if (despachoPendente.compareAndSet(false, true)) {
+            try {
+                despachante.execute(() -> {
+                    despachoPendente.set(false);
+                    long ultimoId = buffer.getUltimoId();
+                    for (Assinante assinante : assinantes) {
+                        if (ultimoId - Math.max(assinante.ultimoId, assinante.idConexao) > atrasoMaximo) {
+                            desconectar(assinante);
+                        } else {
+                            agendar(assinante);
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                despachoPendente.set(false);
+            }
+        }
+    }
+
+    // No máximo um envio por assinante em andamento, o que mantém a ordem dos eventos de cada um
+    private boolean agendar(Assinante assinante) {
+        if (assinante.encerrado || !assinante.agendado.compareAndSet(false, true)) {
+            return true;
+        }
+        try {
+            despachante.execute(() -> enviar(assinante));
+            return true;
+        } catch (RejectedExecutionException e) {
+            assinante.agendado.set(false);
+            return false;
+        }
+    }
+
+    private void enviar(Assinante assinante) {
+        assinante.inicioEnvio = System.currentTimeMillis();
+        try {
+            if (!assinante.encerrado) {
+                enviarPendentes(assinante);
+            }
+        } finally {
+            assinante.inicioEnvio = 0;
+            assinante.agendado.set(false);
+        }
+        // Desconectado durante o envio: o emitter só pode ser fechado agora que nenhuma escrita está em andamento
+        if (assinante.encerrado) {
+            fechar(assinante);
+            return;
+        }
+        // Eventos publicados durante o envio não conseguiram agendar um novo envio
+        if (assinante.ultimoId < buffer.getUltimoId() || assinante.heartbeatPendente) {
+            agendar(assinante);
+        }
+    }
+
+    private void enviarPendentes(Assinante assinante) {
+        List<EventoVendaDTO> eventos = buffer.buscarApos(assinante.ultimoId);
+        try {
+            if (eventos == null) {
+                long ultimoId = buffer.getUltimoId();
+                assinante.emitter.send(SseEmitter.event().id(String.valueOf(ultimoId)).name(EVENTO_REINICIAR).data(ultimoId));
+                assinante.ultimoId = ultimoId;
+                return;
+            }
+            for (EventoVendaDTO evento : eventos) {
+                assinante.emitter.send(SseEmitter.event().id(String.valueOf(evento.getId())).name(evento.getTipo())
+                        .data(evento, MediaType.APPLICATION_JSON));
+                assinante.ultimoId = evento.getId();
+            }
+            if (assinante.heartbeatPendente && eventos.isEmpty()) {
+                assinante.emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+            assinante.heartbeatPendente = false;
+        } catch (IOException | IllegalStateException e) {
+            remover(assinante);
+        }
+    }
+
+    // O heartbeat passa pelo envio de cada assinante, para não escrever no emitter ao mesmo tempo que ele; assinantes
+    // presos em um envio há mais de tempoMaximoEnvioMs são desconectados
+    private void enviarHeartbeat() {
+        long agora = System.currentTimeMillis();
+        for (Assinante assinante : assinantes) {
+            long inicioEnvio = assinante.inicioEnvio;
+            if (inicioEnvio > 0 && agora - inicioEnvio > tempoMaximoEnvioMs) {
+                desconectar(assinante);
+            } else {
+                assinante.heartbeatPendente = true;
+                agendar(assinante);
+            }
+        }
+    }
+
+    // complete() espera no mesmo monitor do send em andamento; com um envio em curso ou agendado o assinante só é
+    // marcado como encerrado e o próprio envio fecha o emitter ao terminar, quando a escrita falhar ou estourar o
+    // timeout de escrita da conexão
+    private void desconectar(Assinante assinante) {
+        remover(assinante);
+        if (assinante.agendado.compareAndSet(false, true)) {
+            fechar(assinante);
+        }
+    }
+
+    private void fechar(Assinante assinante) {
+        if (assinante.fechado.compareAndSet(false, true)) {
+            try {
+                assinante.emitter.complete();
+            } catch (IllegalStateException e) {
+                // Conexão já encerrada
+            }
+        }
+    }
+
+    private void remover(Assinante assinante) {
+        assinante.encerrado = true;
+        assinantes.remove(assinante);
+    }
+
+    private static class Assinante {
+        private final SseEmitter emitter;
+        private final long idConexao;
+        private final AtomicBoolean agendado = new AtomicBoolean();
+        private final AtomicBoolean fechado = new AtomicBoolean();
+        private volatile long ultimoId;
+        private volatile long inicioEnvio;
+        private volatile boolean heartbeatPendente;
+        private volatile boolean encerrado;
+
+        private Assinante(SseEmitter emitter, long ultimoId, long idConexao) {
+            this.emitter = emitter;
+            this.ultimoId = ultimoId;
+            this.idConexao = idConexao;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.sge.service.histograma;
+
+import com.sge.dto.RetornoHistogramaDTO;
+import com.sge.enums.GranularidadeHistograma;
+import com.sge.exceptions.InfoException;
+
+import java.util.Date;
+
+public interface HistogramaVendaService {
+    RetornoHistogramaDTO gerarHistograma(Date dataInicio, Date dataFim, GranularidadeHistograma granularidade) throws InfoException;
+}
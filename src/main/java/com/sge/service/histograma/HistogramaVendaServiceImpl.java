@@ -0,0 +1,103 @@
+package com.sge.service.histograma;
+
+import com.sge.dto.IntervaloHistogramaDTO;
+import com.sge.dto.LinhaHistogramaDTO;
+import com.sge.dto.RetornoHistogramaDTO;
+import com.sge.enums.GranularidadeHistograma;
+import com.sge.exceptions.InfoException;
+import com.sge.repository.ItensVendaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+public class HistogramaVendaServiceImpl implements HistogramaVendaService {
+    @Autowired
+    private ItensVendaRepository itensVendaRepository;
+
+    @Value("${relatorio.histograma.maximo-intervalos:10000}")
+    private int maximoIntervalos;
+
+    @Override
+    @Transactional(readOnly = true)
+    public RetornoHistogramaDTO gerarHistograma(Date dataInicio, Date dataFim, GranularidadeHistograma granularidade) throws InfoException {
+        if (granularidade == null) {
+            throw new InfoException("MESSAGE.GRANULARIDADE_REQUIRED", HttpStatus.BAD_REQUEST);
+        }
+
+        LocalDate primeiroDia = converter(dataInicio).toLocalDate();
+        LocalDate ultimoDia = converter(dataFim).toLocalDate();
+        if (ultimoDia.isBefore(primeiroDia)) {
+            throw new InfoException("A data final deve ser igual ou posterior à data inicial", HttpStatus.BAD_REQUEST);
+        }
+
+        ChronoUnit unidade = granularidade.getUnidade();
+        LocalDateTime primeiro = granularidade.truncar(primeiroDia.atStartOfDay());
+        LocalDateTime ultimo = granularidade.truncar(ultimoDia.plusDays(1).atStartOfDay().minusNanos(1));
+        long tamanho = unidade.between(primeiro, ultimo) + 1;
+        if (tamanho > maximoIntervalos) {
+            throw new InfoException("O período gera " + tamanho + " intervalos, acima do limite de " + maximoIntervalos
+                    + "; utilize uma granularidade maior", HttpStatus.BAD_REQUEST);
+        }
+
+        long[] vendas = new long[(int) tamanho];
+        long[] itens = new long[(int) tamanho];
+        double[] quantidades = new double[(int) tamanho];
+        double[] valores = new double[(int) tamanho];
+        Long ultimaVendaId = null;
+
+        Date inicio = Date.from(primeiroDia.atStartOfDay(ZoneId.systemDefault()).toInstant());
+        Date fimExclusivo = Date.from(ultimoDia.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        try (Stream<LinhaHistogramaDTO> linhas = itensVendaRepository.streamLinhasHistograma(inicio, fimExclusivo)) {
+            Iterator<LinhaHistogramaDTO> iterator = linhas.iterator();
+            while (iterator.hasNext()) {
+                LinhaHistogramaDTO linha = iterator.next();
+                int posicao = (int) unidade.between(primeiro, granularidade.truncar(converter(linha.getDataVenda())));
+
+                itens[posicao]++;
+                quantidades[posicao] += linha.getQuantidade();
+                valores[posicao] += linha.getQuantidade() * linha.getValorUnitario();
+                // As linhas chegam ordenadas por venda, então basta comparar com a anterior
+                if (!linha.getVendaId().equals(ultimaVendaId)) {
+                    ultimaVendaId = linha.getVendaId();
+                    vendas[posicao]++;
+                }
+            }
+        }
+
+        List<IntervaloHistogramaDTO> intervalos = new ArrayList<>();
+        for (int i = 0; i < tamanho; i++) {
+            if (itens[i] > 0) {
+                intervalos.add(IntervaloHistogramaDTO.builder()
+                        .inicio(primeiro.plus(i, unidade))
+                        .quantidadeVendas(vendas[i])
+                        .quantidadeItens(itens[i])
+                        .quantidade(quantidades[i])
+                        .valorTotal(valores[i])
+                        .build());
+            }
+        }
+
+        return RetornoHistogramaDTO.builder()
+                .mensagem(intervalos.size() + " intervalo(s) com venda(s)")
+                .granularidade(granularidade)
+                .intervalos(intervalos)
+                .build();
+    }
+
+    private LocalDateTime converter(Date data) {
+        return LocalDateTime.ofInstant(data.toInstant(), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,60 @@
+package com.sge.service.idempotencia;
+
+import com.sge.dto.VendaDTO;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class CacheIdempotencia {
+    private final int capacidade;
+    private final long ttlMillis;
+    private final LinkedHashMap<String, Entrada> entradas;
+
+    CacheIdempotencia(int capacidade, long ttlMillis) {
+        this.capacidade = capacidade;
+        this.ttlMillis = ttlMillis;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> eldest) {
+                return size() > CacheIdempotencia.this.capacidade;
+            }
+        };
+    }
+
+    synchronized VendaDTO buscar(String chave) {
+        Entrada entrada = entradas.get(chave);
+        if (entrada == null) {
+            return null;
+        }
+        if (entrada.expiracao < System.currentTimeMillis()) {
+            entradas.remove(chave);
+            return null;
+        }
+        return entrada.vendaDTO;
+    }
+
+    synchronized void guardar(String chave, VendaDTO vendaDTO) {
+        entradas.put(chave, new Entrada(vendaDTO, System.currentTimeMillis() + ttlMillis));
+    }
+
+    synchronized void removerVendas(Collection<Long> vendaIds) {
+        Iterator<Entrada> iterator = entradas.values().iterator();
+        while (iterator.hasNext()) {
+            if (vendaIds.contains(iterator.next().vendaDTO.getId())) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static class Entrada {
+        private final VendaDTO vendaDTO;
+        private final long expiracao;
+
+        private Entrada(VendaDTO vendaDTO, long expiracao) {
+            this.vendaDTO = vendaDTO;
+            this.expiracao = expiracao;
+        }
+    }
+}
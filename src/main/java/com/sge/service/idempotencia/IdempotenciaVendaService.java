@@ -0,0 +1,11 @@
+package com.sge.service.idempotencia;
+
+import com.sge.dto.VendaDTO;
+import com.sge.entity.Venda;
+import com.sge.exceptions.InfoException;
+
+public interface IdempotenciaVendaService {
+    VendaDTO inserir(Venda venda, String chaveIdempotencia) throws InfoException;
+
+    VendaDTO buscarPorChave(String chaveIdempotencia);
+}
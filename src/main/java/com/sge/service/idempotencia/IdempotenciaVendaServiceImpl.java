@@ -0,0 +1,100 @@
+package com.sge.service.idempotencia;
+
+import com.sge.dto.VendaDTO;
+import com.sge.entity.Venda;
+import com.sge.exceptions.InfoException;
+import com.sge.repository.ItensVendaRepository;
+import com.sge.repository.VendaRepository;
+import com.sge.service.venda.VendaExcluidaEvent;
+import com.sge.service.venda.VendaService;
+import com.sge.util.UtilVenda;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class IdempotenciaVendaServiceImpl implements IdempotenciaVendaService {
+    @Autowired
+    private VendaService vendaService;
+
+    @Autowired
+    private VendaRepository vendaRepository;
+
+    @Autowired
+    private ItensVendaRepository itensVendaRepository;
+
+    @Value("${venda.idempotencia.capacidade:10000}")
+    private int capacidade;
+
+    @Value("${venda.idempotencia.ttl-minutos:1440}")
+    private long ttlMinutos;
+
+    private CacheIdempotencia cache;
+
+    @PostConstruct
+    public void iniciar() {
+        cache = new CacheIdempotencia(capacidade, TimeUnit.MINUTES.toMillis(ttlMinutos));
+    }
+
+    @Override
+    public VendaDTO inserir(Venda venda, String chaveIdempotencia) throws InfoException {
+        if (chaveIdempotencia == null) {
+            chaveIdempotencia = venda.getChaveIdempotencia();
+        }
+        if (chaveIdempotencia == null) {
+            return vendaService.inserir(venda);
+        }
+        UtilVenda.validarChaveIdempotencia(chaveIdempotencia);
+
+        VendaDTO existente = buscarPorChave(chaveIdempotencia);
+        if (existente != null) {
+            return existente;
+        }
+
+        venda.setChaveIdempotencia(chaveIdempotencia);
+        try {
+            VendaDTO vendaDTO = vendaService.inserir(venda);
+            cache.guardar(chaveIdempotencia, vendaDTO);
+            return vendaDTO;
+        } catch (DataIntegrityViolationException e) {
+            // Outra requisição com a mesma chave gravou a venda primeiro
+            existente = buscarPorChave(chaveIdempotencia);
+            if (existente != null) {
+                return existente;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public VendaDTO buscarPorChave(String chaveIdempotencia) {
+        VendaDTO vendaDTO = cache.buscar(chaveIdempotencia);
+        if (vendaDTO != null) {
+            return vendaDTO;
+        }
+
+        Optional<Venda> venda = vendaRepository.findByChaveIdempotencia(chaveIdempotencia);
+        if (venda.isPresent()) {
+            venda.get().setItensVenda(itensVendaRepository.findItensVendasByVendaId(venda.get().getId()));
+            vendaDTO = UtilVenda.converteVenda(venda.get());
+            // Dentro de uma transação a venda encontrada pode ainda não estar confirmada
+            if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+                cache.guardar(chaveIdempotencia, vendaDTO);
+            }
+        }
+        return vendaDTO;
+    }
+
+    @TransactionalEventListener
+    public void excluirVendas(VendaExcluidaEvent event) {
+        cache.removerVendas(new HashSet<>(event.getVendaIds()));
+    }
+}
@@ -3,8 +3,12 @@ package com.sge.service.itensVenda;
 import com.sge.entity.ItensVenda;
 import com.sge.exceptions.InfoException;
 
+import java.util.Collection;
+
 public interface ItensVendaService {
     ItensVenda inserirItensVenda(ItensVenda itensVenda);
 
     void excluirItensVenda(Long id) throws InfoException;
+
+    int excluirItensVendas(Collection<Long> vendaIds);
 }
@@ -4,12 +4,15 @@ import com.sge.entity.ItensVenda;
 import com.sge.exceptions.InfoException;
 import com.sge.repository.ItensVendaRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.util.Collection;
+import java.util.Collections;
 
 @Service
+@DependsOn("inicializadorSequencias")
 public class ItensVendaServiceImpl implements ItensVendaService {
     @Autowired
     private ItensVendaRepository itensVendaRepository;
@@ -21,12 +24,13 @@ public class ItensVendaServiceImpl implements ItensVendaService {
 
     @Override
     public void excluirItensVenda(Long id) throws InfoException {
-        List<ItensVenda> itensVendas = itensVendaRepository.findItensVendasByVendaId(id);
-
-        if (itensVendas != null && itensVendas.size() > 0) {
-            itensVendaRepository.deleteAll(itensVendas);
-        } else {
+        if (excluirItensVendas(Collections.singletonList(id)) == 0) {
             throw new InfoException("Itens da Venda não encontrados", HttpStatus.NOT_FOUND);
         }
     }
+
+    @Override
+    public int excluirItensVendas(Collection<Long> vendaIds) {
+        return itensVendaRepository.excluirByVendaIdIn(vendaIds);
+    }
 }
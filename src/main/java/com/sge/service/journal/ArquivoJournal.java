@@ -0,0 +1,273 @@
+package com.sge.service.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+// Arquivo mapeado em memória com registros [tamanho][crc][geração][dados]. O cabeçalho guarda a geração
+// atual e o checkpoint (fim do último registro já gravado no banco). Quando o arquivo enche e tudo já foi
+// aplicado, a escrita recomeça do início com uma nova geração, e os registros antigos deixam de ser lidos.
+class ArquivoJournal implements Closeable {
+    private static final int MAGICO = 0x534A524E;
+    private static final int VERSAO = 1;
+    private static final int TAMANHO_CABECALHO = 32;
+    private static final int TAMANHO_CABECALHO_REGISTRO = 16;
+
+    private final FileChannel canal;
+    private final MappedByteBuffer buffer;
+    private final int capacidade;
+    private final long intervaloCommitMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition gravacaoPendente = lock.newCondition();
+    private final Condition gravacaoConcluida = lock.newCondition();
+    private final Condition checkpointAvancou = lock.newCondition();
+
+    private long geracao;
+    private int checkpoint;
+    private int posicao;
+    private int duravel;
+    private boolean fechado;
+    private Thread gravador;
+
+    ArquivoJournal(Path arquivo, int tamanho, long intervaloCommitMillis) throws IOException {
+        if (arquivo.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(arquivo.toAbsolutePath().getParent());
+        }
+        this.canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.capacidade = (int) Math.max(tamanho, canal.size());
+        this.buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, capacidade);
+        this.intervaloCommitMillis = intervaloCommitMillis;
+
+        if (buffer.getInt(0) != MAGICO) {
+            geracao = 1;
+            checkpoint = TAMANHO_CABECALHO;
+            escreverCabecalho();
+        } else {
+            geracao = buffer.getLong(8);
+            checkpoint = (int) buffer.getLong(16);
+        }
+
+        posicao = checkpoint;
+        for (Registro registro : lerPendentes()) {
+            posicao = registro.getFim();
+        }
+        // Apaga restos de uma escrita interrompida para que não pareçam válidos depois de sobrescritos
+        ByteBuffer restante = buffer.duplicate();
+        restante.position(posicao);
+        byte[] zeros = new byte[64 * 1024];
+        while (restante.hasRemaining()) {
+            restante.put(zeros, 0, Math.min(zeros.length, restante.remaining()));
+        }
+        buffer.force();
+        duravel = posicao;
+    }
+
+    void iniciar() {
+        gravador = new Thread(this::gravarPeriodicamente, "venda-journal-gravador");
+        gravador.setDaemon(true);
+        gravador.start();
+    }
+
+    List<Registro> lerPendentes() {
+        List<Registro> registros = new ArrayList<>();
+        int atual = checkpoint;
+        while (atual + TAMANHO_CABECALHO_REGISTRO <= capacidade) {
+            int tamanho = buffer.getInt(atual);
+            if (tamanho <= 0 || atual + TAMANHO_CABECALHO_REGISTRO + tamanho > capacidade
+                    || buffer.getLong(atual + 8) != geracao) {
+                break;
+            }
+
+            byte[] dados = new byte[tamanho];
+            ByteBuffer leitura = buffer.duplicate();
+            leitura.position(atual + TAMANHO_CABECALHO_REGISTRO);
+            leitura.get(dados);
+            if (buffer.getInt(atual + 4) != calcularCrc(geracao, dados)) {
+                break;
+            }
+
+            atual += TAMANHO_CABECALHO_REGISTRO + tamanho;
+            registros.add(new Registro(atual, dados));
+        }
+        return registros;
+    }
+
+    // Devolve o fim do registro, ou -1 se o arquivo continuar cheio depois de "esperaMillis"
+    int anexar(byte[] dados, long esperaMillis) throws InterruptedException {
+        int necessario = TAMANHO_CABECALHO_REGISTRO + dados.length;
+        if (TAMANHO_CABECALHO + necessario > capacidade) {
+            throw new IllegalArgumentException("Registro maior que o journal");
+        }
+
+        lock.lock();
+        try {
+            long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(esperaMillis);
+            while (posicao + necessario > capacidade) {
+                if (checkpoint == posicao && duravel == posicao) {
+                    reiniciar();
+                    break;
+                }
+                long restante = limite - System.nanoTime();
+                if (restante <= 0) {
+                    return -1;
+                }
+                checkpointAvancou.awaitNanos(restante);
+            }
+
+            buffer.putInt(posicao + 4, calcularCrc(geracao, dados));
+            buffer.putLong(posicao + 8, geracao);
+            ByteBuffer escrita = buffer.duplicate();
+            escrita.position(posicao + TAMANHO_CABECALHO_REGISTRO);
+            escrita.put(dados);
+            buffer.putInt(posicao, dados.length);
+
+            posicao += necessario;
+            gravacaoPendente.signal();
+            return posicao;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void aguardarDurabilidade(int fim) throws InterruptedException {
+        lock.lock();
+        try {
+            while (duravel < fim && !fechado) {
+                gravacaoPendente.signal();
+                gravacaoConcluida.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void avancarCheckpoint(int fim) {
+        lock.lock();
+        try {
+            checkpoint = fim;
+            buffer.putLong(16, checkpoint);
+            buffer.force();
+            checkpointAvancou.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Commit em grupo: uma única chamada a force() torna duráveis todos os registros anexados até o momento
+    private void gravarPeriodicamente() {
+        while (true) {
+            int alvo;
+            lock.lock();
+            try {
+                while (duravel == posicao && !fechado) {
+                    gravacaoPendente.await();
+                }
+                if (fechado) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                Thread.sleep(intervaloCommitMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            lock.lock();
+            try {
+                alvo = posicao;
+            } finally {
+                lock.unlock();
+            }
+            buffer.force();
+
+            lock.lock();
+            try {
+                duravel = Math.max(duravel, alvo);
+                gravacaoConcluida.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void reiniciar() {
+        geracao++;
+        checkpoint = TAMANHO_CABECALHO;
+        posicao = TAMANHO_CABECALHO;
+        duravel = TAMANHO_CABECALHO;
+        escreverCabecalho();
+    }
+
+    private void escreverCabecalho() {
+        buffer.putInt(0, MAGICO);
+        buffer.putInt(4, VERSAO);
+        buffer.putLong(8, geracao);
+        buffer.putLong(16, checkpoint);
+        buffer.force();
+    }
+
+    private static int calcularCrc(long geracao, byte[] dados) {
+        CRC32 crc = new CRC32();
+        for (int i = 0; i < 8; i++) {
+            crc.update((int) (geracao >>> (8 * i)));
+        }
+        crc.update(dados);
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            fechado = true;
+            gravacaoPendente.signalAll();
+            gravacaoConcluida.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (gravador != null) {
+            try {
+                gravador.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        buffer.force();
+        canal.close();
+    }
+
+    static class Registro {
+        private final int fim;
+        private final byte[] dados;
+
+        Registro(int fim, byte[] dados) {
+            this.fim = fim;
+            this.dados = dados;
+        }
+
+        int getFim() {
+            return fim;
+        }
+
+        byte[] getDados() {
+            return dados;
+        }
+    }
+}
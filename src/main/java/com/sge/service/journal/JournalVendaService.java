@@ -0,0 +1,13 @@
+package com.sge.service.journal;
+
+import com.sge.dto.VendaDTO;
+import com.sge.entity.Venda;
+import com.sge.exceptions.InfoException;
+
+public interface JournalVendaService {
+    boolean isHabilitado();
+
+    VendaDTO registrar(Venda venda, String chaveIdempotencia) throws InfoException;
+
+    long getPendentes();
+}
@@ -0,0 +1,411 @@
+package com.sge.service.journal;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.sge.dto.VendaDTO;
+import com.sge.entity.ItensVenda;
+import com.sge.entity.Produto;
+import com.sge.entity.Venda;
+import com.sge.exceptions.InfoException;
+import com.sge.repository.ClienteRepository;
+import com.sge.repository.ProdutoRepository;
+import com.sge.repository.UsuarioRepository;
+import com.sge.service.idempotencia.IdempotenciaVendaService;
+import com.sge.service.venda.VendaService;
+import com.sge.util.UtilVenda;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class JournalVendaServiceImpl implements JournalVendaService {
+    @Autowired
+    private VendaService vendaService;
+
+    @Autowired
+    private IdempotenciaVendaService idempotenciaVendaService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${venda.journal.habilitado:false}")
+    private boolean habilitado;
+
+    @Value("${venda.journal.arquivo:data/venda.journal}")
+    private String arquivo;
+
+    @Value("${venda.journal.arquivo-descartes:data/venda.journal.descartes}")
+    private String arquivoDescartes;
+
+    @Value("${venda.journal.espera-nova-tentativa-ms:1000}")
+    private long esperaNovaTentativaMillis;
+
+    @Value("${venda.journal.tamanho-bytes:67108864}")
+    private int tamanhoBytes;
+
+    @Value("${venda.journal.intervalo-commit-ms:2}")
+    private long intervaloCommitMillis;
+
+    @Value("${venda.journal.tamanho-lote:200}")
+    private int tamanhoLote;
+
+    @Value("${venda.journal.espera-cheio-ms:5000}")
+    private long esperaCheioMillis;
+
+    private ArquivoJournal journal;
+    private final LinkedBlockingQueue<ArquivoJournal.Registro> fila = new LinkedBlockingQueue<>();
+    // Quantidade de cada produto em vendas já confirmadas ao cliente e ainda não gravadas no banco
+    private final Map<Long, Double> reservasPendentes = new HashMap<>();
+    private volatile boolean executando;
+    private Thread aplicador;
+
+    @PostConstruct
+    public void iniciar() throws IOException {
+        if (!habilitado) {
+            return;
+        }
+
+        journal = new ArquivoJournal(Paths.get(arquivo), tamanhoBytes, intervaloCommitMillis);
+        // Registros confirmados ao cliente mas ainda não gravados no banco são reaplicados;
+        // a chave de idempotência evita duplicar os que já tinham sido gravados
+        for (ArquivoJournal.Registro registro : journal.lerPendentes()) {
+            fila.add(registro);
+            try {
+                reservar(converter(registro));
+            } catch (IOException e) {
+                // Registro ilegível não reserva estoque; ao ser aplicado ele vai para o arquivo de descartes
+            }
+        }
+        journal.iniciar();
+
+        executando = true;
+        aplicador = new Thread(this::aplicarPeriodicamente, "venda-journal-aplicador");
+        aplicador.start();
+    }
+
+    @PreDestroy
+    public void encerrar() throws IOException, InterruptedException {
+        if (!habilitado) {
+            return;
+        }
+
+        executando = false;
+        aplicador.join();
+        journal.close();
+    }
+
+    @Override
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    @Override
+    public long getPendentes() {
+        return fila.size();
+    }
+
+    @Override
+    public VendaDTO registrar(Venda venda, String chaveIdempotencia) throws InfoException {
+        UtilVenda.validarVenda(venda);
+        if (chaveIdempotencia == null) {
+            chaveIdempotencia = venda.getChaveIdempotencia();
+        }
+        if (chaveIdempotencia != null) {
+            UtilVenda.validarChaveIdempotencia(chaveIdempotencia);
+            VendaDTO existente = idempotenciaVendaService.buscarPorChave(chaveIdempotencia);
+            if (existente != null) {
+                return existente;
+            }
+        } else {
+            chaveIdempotencia = UUID.randomUUID().toString();
+        }
+        venda.setChaveIdempotencia(chaveIdempotencia);
+        validarReferencias(venda);
+        Map<Long, Produto> produtos = buscarProdutos(venda.getItensVenda());
+        reservarEstoque(venda, produtos);
+
+        try {
+            byte[] dados = objectMapper.writeValueAsBytes(venda);
+
+            int fim;
+            // A fila precisa receber os registros na mesma ordem do arquivo para o checkpoint avançar corretamente
+            synchronized (fila) {
+                fim = journal.anexar(dados, esperaCheioMillis);
+                if (fim > 0) {
+                    fila.add(new ArquivoJournal.Registro(fim, dados));
+                }
+            }
+            if (fim < 0) {
+                liberar(venda);
+                throw new InfoException("Journal de vendas cheio, tente novamente", HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            journal.aguardarDurabilidade(fim);
+        } catch (IllegalArgumentException e) {
+            liberar(venda);
+            throw new InfoException("Venda maior que o journal de vendas", HttpStatus.PAYLOAD_TOO_LARGE);
+        } catch (IOException e) {
+            liberar(venda);
+            throw new InfoException("Ocorreu um erro ao cadastrar venda", HttpStatus.BAD_REQUEST);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InfoException("Ocorreu um erro ao cadastrar venda", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        for (ItensVenda item : venda.getItensVenda()) {
+            item.setProduto(produtos.get(item.getProduto().getId()));
+        }
+        return UtilVenda.converteVenda(venda);
+    }
+
+    // A venda é confirmada antes de chegar ao banco, então tudo o que faria o VendaService recusá-la é verificado aqui
+    private void validarReferencias(Venda venda) throws InfoException {
+        if (venda.getUsuario().getId() == null || !usuarioRepository.existsById(venda.getUsuario().getId())) {
+            throw new InfoException("Usuário não encontrado", HttpStatus.NOT_FOUND);
+        }
+        if (venda.getCliente().getId() == null || !clienteRepository.existsById(venda.getCliente().getId())) {
+            throw new InfoException("Cliente não encontrado", HttpStatus.NOT_FOUND);
+        }
+    }
+
+    private Map<Long, Produto> buscarProdutos(List<ItensVenda> itensVenda) throws InfoException {
+        Set<Long> produtoIds = new HashSet<>();
+        for (ItensVenda item : itensVenda) {
+            if (item.getProduto() == null || item.getProduto().getId() == null) {
+                throw new InfoException("MESSAGE.PRODUTO_REQUIRED", HttpStatus.BAD_REQUEST);
+            }
+            produtoIds.add(item.getProduto().getId());
+        }
+
+        Map<Long, Produto> produtos = produtoRepository.findAllById(produtoIds).stream()
+                .collect(Collectors.toMap(Produto::getId, Function.identity()));
+        for (Long produtoId : produtoIds) {
+            if (!produtos.containsKey(produtoId)) {
+                throw new InfoException("Produto " + produtoId + " não encontrado", HttpStatus.NOT_FOUND);
+            }
+        }
+        return produtos;
+    }
+
+    // O saldo disponível é o do banco menos o das vendas confirmadas que o aplicador ainda não gravou. A leitura do
+    // saldo fica dentro do lock: o aplicador só libera a reserva depois de gravar a venda, então o saldo lido nunca
+    // deixa de incluir uma venda cuja reserva já foi liberada. Vendas feitas fora do journal ao mesmo tempo ainda
+    // podem consumir o estoque; nesse caso a venda vai para o arquivo de descartes ao ser aplicada
+    private void reservarEstoque(Venda venda, Map<Long, Produto> produtos) throws InfoException {
+        Map<Long, Double> quantidades = quantidades(venda);
+        for (ItensVenda item : venda.getItensVenda()) {
+            if (produtos.get(item.getProduto().getId()).getEstoque() != null
+                    && (item.getQuantidade() == null || item.getQuantidade() <= 0)) {
+                throw new InfoException("MESSAGE.QUANTIDADE_REQUIRED", HttpStatus.BAD_REQUEST);
+            }
+        }
+
+        synchronized (reservasPendentes) {
+            for (Map.Entry<Long, Double> quantidade : quantidades.entrySet()) {
+                Double estoque = produtoRepository.findEstoqueById(quantidade.getKey());
+                if (estoque != null
+                        && estoque - reservasPendentes.getOrDefault(quantidade.getKey(), 0.0) < quantidade.getValue()) {
+                    throw new InfoException("Estoque insuficiente para o produto " + produtos.get(quantidade.getKey()).getNome(),
+                            HttpStatus.CONFLICT);
+                }
+            }
+            reservar(venda);
+        }
+    }
+
+    private void reservar(Venda venda) {
+        synchronized (reservasPendentes) {
+            quantidades(venda).forEach((produtoId, quantidade) -> reservasPendentes.merge(produtoId, quantidade, Double::sum));
+        }
+    }
+
+    private void liberar(Venda venda) {
+        synchronized (reservasPendentes) {
+            quantidades(venda).forEach((produtoId, quantidade) -> {
+                double restante = reservasPendentes.getOrDefault(produtoId, 0.0) - quantidade;
+                if (restante > 0) {
+                    reservasPendentes.put(produtoId, restante);
+                } else {
+                    reservasPendentes.remove(produtoId);
+                }
+            });
+        }
+    }
+
+    private void liberar(ArquivoJournal.Registro registro) {
+        try {
+            liberar(converter(registro));
+        } catch (IOException e) {
+            // Registros ilegíveis não reservaram estoque
+        }
+    }
+
+    private Map<Long, Double> quantidades(Venda venda) {
+        Map<Long, Double> quantidades = new HashMap<>();
+        for (ItensVenda item : venda.getItensVenda()) {
+            if (item.getQuantidade() != null && item.getQuantidade() > 0) {
+                quantidades.merge(item.getProduto().getId(), item.getQuantidade(), Double::sum);
+            }
+        }
+        return quantidades;
+    }
+
+    private void aplicarPeriodicamente() {
+        List<ArquivoJournal.Registro> lote = new ArrayList<>(tamanhoLote);
+        while (executando || !fila.isEmpty()) {
+            try {
+                ArquivoJournal.Registro primeiro = fila.poll(100, TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+                lote.add(primeiro);
+                fila.drainTo(lote, tamanhoLote - 1);
+
+                int fim = lote.get(lote.size() - 1).getFim();
+                journal.aguardarDurabilidade(fim);
+                // O checkpoint só avança quando cada registro foi gravado no banco ou no arquivo de descartes;
+                // a nova tentativa não duplica as vendas já gravadas por causa da chave de idempotência
+                boolean aplicado = aplicarLote(lote);
+                while (!aplicado && executando) {
+                    Thread.sleep(esperaNovaTentativaMillis);
+                    aplicado = aplicarLote(lote);
+                }
+                if (!aplicado) {
+                    // Encerrando: os registros continuam depois do checkpoint e são relidos na próxima inicialização
+                    return;
+                }
+                journal.avancarCheckpoint(fim);
+                for (ArquivoJournal.Registro registro : lote) {
+                    liberar(registro);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    boolean aplicarLote(List<ArquivoJournal.Registro> lote) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try {
+                    for (ArquivoJournal.Registro registro : lote) {
+                        Venda venda = converter(registro);
+                        if (idempotenciaVendaService.buscarPorChave(venda.getChaveIdempotencia()) == null) {
+                            vendaService.inserir(venda);
+                        }
+                    }
+                } catch (InfoException | IOException e) {
+                    status.setRollbackOnly();
+                    throw new IllegalStateException(e);
+                }
+            });
+            return true;
+        } catch (RuntimeException e) {
+            // Um registro com problema não pode impedir a gravação dos demais do lote
+            for (ArquivoJournal.Registro registro : lote) {
+                if (!aplicarIndividualmente(registro)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private boolean aplicarIndividualmente(ArquivoJournal.Registro registro) {
+        try {
+            Venda venda = converter(registro);
+            idempotenciaVendaService.inserir(venda, venda.getChaveIdempotencia());
+            return true;
+        } catch (InfoException | IOException | RuntimeException e) {
+            log.error("Venda do journal enviada para o arquivo de descartes após falha ao gravar no banco: {}",
+                    new String(registro.getDados(), StandardCharsets.UTF_8), e);
+            return descartar(registro, e);
+        }
+    }
+
+    // Cada venda recusada vira uma linha JSON com o erro e o registro original, para conferência e reenvio manual
+    private boolean descartar(ArquivoJournal.Registro registro, Exception erro) {
+        Map<String, Object> linha = new LinkedHashMap<>();
+        linha.put("data", new Date());
+        linha.put("erro", erro.getMessage());
+        linha.put("venda", lerDados(registro));
+
+        Path descartes = Paths.get(arquivoDescartes);
+        try {
+            if (descartes.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(descartes.toAbsolutePath().getParent());
+            }
+            byte[] dados = objectMapper.writeValueAsBytes(linha);
+            try (FileChannel canal = FileChannel.open(descartes, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.allocate(dados.length + 1).put(dados).put((byte) '\n');
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    canal.write(buffer);
+                }
+                canal.force(true);
+            }
+            return true;
+        } catch (IOException e) {
+            log.error("Falha ao gravar no arquivo de descartes, o registro será aplicado novamente", e);
+            return false;
+        }
+    }
+
+    private JsonNode lerDados(ArquivoJournal.Registro registro) {
+        try {
+            return objectMapper.readTree(registro.getDados());
+        } catch (IOException e) {
+            return TextNode.valueOf(new String(registro.getDados(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private Venda converter(ArquivoJournal.Registro registro) throws IOException {
+        return objectMapper.readValue(registro.getDados(), Venda.class);
+    }
+}
@@ -3,9 +3,11 @@ package com.sge.service.permissao;
 import com.sge.entity.Permissao;
 import com.sge.entity.PermissaoUsuario;
 import com.sge.entity.Usuario;
+import com.sge.enums.TipoReferencia;
 import com.sge.exceptions.InfoException;
 import com.sge.repository.PermissaoRepository;
 import com.sge.repository.PermissaoUsuarioRepository;
+import com.sge.service.buscaReferencia.BuscaReferenciaService;
 import com.sge.util.Util;
 import com.sge.util.UtilPermissao;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +22,9 @@ public class PermissaoServiceImpl implements PermissaoService {
     @Autowired
     private PermissaoRepository permissaoRepository;
 
+    @Autowired
+    private BuscaReferenciaService buscaReferenciaService;
+
     @Autowired
     private PermissaoUsuarioRepository permissaoUsuarioRepository;
 
@@ -33,7 +38,9 @@ public class PermissaoServiceImpl implements PermissaoService {
         if (UtilPermissao.validarPermissao(permissao)) {
             permissao.setNome(Util.removerAcentos(permissao.getNome().toUpperCase()));
 
-            return permissaoRepository.save(permissao);
+            Permissao permissaoSalva = permissaoRepository.save(permissao);
+            buscaReferenciaService.indexar(TipoReferencia.PERMISSAO, permissaoSalva.getId(), permissaoSalva.getNome());
+            return permissaoSalva;
         } else {
             throw new InfoException("Ocorreu um erro ao cadastrar permissão", HttpStatus.BAD_REQUEST);
         }
@@ -52,6 +59,7 @@ public class PermissaoServiceImpl implements PermissaoService {
             if (UtilPermissao.validarPermissao(permissaoBuilder)) {
                 permissaoBuilder.setNome(Util.removerAcentos(permissao.getNome().toUpperCase()));
                 permissaoRepository.save(permissaoBuilder);
+                buscaReferenciaService.indexar(TipoReferencia.PERMISSAO, id, permissaoBuilder.getNome());
             }
             return permissaoBuilder;
         } else {
@@ -65,6 +73,7 @@ public class PermissaoServiceImpl implements PermissaoService {
 
         if (permissao.isPresent()) {
             permissaoRepository.delete(permissao.get());
+            buscaReferenciaService.remover(TipoReferencia.PERMISSAO, id);
         } else {
             throw new InfoException("Permissão não encontrada", HttpStatus.NOT_FOUND);
         }
@@ -0,0 +1,10 @@
+package com.sge.service.produto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProdutoExcluidoEvent {
+    private final Long produtoId;
+}
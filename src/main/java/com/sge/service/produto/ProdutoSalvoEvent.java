@@ -0,0 +1,11 @@
+package com.sge.service.produto;
+
+import com.sge.entity.Produto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProdutoSalvoEvent {
+    private final Produto produto;
+}
@@ -1,5 +1,6 @@
 package com.sge.service.produto;
 
+import com.sge.dto.ProdutoDTO;
 import com.sge.exceptions.InfoException;
 import com.sge.entity.Produto;
 
@@ -8,6 +9,8 @@ import java.util.List;
 public interface ProdutoService {
     List<Produto> buscarTodos();
 
+    List<ProdutoDTO> listar();
+
     Produto buscarPorId(Long id) throws InfoException;
 
     Produto inserir(Produto objeto) throws InfoException;
@@ -1,12 +1,17 @@
 package com.sge.service.produto;
 
+import com.sge.dto.ProdutoDTO;
 import com.sge.exceptions.InfoException;
 import com.sge.entity.Produto;
 import com.sge.repository.ProdutoRepository;
+import com.sge.service.catalogo.CatalogoCacheService;
+import com.sge.service.estoque.EstoqueService;
 import com.sge.util.UtilProduto;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,15 +21,31 @@ public class ProdutoServiceImpl implements ProdutoService {
     @Autowired
     private ProdutoRepository produtoRepository;
 
+    @Autowired
+    private EstoqueService estoqueService;
+
+    @Autowired
+    private CatalogoCacheService catalogoCacheService;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
     public List<Produto> buscarTodos() {
         return produtoRepository.findAll();
     }
 
+    // Projeção direta em DTO: uma única consulta, sem selects extras para fabricante e categoria e sem entidades no contexto
+    public List<ProdutoDTO> listar() {
+        return produtoRepository.findAllProdutoDTO();
+    }
+
+    // O cadastro vem do cache, mas o estoque muda a cada venda sem invalidá-lo; o saldo é lido do banco em uma cópia,
+    // já que a entidade em cache é compartilhada
     public Produto buscarPorId(Long id) throws InfoException {
-        Optional<Produto> produto = produtoRepository.findById(id);
+        Optional<Produto> produto = catalogoCacheService.buscarProduto(id);
 
         if (produto.isPresent()) {
-            return produto.get();
+            return copiarComEstoque(produto.get(), produtoRepository.findEstoqueById(id));
         }
 
         return null;
@@ -32,12 +53,17 @@ public class ProdutoServiceImpl implements ProdutoService {
 
     public Produto inserir(Produto produto) throws InfoException {
         if (UtilProduto.validarProduto(produto)) {
-            return produtoRepository.save(produto);
+            resolverReferencias(produto);
+            Produto produtoSalvo = produtoRepository.save(produto);
+            estoqueService.registrarEstoqueInicial(produtoSalvo.getId(), produtoSalvo.getEstoque());
+            applicationEventPublisher.publishEvent(new ProdutoSalvoEvent(produtoSalvo));
+            return produtoSalvo;
         } else {
             throw new InfoException("Ocorreu um erro ao cadastrar produto", HttpStatus.BAD_REQUEST);
         }
     }
 
+    @Transactional(rollbackFor = InfoException.class)
     public Produto alterar(Long id, Produto produto) throws InfoException {
         Optional<Produto> optionalProduto = produtoRepository.findById(id);
 
@@ -48,12 +74,20 @@ public class ProdutoServiceImpl implements ProdutoService {
                     .descricao(produto.getDescricao() != null ? produto.getDescricao() : null)
                     .valorCusto(produto.getValorCusto() != null ? produto.getValorCusto() : null)
                     .valorVenda(produto.getValorVenda() != null ? produto.getValorVenda() : null)
+                    .estoque(produto.getEstoque() != null ? produto.getEstoque() : optionalProduto.get().getEstoque())
+                    .estoqueMinimo(produto.getEstoqueMinimo() != null ? produto.getEstoqueMinimo() : null)
                     .fabricante(produto.getFabricante() != null ? produto.getFabricante() : null)
                     .categoria(produto.getCategoria() != null ? produto.getCategoria() : null)
                     .build();
 
             if (UtilProduto.validarProduto(produtoBuilder)) {
+                resolverReferencias(produtoBuilder);
                 produtoRepository.save(produtoBuilder);
+                catalogoCacheService.invalidarProduto(id);
+                if (produto.getEstoque() != null) {
+                    estoqueService.definirSaldo(id, produto.getEstoque());
+                }
+                applicationEventPublisher.publishEvent(new ProdutoSalvoEvent(produtoBuilder));
             }
             return produtoBuilder;
         } else {
@@ -66,8 +100,37 @@ public class ProdutoServiceImpl implements ProdutoService {
 
         if (produto.isPresent()) {
             produtoRepository.delete(produto.get());
+            catalogoCacheService.invalidarProduto(id);
+            applicationEventPublisher.publishEvent(new ProdutoExcluidoEvent(id));
         } else {
             throw new InfoException("Produto não encontrado", HttpStatus.NOT_FOUND);
         }
     }
+
+    // Completa categoria e fabricante informados apenas pelo id com os dados do cache do catálogo
+    private void resolverReferencias(Produto produto) {
+        if (produto.getCategoria().getId() != null) {
+            catalogoCacheService.buscarCategoria(produto.getCategoria().getId()).ifPresent(produto::setCategoria);
+        }
+        if (produto.getFabricante().getId() != null) {
+            catalogoCacheService.buscarFabricante(produto.getFabricante().getId()).ifPresent(produto::setFabricante);
+        }
+    }
+
+    private Produto copiarComEstoque(Produto produto, Double estoque) {
+        Produto copia = Produto.builder()
+                .id(produto.getId())
+                .nome(produto.getNome())
+                .descricao(produto.getDescricao())
+                .valorCusto(produto.getValorCusto())
+                .valorVenda(produto.getValorVenda())
+                .estoque(estoque)
+                .estoqueMinimo(produto.getEstoqueMinimo())
+                .fabricante(produto.getFabricante())
+                .categoria(produto.getCategoria())
+                .build();
+        copia.setDataCriacao(produto.getDataCriacao());
+        copia.setDataAtualizacao(produto.getDataAtualizacao());
+        return copia;
+    }
 }
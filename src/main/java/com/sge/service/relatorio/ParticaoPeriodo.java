@@ -0,0 +1,50 @@
+package com.sge.service.relatorio;
+
+import com.sge.util.Util;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+class ParticaoPeriodo {
+    private static final long DIAS_POR_ANO = 366;
+
+    private final Date inicio;
+    private final Date fimExclusivo;
+
+    // Divide o período do dia de início até o fim do dia "fim" em intervalos semi-abertos consecutivos: semanas até um ano, meses acima disso,
+    // agrupando várias unidades por partição quando necessário para não passar de "maximoParticoes".
+    // Intervalos com até "diasMinimo" dias continuam em uma única partição.
+    static List<ParticaoPeriodo> dividir(Date inicio, Date fim, long diasMinimo, int maximoParticoes) {
+        Date fimExclusivo = Util.inicioDiaSeguinte(fim);
+        ZonedDateTime atual = inicio.toInstant().atZone(ZoneId.systemDefault());
+        ZonedDateTime limite = fimExclusivo.toInstant().atZone(ZoneId.systemDefault());
+
+        long dias = ChronoUnit.DAYS.between(atual, limite);
+        if (dias <= diasMinimo) {
+            return Collections.singletonList(new ParticaoPeriodo(inicio, fimExclusivo));
+        }
+
+        ChronoUnit unidade = dias <= DIAS_POR_ANO ? ChronoUnit.WEEKS : ChronoUnit.MONTHS;
+        long unidades = unidade.between(atual, limite) + 1;
+        long passo = (unidades + maximoParticoes - 1) / maximoParticoes;
+
+        List<ParticaoPeriodo> particoes = new ArrayList<>();
+        while (atual.isBefore(limite)) {
+            ZonedDateTime proximo = atual.plus(passo, unidade);
+            Date fimParticao = proximo.isBefore(limite) ? Date.from(proximo.toInstant()) : fimExclusivo;
+
+            particoes.add(new ParticaoPeriodo(Date.from(atual.toInstant()), fimParticao));
+            atual = proximo;
+        }
+        return particoes;
+    }
+}
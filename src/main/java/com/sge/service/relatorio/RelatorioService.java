@@ -3,12 +3,23 @@ package com.sge.service.relatorio;
 import com.sge.dto.RetornoRelatorioDTO;
 import com.sge.exceptions.InfoException;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.text.ParseException;
+import java.util.Date;
 
 public interface RelatorioService {
     RetornoRelatorioDTO vendasPorUsuario(Long id) throws InfoException;
 
     RetornoRelatorioDTO vendasFiltroPorData(String dataInicio, String dataFim) throws InfoException, ParseException;
 
+    void vendasFiltroPorDataStream(Date dataInicio, Date dataFim, OutputStream outputStream) throws IOException;
+
     RetornoRelatorioDTO comprasPorCliente(Long id) throws InfoException;
+
+    RetornoRelatorioDTO resumoVendasPorUsuario(Long id) throws InfoException;
+
+    RetornoRelatorioDTO resumoVendasFiltroPorData(String dataInicio, String dataFim) throws InfoException, ParseException;
+
+    RetornoRelatorioDTO resumoComprasPorCliente(Long id) throws InfoException;
 }
@@ -1,42 +1,81 @@
 package com.sge.service.relatorio;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sge.dto.RelatorioDTO;
 import com.sge.dto.RetornoRelatorioDTO;
+import com.sge.dto.TotalRelatorioDTO;
 import com.sge.entity.*;
 import com.sge.exceptions.InfoException;
 import com.sge.repository.ItensVendaRepository;
-import com.sge.repository.ProdutoRepository;
-import com.sge.repository.VendaRepository;
 import com.sge.service.cliente.ClienteServiceImpl;
 import com.sge.service.usuario.UsuarioServiceImpl;
+import com.sge.util.Util;
 import com.sge.util.UtilCliente;
 import com.sge.util.UtilUsuario;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class RelatorioServiceImpl implements RelatorioService {
     @Autowired
-    private VendaRepository vendaRepository;
+    private ItensVendaRepository itensVendaRepository;
 
     @Autowired
-    private ProdutoRepository produtoRepository;
+    private UsuarioServiceImpl usuarioService;
 
     @Autowired
-    private ItensVendaRepository itensVendaRepository;
+    private ClienteServiceImpl clienteService;
 
     @Autowired
-    private UsuarioServiceImpl usuarioService;
+    private ObjectMapper objectMapper;
 
     @Autowired
-    private ClienteServiceImpl clienteService;
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${relatorio.particoes.paralelismo:4}")
+    private int paralelismo;
+
+    @Value("${relatorio.particoes.dias-minimo:62}")
+    private long diasMinimoParticao;
+
+    @Value("${relatorio.particoes.maximo:48}")
+    private int maximoParticoes;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int tamanhoPoolConexoes;
+
+    private ForkJoinPool forkJoinPool;
+
+    @PostConstruct
+    public void iniciar() {
+        // Cada partição ocupa uma conexão, então as consultas paralelas usam no máximo metade do pool
+        forkJoinPool = new ForkJoinPool(Math.max(1, Math.min(paralelismo, tamanhoPoolConexoes / 2)));
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        forkJoinPool.shutdownNow();
+    }
 
     @Override
     public RetornoRelatorioDTO vendasPorUsuario(Long id) throws InfoException {
@@ -44,14 +83,16 @@ public class RelatorioServiceImpl implements RelatorioService {
         if (usuario != null) {
             RetornoRelatorioDTO retornoRelatorioDTO = new RetornoRelatorioDTO();
 
-            List<Venda> vendaList = vendaRepository.findVendaByUsuarioId(id);
-            if (!vendaList.isEmpty()) {
-                List<RelatorioDTO> listaRetorno = montarRetorno(vendaList);
+            List<RelatorioDTO> listaRetorno = itensVendaRepository.findRelatorioByUsuarioId(id);
+            if (!listaRetorno.isEmpty()) {
+                long quantidadeVendas = contarVendas(listaRetorno);
 
                 retornoRelatorioDTO.setValorTotalVenda(recuperarValorTotal(listaRetorno));
+                retornoRelatorioDTO.setQuantidadeVendas(quantidadeVendas);
+                retornoRelatorioDTO.setQuantidadeItens((long) listaRetorno.size());
                 retornoRelatorioDTO.setUsuarioDTO(UtilUsuario.converteUsuario(usuario));
                 retornoRelatorioDTO.setRelatorioDTO(listaRetorno);
-                retornoRelatorioDTO.setMensagem("O usuário " + id + " realizou o total de " + vendaList.size() + " venda(s)");
+                retornoRelatorioDTO.setMensagem("O usuário " + id + " realizou o total de " + quantidadeVendas + " venda(s)");
                 return retornoRelatorioDTO;
             } else {
                 throw new InfoException("Ocorreu um erro ao buscar a(s) venda(s) do usuário " + id, HttpStatus.BAD_REQUEST);
@@ -62,22 +103,103 @@ public class RelatorioServiceImpl implements RelatorioService {
 
     @Override
     public RetornoRelatorioDTO vendasFiltroPorData(String dataInicio, String dataFim) throws InfoException, ParseException {
-        List<Venda> vendaList = vendaRepository.findByDataVendaBetween(new SimpleDateFormat("yyyy-MM-dd").parse(dataInicio),
-                new SimpleDateFormat("yyyy-MM-dd").parse(dataFim));
-
-        if (!vendaList.isEmpty()) {
-            RetornoRelatorioDTO retornoRelatorioDTO = new RetornoRelatorioDTO();
-            List<RelatorioDTO> listaRetorno = montarRetorno(vendaList);
+        RetornoRelatorioDTO retornoRelatorioDTO = vendasFiltroPorDataParticionado(
+                Util.converterData(dataInicio), Util.converterData(dataFim), forkJoinPool);
 
-            retornoRelatorioDTO.setValorTotalVenda(recuperarValorTotal(listaRetorno));
-            retornoRelatorioDTO.setRelatorioDTO(listaRetorno);
-            retornoRelatorioDTO.setMensagem(vendaList.size() + " venda(s) retornada(s)");
+        if (!retornoRelatorioDTO.getRelatorioDTO().isEmpty()) {
+            retornoRelatorioDTO.setMensagem(retornoRelatorioDTO.getQuantidadeVendas() + " venda(s) retornada(s)");
             return retornoRelatorioDTO;
         } else {
             throw new InfoException("Ocorreu um erro ao buscar a(s) venda(s) por filtro", HttpStatus.BAD_REQUEST);
         }
     }
 
+    public RetornoRelatorioDTO vendasFiltroPorDataParticionado(Date dataInicio, Date dataFim, ForkJoinPool pool) {
+        List<ParticaoPeriodo> particoes = ParticaoPeriodo.dividir(dataInicio, dataFim, diasMinimoParticao, maximoParticoes);
+
+        List<RetornoRelatorioDTO> parciais;
+        if (particoes.size() == 1) {
+            parciais = Collections.singletonList(consultarParticao(particoes.get(0)));
+        } else {
+            parciais = pool.submit(() -> particoes.parallelStream()
+                    .map(this::consultarParticao)
+                    .collect(Collectors.toList())).join();
+        }
+
+        // Os parciais chegam na ordem das partições, o que mantém a soma igual para qualquer paralelismo
+        List<RelatorioDTO> listaRetorno = new ArrayList<>();
+        double valorTotal = 0.0;
+        long quantidadeVendas = 0;
+        for (RetornoRelatorioDTO parcial : parciais) {
+            listaRetorno.addAll(parcial.getRelatorioDTO());
+            valorTotal += parcial.getValorTotalVenda();
+            quantidadeVendas += parcial.getQuantidadeVendas();
+        }
+        listaRetorno.sort(Comparator.comparing(RelatorioDTO::getVendaId));
+
+        return RetornoRelatorioDTO.builder()
+                .valorTotalVenda(valorTotal)
+                .quantidadeVendas(quantidadeVendas)
+                .quantidadeItens((long) listaRetorno.size())
+                .relatorioDTO(listaRetorno)
+                .build();
+    }
+
+    private RetornoRelatorioDTO consultarParticao(ParticaoPeriodo particao) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        return transactionTemplate.execute(status -> {
+            List<RelatorioDTO> lista = itensVendaRepository.findRelatorioByPeriodo(particao.getInicio(), particao.getFimExclusivo());
+
+            return RetornoRelatorioDTO.builder()
+                    .valorTotalVenda(recuperarValorTotal(lista))
+                    .quantidadeVendas(contarVendas(lista))
+                    .relatorioDTO(lista)
+                    .build();
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void vendasFiltroPorDataStream(Date dataInicio, Date dataFim, OutputStream outputStream) throws IOException {
+        double valorTotal = 0.0;
+        long quantidadeVendas = 0;
+        long quantidadeItens = 0;
+        Long ultimaVendaId = null;
+
+        try (Stream<RelatorioDTO> linhas = itensVendaRepository.streamRelatorioByPeriodo(
+                dataInicio, Util.inicioDiaSeguinte(dataFim))) {
+            Iterator<RelatorioDTO> iterator = linhas.iterator();
+            while (iterator.hasNext()) {
+                RelatorioDTO relatorioDTO = iterator.next();
+
+                valorTotal += relatorioDTO.getValorUnitario() * relatorioDTO.getQuantidade();
+                quantidadeItens++;
+                // As linhas chegam ordenadas por venda, então basta comparar com a anterior
+                if (!relatorioDTO.getVendaId().equals(ultimaVendaId)) {
+                    ultimaVendaId = relatorioDTO.getVendaId();
+                    quantidadeVendas++;
+                }
+                escreverLinha(outputStream, relatorioDTO);
+            }
+        }
+
+        RetornoRelatorioDTO retornoRelatorioDTO = RetornoRelatorioDTO.builder()
+                .mensagem(quantidadeVendas + " venda(s) retornada(s)")
+                .valorTotalVenda(valorTotal)
+                .quantidadeVendas(quantidadeVendas)
+                .quantidadeItens(quantidadeItens)
+                .build();
+        escreverLinha(outputStream, retornoRelatorioDTO);
+        outputStream.flush();
+    }
+
+    private void escreverLinha(OutputStream outputStream, Object linha) throws IOException {
+        outputStream.write(objectMapper.writeValueAsBytes(linha));
+        outputStream.write('\n');
+    }
+
     public double recuperarValorTotal(List<RelatorioDTO> lista) {
         double valorTotal = 0.0;
 
@@ -87,31 +209,8 @@ public class RelatorioServiceImpl implements RelatorioService {
         return valorTotal;
     }
 
-    public List<RelatorioDTO> montarRetorno(List<Venda> vendaList) {
-        List<RelatorioDTO> relatorioDTOList = new ArrayList<>();
-
-        for (Venda venda : vendaList) {
-            List<ItensVenda> itensVenda = itensVendaRepository.findItensVendasByVendaId(venda.getId());
-
-            if (itensVenda != null && itensVenda.size() > 0) {
-                for (ItensVenda item : itensVenda) {
-                    Optional<Produto> produto = produtoRepository.findById(item.getProduto().getId());
-
-                    if (produto.isPresent()) {
-                        RelatorioDTO relatorioDTO = RelatorioDTO
-                                .builder()
-                                .nomeProduto(produto.get().getNome())
-                                .produtoId(produto.get().getId())
-                                .quantidade(item.getQuantidade())
-                                .valorUnitario(item.getValorUnitario())
-                                .vendaId(venda.getId())
-                                .build();
-                        relatorioDTOList.add(relatorioDTO);
-                    }
-                }
-            }
-        }
-        return relatorioDTOList;
+    public long contarVendas(List<RelatorioDTO> lista) {
+        return lista.stream().map(RelatorioDTO::getVendaId).distinct().count();
     }
 
     @Override
@@ -120,14 +219,16 @@ public class RelatorioServiceImpl implements RelatorioService {
         if (cliente != null) {
             RetornoRelatorioDTO retornoRelatorioDTO = new RetornoRelatorioDTO();
 
-            List<Venda> vendaList = vendaRepository.findVendaByClienteId(id);
-            if (!vendaList.isEmpty()) {
-                List<RelatorioDTO> listaRetorno = montarRetorno(vendaList);
+            List<RelatorioDTO> listaRetorno = itensVendaRepository.findRelatorioByClienteId(id);
+            if (!listaRetorno.isEmpty()) {
+                long quantidadeVendas = contarVendas(listaRetorno);
 
                 retornoRelatorioDTO.setValorTotalVenda(recuperarValorTotal(listaRetorno));
+                retornoRelatorioDTO.setQuantidadeVendas(quantidadeVendas);
+                retornoRelatorioDTO.setQuantidadeItens((long) listaRetorno.size());
                 retornoRelatorioDTO.setClienteDTO(UtilCliente.converteCliente(cliente));
                 retornoRelatorioDTO.setRelatorioDTO(listaRetorno);
-                retornoRelatorioDTO.setMensagem("O cliente " + id + " realizou um total de " + vendaList.size() + " compra(s)");
+                retornoRelatorioDTO.setMensagem("O cliente " + id + " realizou um total de " + quantidadeVendas + " compra(s)");
                 return retornoRelatorioDTO;
             } else {
                 throw new InfoException("Ocorreu um erro ao buscar a(s) compra(s) do cliente " + id, HttpStatus.BAD_REQUEST);
@@ -135,4 +236,63 @@ public class RelatorioServiceImpl implements RelatorioService {
         }
         return null;
     }
+
+    @Override
+    public RetornoRelatorioDTO resumoVendasPorUsuario(Long id) throws InfoException {
+        Usuario usuario = usuarioService.encontrarUsuarioPorId(id);
+        if (usuario != null) {
+            TotalRelatorioDTO total = itensVendaRepository.totalizarByUsuarioId(id);
+            if (total.getQuantidadeVendas() > 0) {
+                RetornoRelatorioDTO retornoRelatorioDTO = montarResumo(total);
+
+                retornoRelatorioDTO.setUsuarioDTO(UtilUsuario.converteUsuario(usuario));
+                retornoRelatorioDTO.setMensagem("O usuário " + id + " realizou o total de " + total.getQuantidadeVendas() + " venda(s)");
+                return retornoRelatorioDTO;
+            } else {
+                throw new InfoException("Ocorreu um erro ao buscar a(s) venda(s) do usuário " + id, HttpStatus.BAD_REQUEST);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public RetornoRelatorioDTO resumoVendasFiltroPorData(String dataInicio, String dataFim) throws InfoException, ParseException {
+        TotalRelatorioDTO total = itensVendaRepository.totalizarByPeriodo(
+                Util.converterData(dataInicio), Util.inicioDiaSeguinte(Util.converterData(dataFim)));
+
+        if (total.getQuantidadeVendas() > 0) {
+            RetornoRelatorioDTO retornoRelatorioDTO = montarResumo(total);
+
+            retornoRelatorioDTO.setMensagem(total.getQuantidadeVendas() + " venda(s) retornada(s)");
+            return retornoRelatorioDTO;
+        } else {
+            throw new InfoException("Ocorreu um erro ao buscar a(s) venda(s) por filtro", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @Override
+    public RetornoRelatorioDTO resumoComprasPorCliente(Long id) throws InfoException {
+        Cliente cliente = clienteService.encontrarClientePorId(id);
+        if (cliente != null) {
+            TotalRelatorioDTO total = itensVendaRepository.totalizarByClienteId(id);
+            if (total.getQuantidadeVendas() > 0) {
+                RetornoRelatorioDTO retornoRelatorioDTO = montarResumo(total);
+
+                retornoRelatorioDTO.setClienteDTO(UtilCliente.converteCliente(cliente));
+                retornoRelatorioDTO.setMensagem("O cliente " + id + " realizou um total de " + total.getQuantidadeVendas() + " compra(s)");
+                return retornoRelatorioDTO;
+            } else {
+                throw new InfoException("Ocorreu um erro ao buscar a(s) compra(s) do cliente " + id, HttpStatus.BAD_REQUEST);
+            }
+        }
+        return null;
+    }
+
+    private RetornoRelatorioDTO montarResumo(TotalRelatorioDTO total) {
+        return RetornoRelatorioDTO.builder()
+                .valorTotalVenda(total.getValorTotal())
+                .quantidadeVendas(total.getQuantidadeVendas())
+                .quantidadeItens(total.getQuantidadeItens())
+                .build();
+    }
 }
@@ -0,0 +1,73 @@
+package com.sge.service.relatorioJob;
+
+import com.sge.dto.RelatorioJobDTO;
+import com.sge.dto.SolicitacaoRelatorioDTO;
+import com.sge.enums.StatusRelatorioJob;
+import lombok.Getter;
+
+import java.util.Date;
+import java.util.UUID;
+
+@Getter
+class RelatorioJob {
+    private final String id = UUID.randomUUID().toString();
+    private final SolicitacaoRelatorioDTO solicitacao;
+    private final Date dataCriacao = new Date();
+    private volatile StatusRelatorioJob status = StatusRelatorioJob.PENDENTE;
+    private volatile int progresso;
+    private volatile String mensagem;
+    private volatile byte[] resultado;
+    private volatile Date dataConclusao;
+
+    RelatorioJob(SolicitacaoRelatorioDTO solicitacao) {
+        this.solicitacao = solicitacao;
+    }
+
+    void iniciar() {
+        status = StatusRelatorioJob.EXECUTANDO;
+        progresso = 10;
+    }
+
+    void atualizarProgresso(int progresso) {
+        this.progresso = progresso;
+    }
+
+    void concluir(byte[] resultado) {
+        this.resultado = resultado;
+        this.progresso = 100;
+        this.dataConclusao = new Date();
+        this.status = StatusRelatorioJob.CONCLUIDO;
+    }
+
+    void falhar(String mensagem) {
+        this.mensagem = mensagem;
+        this.dataConclusao = new Date();
+        this.status = StatusRelatorioJob.FALHOU;
+    }
+
+    void liberarResultado() {
+        this.resultado = null;
+    }
+
+    boolean isFinalizado() {
+        return status == StatusRelatorioJob.CONCLUIDO || status == StatusRelatorioJob.FALHOU;
+    }
+
+    long getTamanhoResultado() {
+        byte[] atual = resultado;
+        return atual != null ? atual.length : 0;
+    }
+
+    RelatorioJobDTO converter() {
+        return RelatorioJobDTO.builder()
+                .id(id)
+                .status(status)
+                .progresso(progresso)
+                .mensagem(mensagem)
+                .solicitacao(solicitacao)
+                .dataCriacao(dataCriacao)
+                .dataConclusao(dataConclusao)
+                .tamanhoResultado(getTamanhoResultado())
+                .build();
+    }
+}
@@ -0,0 +1,13 @@
+package com.sge.service.relatorioJob;
+
+import com.sge.dto.RelatorioJobDTO;
+import com.sge.dto.SolicitacaoRelatorioDTO;
+import com.sge.exceptions.InfoException;
+
+public interface RelatorioJobService {
+    RelatorioJobDTO submeter(SolicitacaoRelatorioDTO solicitacao) throws InfoException;
+
+    RelatorioJobDTO consultar(String id) throws InfoException;
+
+    byte[] baixarResultado(String id) throws InfoException;
+}
@@ -0,0 +1,240 @@
+package com.sge.service.relatorioJob;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sge.dto.RelatorioJobDTO;
+import com.sge.dto.RetornoRelatorioDTO;
+import com.sge.dto.SolicitacaoRelatorioDTO;
+import com.sge.enums.StatusRelatorioJob;
+import com.sge.exceptions.InfoException;
+import com.sge.service.relatorio.RelatorioService;
+import com.sge.util.UtilRelatorio;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+public class RelatorioJobServiceImpl implements RelatorioJobService {
+    @Autowired
+    private RelatorioService relatorioService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${relatorio.jobs.threads:2}")
+    private int threads;
+
+    @Value("${relatorio.jobs.fila:20}")
+    private int fila;
+
+    @Value("${relatorio.jobs.ttl-minutos:30}")
+    private long ttlMinutos;
+
+    @Value("${relatorio.jobs.tamanho-maximo-bytes:104857600}")
+    private long tamanhoMaximo;
+
+    private final Map<String, RelatorioJob> jobs = new ConcurrentHashMap<>();
+
+    private final Map<SolicitacaoRelatorioDTO, RelatorioJob> jobsPorSolicitacao = new ConcurrentHashMap<>();
+
+    private long tamanhoArmazenado;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate somenteLeitura;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void iniciar() {
+        somenteLeitura = new TransactionTemplate(transactionManager);
+        somenteLeitura.setReadOnly(true);
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fila), new CustomizableThreadFactory("relatorio-job-"));
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public RelatorioJobDTO submeter(SolicitacaoRelatorioDTO solicitacao) throws InfoException {
+        UtilRelatorio.validarSolicitacao(solicitacao);
+        removerExpirados();
+
+        // Registro e envio ao executor dentro do compute: uma solicitação igual só encontra o job depois que ele foi
+        // aceito pela fila, então nunca reaproveita um job recusado
+        boolean[] recusado = new boolean[1];
+        RelatorioJob job = jobsPorSolicitacao.compute(solicitacao, (chave, atual) -> {
+            if (atual != null && !atual.isFinalizado()) {
+                return atual;
+            }
+            RelatorioJob novoJob = new RelatorioJob(chave);
+            jobs.put(novoJob.getId(), novoJob);
+            try {
+                executor.execute(() -> executar(novoJob));
+            } catch (RejectedExecutionException e) {
+                jobs.remove(novoJob.getId());
+                recusado[0] = true;
+                return atual;
+            }
+            return novoJob;
+        });
+
+        if (recusado[0]) {
+            throw new InfoException("Fila de relatórios cheia, tente novamente mais tarde", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        return job.converter();
+    }
+
+    @Override
+    public RelatorioJobDTO consultar(String id) throws InfoException {
+        return buscarJob(id).converter();
+    }
+
+    @Override
+    public byte[] baixarResultado(String id) throws InfoException {
+        RelatorioJob job = buscarJob(id);
+
+        if (job.getStatus() == StatusRelatorioJob.FALHOU) {
+            throw new InfoException(job.getMensagem(), HttpStatus.BAD_REQUEST);
+        }
+        if (job.getStatus() != StatusRelatorioJob.CONCLUIDO) {
+            throw new InfoException("Relatório ainda em processamento", HttpStatus.CONFLICT);
+        }
+
+        byte[] resultado = job.getResultado();
+        if (resultado == null) {
+            throw new InfoException("Relatório não encontrado ou expirado", HttpStatus.NOT_FOUND);
+        }
+        return resultado;
+    }
+
+    private RelatorioJob buscarJob(String id) throws InfoException {
+        RelatorioJob job = jobs.get(id);
+
+        if (job == null || expirado(job)) {
+            throw new InfoException("Relatório não encontrado ou expirado", HttpStatus.NOT_FOUND);
+        }
+        return job;
+    }
+
+    private void executar(RelatorioJob job) {
+        job.iniciar();
+        try {
+            byte[] resultado = gerarResultado(job);
+            if (resultado == null) {
+                job.falhar("Relatório sem resultado");
+            } else if (reservarEspaco(resultado.length)) {
+                job.concluir(resultado);
+            } else {
+                job.falhar("O resultado excede o tamanho máximo do armazenamento de relatórios");
+            }
+        } catch (InfoException e) {
+            job.falhar(e.getMessage());
+        } catch (Exception e) {
+            log.error("Falha ao gerar o relatório {}", job.getId(), e);
+            job.falhar("Ocorreu um erro ao gerar o relatório");
+        }
+    }
+
+    // Geração e serialização na mesma transação: fora da requisição não há sessão aberta para as coleções lazy do
+    // usuário e do cliente incluídos no relatório
+    private byte[] gerarResultado(RelatorioJob job) throws Exception {
+        try {
+            return somenteLeitura.execute(status -> {
+                try {
+                    RetornoRelatorioDTO retorno = gerarRelatorio(job.getSolicitacao());
+                    if (retorno == null) {
+                        return null;
+                    }
+                    job.atualizarProgresso(80);
+                    return objectMapper.writeValueAsBytes(retorno);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            });
+        } catch (CompletionException e) {
+            throw (Exception) e.getCause();
+        }
+    }
+
+    private RetornoRelatorioDTO gerarRelatorio(SolicitacaoRelatorioDTO solicitacao) throws Exception {
+        switch (solicitacao.getTipo()) {
+            case USUARIO:
+                return solicitacao.isResumo()
+                        ? relatorioService.resumoVendasPorUsuario(solicitacao.getId())
+                        : relatorioService.vendasPorUsuario(solicitacao.getId());
+            case CLIENTE:
+                return solicitacao.isResumo()
+                        ? relatorioService.resumoComprasPorCliente(solicitacao.getId())
+                        : relatorioService.comprasPorCliente(solicitacao.getId());
+            default:
+                return solicitacao.isResumo()
+                        ? relatorioService.resumoVendasFiltroPorData(solicitacao.getDataInicio(), solicitacao.getDataFim())
+                        : relatorioService.vendasFiltroPorData(solicitacao.getDataInicio(), solicitacao.getDataFim());
+        }
+    }
+
+    private boolean expirado(RelatorioJob job) {
+        return job.isFinalizado()
+                && System.currentTimeMillis() - job.getDataConclusao().getTime() > TimeUnit.MINUTES.toMillis(ttlMinutos);
+    }
+
+    private synchronized boolean reservarEspaco(long tamanho) {
+        if (tamanho > tamanhoMaximo) {
+            return false;
+        }
+        removerExpirados();
+
+        while (tamanhoArmazenado + tamanho > tamanhoMaximo) {
+            Optional<RelatorioJob> maisAntigo = jobs.values().stream()
+                    .filter(job -> job.getStatus() == StatusRelatorioJob.CONCLUIDO)
+                    .min(Comparator.comparing(RelatorioJob::getDataConclusao));
+            if (maisAntigo.isEmpty()) {
+                return false;
+            }
+            remover(maisAntigo.get());
+        }
+        tamanhoArmazenado += tamanho;
+        return true;
+    }
+
+    // Sem a limpeza periódica os resultados expirados só eram liberados no próximo envio
+    @Scheduled(fixedDelayString = "${relatorio.jobs.intervalo-limpeza-ms:60000}")
+    public void limparExpirados() {
+        removerExpirados();
+    }
+
+    private synchronized void removerExpirados() {
+        jobs.values().stream().filter(this::expirado).forEach(this::remover);
+    }
+
+    private synchronized void remover(RelatorioJob job) {
+        if (jobs.remove(job.getId()) != null) {
+            tamanhoArmazenado -= job.getTamanhoResultado();
+        }
+        jobsPorSolicitacao.remove(job.getSolicitacao(), job);
+        job.liberarResultado();
+    }
+}
@@ -0,0 +1,16 @@
+package com.sge.service.resumoVenda;
+
+import com.sge.dto.RetornoResumoDiarioDTO;
+
+import java.util.Collection;
+import java.util.Date;
+
+public interface ResumoVendaService {
+    void registrarVendas(Collection<Long> vendaIds);
+
+    void estornarVendas(Collection<Long> vendaIds);
+
+    void reconstruir();
+
+    RetornoResumoDiarioDTO buscarResumoDiario(Date dataInicio, Date dataFim, Long produtoId, Long usuarioId, Long clienteId);
+}
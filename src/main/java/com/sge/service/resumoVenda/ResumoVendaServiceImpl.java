@@ -0,0 +1,99 @@
+package com.sge.service.resumoVenda;
+
+import com.sge.dto.ResumoDiarioDTO;
+import com.sge.dto.RetornoResumoDiarioDTO;
+import com.sge.entity.ResumoVendaDiario;
+import com.sge.repository.ItensVendaRepository;
+import com.sge.repository.ResumoVendaDiarioRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+@Service
+public class ResumoVendaServiceImpl implements ResumoVendaService {
+    @Autowired
+    private ResumoVendaDiarioRepository resumoVendaDiarioRepository;
+
+    @Autowired
+    private ItensVendaRepository itensVendaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void registrarVendas(Collection<Long> vendaIds) {
+        for (ResumoVendaDiario resumo : itensVendaRepository.agruparResumoDiarioByVendaIdIn(vendaIds)) {
+            if (incrementar(resumo) == 0 && !criarLinha(resumo) && incrementar(resumo) == 0) {
+                throw new IllegalStateException("Linha do resumo diário não encontrada após a criação");
+            }
+        }
+    }
+
+    private int incrementar(ResumoVendaDiario resumo) {
+        return resumoVendaDiarioRepository.incrementar(resumo.getDia(), resumo.getProdutoId(),
+                resumo.getUsuarioId(), resumo.getClienteId(), resumo.getQuantidadeItens(),
+                resumo.getQuantidade(), resumo.getValorTotal());
+    }
+
+    // A linha é inserida por JDBC na mesma transação (e na mesma conexão) da venda, então uma venda nunca segura uma
+    // conexão esperando outra do pool. A chave única resolve a corrida entre as primeiras vendas do dia: quem perde a
+    // inserção recebe DuplicateKeyException, que no H2 e no MySQL desfaz só o comando e não marca a transação para
+    // rollback, e soma sobre a linha criada pela outra venda
+    private boolean criarLinha(ResumoVendaDiario resumo) {
+        try {
+            jdbcTemplate.update("insert into resumo_venda_diario (dia, id_produto, id_usuario, id_cliente, " +
+                            "quantidade_itens, quantidade, valor_total) values (?, ?, ?, ?, ?, ?, ?)",
+                    resumo.getDia(), resumo.getProdutoId(), resumo.getUsuarioId(), resumo.getClienteId(),
+                    resumo.getQuantidadeItens(), resumo.getQuantidade(), resumo.getValorTotal());
+            return true;
+        } catch (DuplicateKeyException e) {
+            // Outra venda criou a linha primeiro
+            return false;
+        }
+    }
+
+    // Só as linhas estornadas podem ter zerado; a exclusão usa a chave única em vez de varrer o resumo
+    @Override
+    @Transactional
+    public void estornarVendas(Collection<Long> vendaIds) {
+        for (ResumoVendaDiario resumo : itensVendaRepository.agruparResumoDiarioByVendaIdIn(vendaIds)) {
+            resumoVendaDiarioRepository.incrementar(resumo.getDia(), resumo.getProdutoId(),
+                    resumo.getUsuarioId(), resumo.getClienteId(), -resumo.getQuantidadeItens(),
+                    -resumo.getQuantidade(), -resumo.getValorTotal());
+            resumoVendaDiarioRepository.excluirSeZerado(resumo.getDia(), resumo.getProdutoId(),
+                    resumo.getUsuarioId(), resumo.getClienteId());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void reconstruir() {
+        resumoVendaDiarioRepository.deleteAllInBatch();
+        resumoVendaDiarioRepository.saveAll(itensVendaRepository.agruparResumoDiario());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RetornoResumoDiarioDTO buscarResumoDiario(Date dataInicio, Date dataFim, Long produtoId, Long usuarioId, Long clienteId) {
+        List<ResumoDiarioDTO> resumoDiario = resumoVendaDiarioRepository.findResumoDiario(dataInicio, dataFim,
+                produtoId, usuarioId, clienteId);
+
+        double valorTotal = 0.0;
+        for (ResumoDiarioDTO resumoDiarioDTO : resumoDiario) {
+            valorTotal += resumoDiarioDTO.getValorTotal();
+        }
+
+        return RetornoResumoDiarioDTO.builder()
+                .mensagem(resumoDiario.size() + " dia(s) com venda(s)")
+                .resumoDiarioDTO(resumoDiario)
+                .valorTotalVenda(valorTotal)
+                .build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.sge.service.topProduto;
+
+import com.sge.dto.TopProdutoDTO;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Algoritmo Space-Saving (Metwally et al.) com pesos: guarda no máximo "capacidade" contadores e
+// cada contagem superestima a real em no máximo "erro", que por sua vez é limitado a total / capacidade.
+// Estornos só reduzem contadores monitorados; "maiorDescartado" mantém o limite dos que já saíram.
+class SpaceSaving {
+    private final int capacidade;
+    private final Map<Long, Contador> contadores;
+    private double total;
+    private double maiorDescartado;
+
+    SpaceSaving(int capacidade) {
+        this.capacidade = capacidade;
+        this.contadores = new HashMap<>(capacidade * 2);
+    }
+
+    synchronized void registrar(long produtoId, String nomeProduto, double peso) {
+        total += peso;
+
+        Contador contador = contadores.get(produtoId);
+        if (contador != null) {
+            contador.contagem += peso;
+            contador.nome = nomeProduto;
+            return;
+        }
+
+        if (contadores.size() < capacidade) {
+            contadores.put(produtoId, new Contador(produtoId, nomeProduto, peso, 0.0));
+            return;
+        }
+
+        Contador menor = null;
+        for (Contador atual : contadores.values()) {
+            if (menor == null || atual.contagem < menor.contagem) {
+                menor = atual;
+            }
+        }
+        maiorDescartado = Math.max(maiorDescartado, menor.contagem);
+        contadores.remove(menor.produtoId);
+        contadores.put(produtoId, new Contador(produtoId, nomeProduto, maiorDescartado + peso, maiorDescartado));
+    }
+
+    synchronized void estornar(long produtoId, double peso) {
+        total = Math.max(0.0, total - peso);
+
+        Contador contador = contadores.get(produtoId);
+        if (contador != null) {
+            contador.contagem = Math.max(contador.erro, contador.contagem - peso);
+        }
+    }
+
+    synchronized List<TopProdutoDTO> buscarTop(int quantidade) {
+        return contadores.values().stream()
+                .sorted(Comparator.comparingDouble((Contador contador) -> contador.contagem).reversed()
+                        .thenComparingLong(contador -> contador.produtoId))
+                .limit(quantidade)
+                .map(contador -> new TopProdutoDTO(contador.produtoId, contador.nome, contador.contagem, contador.erro))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    synchronized double getErroMaximo() {
+        return total / capacidade;
+    }
+
+    private static class Contador {
+        private final long produtoId;
+        private String nome;
+        private double contagem;
+        private final double erro;
+
+        private Contador(long produtoId, String nome, double contagem, double erro) {
+            this.produtoId = produtoId;
+            this.nome = nome;
+            this.contagem = contagem;
+            this.erro = erro;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.sge.service.topProduto;
+
+import com.sge.dto.TopProdutoDTO;
+import com.sge.exceptions.InfoException;
+
+import java.util.Date;
+import java.util.List;
+
+public interface TopProdutoService {
+    List<TopProdutoDTO> buscarTopProdutos(int quantidade) throws InfoException;
+
+    List<TopProdutoDTO> buscarTopProdutosExato(int quantidade, Date dataInicio, Date dataFim) throws InfoException;
+}
@@ -0,0 +1,84 @@
+package com.sge.service.topProduto;
+
+import com.sge.dto.LinhaVendaDTO;
+import com.sge.dto.TopProdutoDTO;
+import com.sge.entity.ItensVenda;
+import com.sge.exceptions.InfoException;
+import com.sge.repository.ItensVendaRepository;
+import com.sge.service.venda.VendaExcluidaEvent;
+import com.sge.service.venda.VendaRegistradaEvent;
+import com.sge.util.Util;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class TopProdutoServiceImpl implements TopProdutoService {
+    @Autowired
+    private ItensVendaRepository itensVendaRepository;
+
+    @Value("${relatorio.top-produtos.capacidade:200}")
+    private int capacidade;
+
+    private SpaceSaving spaceSaving;
+
+    @PostConstruct
+    public void carregar() {
+        spaceSaving = new SpaceSaving(capacidade);
+
+        for (TopProdutoDTO produto : itensVendaRepository.agruparQuantidadePorProduto()) {
+            spaceSaving.registrar(produto.getProdutoId(), produto.getNomeProduto(), produto.getQuantidade());
+        }
+    }
+
+    @TransactionalEventListener
+    public void registrarVenda(VendaRegistradaEvent event) {
+        for (ItensVenda item : event.getVenda().getItensVenda()) {
+            spaceSaving.registrar(item.getProduto().getId(), item.getProduto().getNome(), item.getQuantidade());
+        }
+    }
+
+    @TransactionalEventListener
+    public void excluirVendas(VendaExcluidaEvent event) {
+        Map<Long, Double> quantidadePorProduto = new HashMap<>();
+        for (LinhaVendaDTO linha : event.getLinhasVenda()) {
+            quantidadePorProduto.merge(linha.getProdutoId(), linha.getQuantidade(), Double::sum);
+        }
+        quantidadePorProduto.forEach(spaceSaving::estornar);
+    }
+
+    @Override
+    public List<TopProdutoDTO> buscarTopProdutos(int quantidade) throws InfoException {
+        validarQuantidade(quantidade);
+        return spaceSaving.buscarTop(Math.min(quantidade, capacidade));
+    }
+
+    // Sem datas o cálculo exato cobre todas as vendas, o mesmo universo da estimativa; com datas vale só o período
+    @Override
+    public List<TopProdutoDTO> buscarTopProdutosExato(int quantidade, Date dataInicio, Date dataFim) throws InfoException {
+        validarQuantidade(quantidade);
+        if (dataInicio == null && dataFim == null) {
+            return itensVendaRepository.findTopProdutos(PageRequest.of(0, quantidade));
+        }
+        if (dataInicio == null || dataFim == null) {
+            throw new InfoException("MESSAGE.DATA_REQUIRED", HttpStatus.BAD_REQUEST);
+        }
+        return itensVendaRepository.findTopProdutosByPeriodo(dataInicio, Util.inicioDiaSeguinte(dataFim),
+                PageRequest.of(0, quantidade));
+    }
+
+    private void validarQuantidade(int quantidade) throws InfoException {
+        if (quantidade < 1) {
+            throw new InfoException("A quantidade de produtos deve ser maior que zero", HttpStatus.BAD_REQUEST);
+        }
+    }
+}
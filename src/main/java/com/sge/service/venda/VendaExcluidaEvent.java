@@ -0,0 +1,14 @@
+package com.sge.service.venda;
+
+import com.sge.dto.LinhaVendaDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class VendaExcluidaEvent {
+    private final List<Long> vendaIds;
+    private final List<LinhaVendaDTO> linhasVenda;
+}
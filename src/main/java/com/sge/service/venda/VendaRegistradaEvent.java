@@ -0,0 +1,11 @@
+package com.sge.service.venda;
+
+import com.sge.entity.Venda;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class VendaRegistradaEvent {
+    private final Venda venda;
+}
@@ -1,15 +1,23 @@
 package com.sge.service.venda;
 
+import com.sge.dto.RetornoExclusaoVendaDTO;
 import com.sge.dto.VendaDTO;
 import com.sge.entity.Venda;
 import com.sge.exceptions.InfoException;
 
+import java.util.Date;
 import java.util.List;
 
 public interface VendaService {
     List<VendaDTO> buscarTodos();
 
+    List<VendaDTO> buscarPagina(int pagina, int tamanho) throws InfoException;
+
     VendaDTO inserir(Venda venda) throws InfoException;
 
     void excluir(Long id) throws InfoException;
+
+    RetornoExclusaoVendaDTO excluirLote(List<Long> ids) throws InfoException;
+
+    RetornoExclusaoVendaDTO excluirPorPeriodo(Date dataInicio, Date dataFim) throws InfoException;
 }
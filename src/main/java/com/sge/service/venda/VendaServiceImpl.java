@@ -1,87 +1,263 @@
 package com.sge.service.venda;
 
+import com.sge.dto.IdentificacaoVendaDTO;
+import com.sge.dto.LinhaVendaDTO;
+import com.sge.dto.RetornoExclusaoVendaDTO;
 import com.sge.dto.VendaDTO;
 import com.sge.entity.ItensVenda;
 import com.sge.entity.Produto;
 import com.sge.entity.Venda;
 import com.sge.exceptions.InfoException;
 import com.sge.repository.ItensVendaRepository;
-import com.sge.repository.ProdutoRepository;
 import com.sge.repository.VendaRepository;
+import com.sge.service.catalogo.CatalogoCacheService;
+import com.sge.service.estoque.EstoqueService;
 import com.sge.service.itensVenda.ItensVendaServiceImpl;
+import com.sge.service.resumoVenda.ResumoVendaService;
+import com.sge.util.UtilItensVenda;
 import com.sge.util.UtilVenda;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@DependsOn("inicializadorSequencias")
 public class VendaServiceImpl extends ItensVendaServiceImpl implements VendaService {
+    private static final int TAMANHO_PAGINA_PADRAO = 500;
+    private static final int TAMANHO_PAGINA_MAXIMO = 1000;
+
     @Autowired
     private VendaRepository vendaRepository;
 
-    private final ProdutoRepository produtoRepository;
+    @PersistenceContext
+    private EntityManager entityManager;
 
     private final ItensVendaRepository itensVendaRepository;
 
+    private final ResumoVendaService resumoVendaService;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final EstoqueService estoqueService;
+
+    private final CatalogoCacheService catalogoCacheService;
+
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${venda.exclusao.tamanho-bloco:1000}")
+    private int tamanhoBlocoExclusao;
+
+    // Percorre as vendas por id (id > último da página anterior), cada página em sua própria leitura curta; o contexto
+    // de persistência é limpo entre as páginas para que os itens já convertidos não se acumulem na sessão
     @Override
     public List<VendaDTO> buscarTodos() {
-        List<Venda> listaVendas = vendaRepository.findAll();
-
         List<VendaDTO> vendaDTOList = new ArrayList<>();
-        if (listaVendas.size() > 0) {
-            for (Venda venda : listaVendas) {
-                List<ItensVenda> itensVendaList = itensVendaRepository.findItensVendasByVendaId(venda.getId());
 
-                if (itensVendaList != null && itensVendaList.size() > 0) {
-                    List<ItensVenda> listaItens = new ArrayList<>(itensVendaList);
-                    venda.setItensVenda(listaItens);
-                }
-                vendaDTOList.add(UtilVenda.converteVenda(venda));
+        List<IdentificacaoVendaDTO> pagina = vendaRepository.findPaginaApos(0L, PageRequest.of(0, TAMANHO_PAGINA_PADRAO));
+        while (!pagina.isEmpty()) {
+            vendaDTOList.addAll(converterPagina(pagina));
+            entityManager.clear();
+            if (pagina.size() < TAMANHO_PAGINA_PADRAO) {
+                break;
             }
+            pagina = vendaRepository.findPaginaApos(pagina.get(pagina.size() - 1).getVendaId(), PageRequest.of(0, TAMANHO_PAGINA_PADRAO));
         }
         return vendaDTOList;
     }
+
     @Override
+    @Transactional(readOnly = true)
+    public List<VendaDTO> buscarPagina(int pagina, int tamanho) throws InfoException {
+        if (pagina < 0 || tamanho < 1 || tamanho > TAMANHO_PAGINA_MAXIMO) {
+            throw new InfoException("A página deve ser positiva e o tamanho estar entre 1 e " + TAMANHO_PAGINA_MAXIMO, HttpStatus.BAD_REQUEST);
+        }
+        return converterPagina(vendaRepository.findPagina(PageRequest.of(pagina, tamanho)).getContent());
+    }
+
+    // Carrega os itens de todas as vendas da página, já com produto, fabricante e categoria, em uma única consulta
+    private List<VendaDTO> converterPagina(List<IdentificacaoVendaDTO> vendas) {
+        if (vendas.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> vendaIds = vendas.stream().map(IdentificacaoVendaDTO::getVendaId).collect(Collectors.toList());
+        Map<Long, List<ItensVenda>> itensPorVenda = itensVendaRepository.findItensVendasComProdutoByVendaIdIn(vendaIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getVenda().getId()));
+
+        List<VendaDTO> vendaDTOList = new ArrayList<>(vendas.size());
+        for (IdentificacaoVendaDTO venda : vendas) {
+            vendaDTOList.add(VendaDTO.builder()
+                    .id(venda.getVendaId())
+                    .itensVenda(UtilItensVenda.converterListaItensVenda(itensPorVenda.getOrDefault(venda.getVendaId(), new ArrayList<>())))
+                    .chaveIdempotencia(venda.getChaveIdempotencia())
+                    .build());
+        }
+        return vendaDTOList;
+    }
+
+    @Override
+    @Transactional(rollbackFor = InfoException.class)
     public VendaDTO inserir(Venda venda) throws InfoException {
         if (UtilVenda.validarVenda(venda)) {
-            List<Produto> produtos = new ArrayList<>();
+            Map<Long, Produto> produtos = buscarProdutos(venda.getItensVenda());
 
             for (ItensVenda itensVenda : venda.getItensVenda()) {
                 itensVenda.setVenda(venda);
-                inserirItensVenda(itensVenda);
-
-                Optional<Produto> optionalProduto = produtoRepository.findById(itensVenda.getProduto().getId());
-                if (optionalProduto.isPresent()) {
-                    produtos.addAll(optionalProduto.stream().collect(Collectors.toList()));
-
-                    for (Produto produto : produtos) {
-                        itensVenda.setProduto(produto);
-                    }
-                }
+                itensVenda.setProduto(produtos.get(itensVenda.getProduto().getId()));
             }
             vendaRepository.save(venda);
+            reservarEstoque(venda, produtos);
+            itensVendaRepository.saveAll(venda.getItensVenda());
+            resumoVendaService.registrarVendas(Collections.singletonList(venda.getId()));
+            applicationEventPublisher.publishEvent(new VendaRegistradaEvent(venda));
             return UtilVenda.converteVenda(venda);
         } else {
             throw new InfoException("Ocorreu um erro ao cadastrar venda", HttpStatus.BAD_REQUEST);
         }
     }
 
+    private Map<Long, Produto> buscarProdutos(List<ItensVenda> itensVenda) throws InfoException {
+        Set<Long> produtoIds = new HashSet<>();
+        for (ItensVenda item : itensVenda) {
+            if (item.getProduto() == null || item.getProduto().getId() == null) {
+                throw new InfoException("MESSAGE.PRODUTO_REQUIRED", HttpStatus.BAD_REQUEST);
+            }
+            produtoIds.add(item.getProduto().getId());
+        }
+
+        Map<Long, Produto> produtos = catalogoCacheService.buscarProdutos(produtoIds);
+        for (Long produtoId : produtoIds) {
+            if (!produtos.containsKey(produtoId)) {
+                throw new InfoException("Produto " + produtoId + " não encontrado", HttpStatus.NOT_FOUND);
+            }
+        }
+        return produtos;
+    }
+
+    // Baixa o estoque com um update condicional por produto, em ordem de id para que vendas concorrentes bloqueiem as
+    // linhas sempre na mesma ordem; os produtos vêm do cache do catálogo e não são alterados, o saldo oficial é o do banco
+    private void reservarEstoque(Venda venda, Map<Long, Produto> produtos) throws InfoException {
+        Map<Long, Double> quantidades = new TreeMap<>();
+        for (ItensVenda item : venda.getItensVenda()) {
+            if (produtos.get(item.getProduto().getId()).getEstoque() != null) {
+                if (item.getQuantidade() == null || item.getQuantidade() <= 0) {
+                    throw new InfoException("MESSAGE.QUANTIDADE_REQUIRED", HttpStatus.BAD_REQUEST);
+                }
+                quantidades.merge(item.getProduto().getId(), item.getQuantidade(), Double::sum);
+            }
+        }
+
+        for (Map.Entry<Long, Double> quantidade : quantidades.entrySet()) {
+            if (!estoqueService.reservar(quantidade.getKey(), quantidade.getValue(), venda.getId())) {
+                throw new InfoException("Estoque insuficiente para o produto " + produtos.get(quantidade.getKey()).getNome(), HttpStatus.CONFLICT);
+            }
+        }
+    }
+
     @Override
+    @Transactional(rollbackFor = InfoException.class)
     public void excluir(Long id) throws InfoException {
-        Optional<Venda> venda = vendaRepository.findById(id);
-
-        if (venda.isPresent()) {
-            excluirItensVenda(id);
-            vendaRepository.delete(venda.get());
+        if (vendaRepository.existsById(id)) {
+            excluirVendas(Collections.singletonList(id));
         } else {
             throw new InfoException("Venda não encontrada", HttpStatus.NOT_FOUND);
         }
     }
+
+    @Override
+    @Transactional(rollbackFor = InfoException.class)
+    public RetornoExclusaoVendaDTO excluirLote(List<Long> ids) throws InfoException {
+        if (ids == null || ids.isEmpty()) {
+            throw new InfoException("Informe as vendas a excluir", HttpStatus.BAD_REQUEST);
+        }
+
+        List<Long> vendaIds = new ArrayList<>();
+        List<Long> distintos = new ArrayList<>(new HashSet<>(ids));
+        for (int inicio = 0; inicio < distintos.size(); inicio += tamanhoBlocoExclusao) {
+            vendaIds.addAll(vendaRepository.findIdsByIdIn(distintos.subList(inicio, Math.min(inicio + tamanhoBlocoExclusao, distintos.size()))));
+        }
+        return excluirVendas(vendaIds);
+    }
+
+    // Um período pode ter milhões de vendas: os ids são lidos um bloco por vez (id > último do bloco anterior) e cada
+    // bloco é excluído e confirmado em sua própria transação. Se a exclusão falhar no meio, os blocos já confirmados
+    // continuam excluídos e repetir o pedido exclui o restante
+    @Override
+    public RetornoExclusaoVendaDTO excluirPorPeriodo(Date dataInicio, Date dataFim) throws InfoException {
+        if (dataInicio == null || dataFim == null || dataFim.before(dataInicio)) {
+            throw new InfoException("A data fim deve ser igual ou posterior à data início", HttpStatus.BAD_REQUEST);
+        }
+
+        LocalDate primeiroDia = dataInicio.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+        LocalDate ultimoDia = dataFim.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+        Date inicio = Date.from(primeiroDia.atStartOfDay(ZoneId.systemDefault()).toInstant());
+        Date fimExclusivo = Date.from(ultimoDia.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long quantidadeVendas = 0;
+        long quantidadeItens = 0;
+        Long ultimoId = 0L;
+        while (true) {
+            List<Long> bloco = vendaRepository.findIdsByPeriodoApos(inicio, fimExclusivo, ultimoId, PageRequest.of(0, tamanhoBlocoExclusao));
+            if (bloco.isEmpty()) {
+                break;
+            }
+            quantidadeItens += transactionTemplate.execute(status -> excluirBloco(bloco));
+            quantidadeVendas += bloco.size();
+            ultimoId = bloco.get(bloco.size() - 1);
+        }
+        return retornoExclusao(quantidadeVendas, quantidadeItens);
+    }
+
+    private RetornoExclusaoVendaDTO excluirVendas(List<Long> vendaIds) {
+        long quantidadeItens = 0;
+        for (int inicio = 0; inicio < vendaIds.size(); inicio += tamanhoBlocoExclusao) {
+            quantidadeItens += excluirBloco(vendaIds.subList(inicio, Math.min(inicio + tamanhoBlocoExclusao, vendaIds.size())));
+        }
+        return retornoExclusao(vendaIds.size(), quantidadeItens);
+    }
+
+    // Exclui as vendas e os itens do bloco com um comando cada e avisa resumo, estoque e ouvintes só sobre este bloco,
+    // para que nenhum evento carregue mais do que um bloco de linhas
+    private long excluirBloco(List<Long> bloco) {
+        List<LinhaVendaDTO> linhasBloco = itensVendaRepository.findLinhasVendaByVendaIdIn(bloco);
+        estoqueService.repor(linhasBloco);
+        resumoVendaService.estornarVendas(bloco);
+        long quantidadeItens = excluirItensVendas(bloco);
+        vendaRepository.excluirByIdIn(bloco);
+
+        applicationEventPublisher.publishEvent(new VendaExcluidaEvent(new ArrayList<>(bloco), linhasBloco));
+        return quantidadeItens;
+    }
+
+    private RetornoExclusaoVendaDTO retornoExclusao(long quantidadeVendas, long quantidadeItens) {
+        return RetornoExclusaoVendaDTO.builder()
+                .mensagem(quantidadeVendas + " venda(s) excluída(s)")
+                .quantidadeVendas(quantidadeVendas)
+                .quantidadeItens(quantidadeItens)
+                .build();
+    }
 }
@@ -0,0 +1,11 @@
+package com.sge.service.vendaLote;
+
+import com.sge.exceptions.InfoException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface VendaLoteService {
+    void inserirLote(InputStream entrada, OutputStream saida) throws IOException, InfoException;
+}
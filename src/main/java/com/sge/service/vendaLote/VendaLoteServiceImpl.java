@@ -0,0 +1,233 @@
+package com.sge.service.vendaLote;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sge.dto.ResultadoLoteVendaDTO;
+import com.sge.dto.VendaDTO;
+import com.sge.dto.RetornoLoteVendaDTO;
+import com.sge.entity.ItensVenda;
+import com.sge.entity.Venda;
+import com.sge.exceptions.InfoException;
+import com.sge.service.idempotencia.IdempotenciaVendaService;
+import com.sge.service.venda.VendaService;
+import com.sge.util.UtilVenda;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class VendaLoteServiceImpl implements VendaLoteService {
+    @Autowired
+    private VendaService vendaService;
+
+    @Autowired
+    private IdempotenciaVendaService idempotenciaVendaService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${venda.lote.tamanho-bloco:100}")
+    private int tamanhoBloco;
+
+    @Override
+    public void inserirLote(InputStream entrada, OutputStream saida) throws IOException, InfoException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(entrada)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InfoException("O lote deve ser uma lista de vendas", HttpStatus.BAD_REQUEST);
+            }
+
+            JsonStreamContext lista = parser.getParsingContext();
+            long indice = 0;
+            long sucesso = 0;
+            List<Venda> bloco = new ArrayList<>(tamanhoBloco);
+            List<ResultadoLoteVendaDTO> resultados = new ArrayList<>(tamanhoBloco);
+            String interrupcao = null;
+
+            while (true) {
+                Venda venda = null;
+                String erro = null;
+                try {
+                    JsonToken token = parser.nextToken();
+                    if (token == JsonToken.END_ARRAY) {
+                        break;
+                    }
+                    if (token == null) {
+                        interrupcao = "Lote interrompido na venda " + indice + ": lista de vendas não finalizada";
+                        break;
+                    }
+
+                    if (token != JsonToken.START_OBJECT) {
+                        erro = "A venda deve ser um objeto";
+                        pularVenda(parser, lista);
+                    } else {
+                        try {
+                            venda = objectMapper.readValue(parser, Venda.class);
+                        } catch (JsonMappingException e) {
+                            erro = "Campo inválido na venda: " + caminho(e);
+                            pularVenda(parser, lista);
+                        }
+                    }
+                } catch (JsonParseException e) {
+                    // Com o JSON malformado não há como achar o início da próxima venda
+                    interrupcao = "Lote interrompido na venda " + indice + ": JSON inválido";
+                    break;
+                }
+
+                // Vendas inválidas ficam no bloco só para manter os resultados na ordem de entrada
+                if (erro == null) {
+                    try {
+                        UtilVenda.validarVenda(venda);
+                    } catch (InfoException e) {
+                        erro = e.getMessage();
+                    }
+                }
+                if (erro == null) {
+                    bloco.add(venda);
+                    resultados.add(ResultadoLoteVendaDTO.builder().indice(indice).build());
+                } else {
+                    bloco.add(null);
+                    resultados.add(falha(indice, erro));
+                }
+                indice++;
+
+                if (bloco.size() == tamanhoBloco) {
+                    sucesso += gravarBloco(bloco, resultados, saida);
+                }
+            }
+            sucesso += gravarBloco(bloco, resultados, saida);
+
+            if (interrupcao != null) {
+                escreverLinha(saida, falha(indice, interrupcao));
+            }
+            escreverLinha(saida, RetornoLoteVendaDTO.builder()
+                    .mensagem(interrupcao != null ? interrupcao : sucesso + " de " + indice + " venda(s) cadastrada(s)")
+                    .quantidadeVendas(indice)
+                    .quantidadeSucesso(sucesso)
+                    .quantidadeFalha(indice - sucesso)
+                    .build());
+            saida.flush();
+        }
+    }
+
+    // Avança até o fim da venda atual, descartando os filhos que o mapeamento não consumiu; o contexto volta a ser
+    // o da lista quando o token de fechamento da venda é lido
+    private void pularVenda(JsonParser parser, JsonStreamContext lista) throws IOException {
+        while (parser.getParsingContext() != lista) {
+            if (parser.nextToken() == null) {
+                return;
+            }
+        }
+    }
+
+    private String caminho(JsonMappingException e) {
+        return e.getPath().stream()
+                .map(referencia -> referencia.getFieldName() != null ? referencia.getFieldName() : String.valueOf(referencia.getIndex()))
+                .collect(Collectors.joining("."));
+    }
+
+    // Grava o bloco em uma única transação; se alguma venda falhar, o bloco é desfeito e
+    // as vendas são regravadas uma a uma para que só as inválidas fiquem de fora.
+    private long gravarBloco(List<Venda> bloco, List<ResultadoLoteVendaDTO> resultados, OutputStream saida) throws IOException {
+        if (bloco.isEmpty()) {
+            return 0;
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        boolean gravado;
+        try {
+            gravado = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                try {
+                    for (int i = 0; i < bloco.size(); i++) {
+                        if (bloco.get(i) != null) {
+                            sucesso(resultados.get(i), inserirNoBloco(bloco.get(i)).getId());
+                        }
+                    }
+                    return true;
+                } catch (InfoException e) {
+                    status.setRollbackOnly();
+                    return false;
+                }
+            }));
+        } catch (RuntimeException e) {
+            gravado = false;
+        }
+
+        long sucesso = 0;
+        for (int i = 0; i < bloco.size(); i++) {
+            ResultadoLoteVendaDTO resultado = resultados.get(i);
+            if (bloco.get(i) != null && !gravado) {
+                inserirIndividualmente(bloco.get(i), resultado);
+            }
+
+            if (Boolean.TRUE.equals(resultado.getSucesso())) {
+                sucesso++;
+            }
+            escreverLinha(saida, resultado);
+        }
+        saida.flush();
+
+        bloco.clear();
+        resultados.clear();
+        return sucesso;
+    }
+
+    private VendaDTO inserirNoBloco(Venda venda) throws InfoException {
+        if (venda.getChaveIdempotencia() != null) {
+            VendaDTO existente = idempotenciaVendaService.buscarPorChave(venda.getChaveIdempotencia());
+            if (existente != null) {
+                return existente;
+            }
+        }
+        return vendaService.inserir(venda);
+    }
+
+    private void inserirIndividualmente(Venda venda, ResultadoLoteVendaDTO resultado) {
+        // Os ids gerados na tentativa desfeita não existem no banco
+        venda.setId(null);
+        for (ItensVenda item : venda.getItensVenda()) {
+            item.setId(null);
+        }
+
+        try {
+            sucesso(resultado, idempotenciaVendaService.inserir(venda, null).getId());
+        } catch (InfoException e) {
+            resultado.setSucesso(false);
+            resultado.setMensagem(e.getMessage());
+        } catch (RuntimeException e) {
+            resultado.setSucesso(false);
+            resultado.setMensagem("Ocorreu um erro ao cadastrar venda");
+        }
+    }
+
+    private void sucesso(ResultadoLoteVendaDTO resultado, Long vendaId) {
+        resultado.setVendaId(vendaId);
+        resultado.setSucesso(true);
+        resultado.setMensagem(null);
+    }
+
+    private ResultadoLoteVendaDTO falha(Long indice, String mensagem) {
+        return ResultadoLoteVendaDTO.builder().indice(indice).sucesso(false).mensagem(mensagem).build();
+    }
+
+    private void escreverLinha(OutputStream saida, Object linha) throws IOException {
+        saida.write(objectMapper.writeValueAsBytes(linha));
+        saida.write('\n');
+    }
+}
@@ -1,12 +1,27 @@
 package com.sge.util;
 
 import java.text.Normalizer;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.ZoneId;
+import java.util.Date;
 import java.util.regex.Pattern;
 
 public class Util {
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+
     public static String removerAcentos(String value) {
         String normalizer = Normalizer.normalize(value, Normalizer.Form.NFD);
-        Pattern pattern = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
-        return pattern.matcher(normalizer).replaceAll("");
+        return MARCAS_DIACRITICAS.matcher(normalizer).replaceAll("");
+    }
+
+    public static Date converterData(String value) throws ParseException {
+        return new SimpleDateFormat("yyyy-MM-dd").parse(value);
+    }
+
+    // Os intervalos de datas incluem o último dia; as consultas usam o início do dia seguinte como limite exclusivo
+    public static Date inicioDiaSeguinte(Date data) {
+        return Date.from(data.toInstant().atZone(ZoneId.systemDefault()).toLocalDate().plusDays(1)
+                .atStartOfDay(ZoneId.systemDefault()).toInstant());
     }
 }
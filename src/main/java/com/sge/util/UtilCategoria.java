@@ -15,6 +15,7 @@ public class UtilCategoria {
 
     public static CategoriaDTO converteCategoria(Categoria categoria) {
         return CategoriaDTO.builder()
+                .id(categoria.getId())
                 .nome(categoria.getNome())
                 .build();
     }
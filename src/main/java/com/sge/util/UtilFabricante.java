@@ -15,6 +15,7 @@ public class UtilFabricante {
 
     public static FabricanteDTO converteFabricante(Fabricante fabricante) {
         return FabricanteDTO.builder()
+                .id(fabricante.getId())
                 .nome(fabricante.getNome())
                 .build();
     }
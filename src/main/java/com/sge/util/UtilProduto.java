@@ -16,6 +16,12 @@ public class UtilProduto {
         if (produto.getValorVenda() == null) {
             throw new InfoException("MESSAGE.VALOR_VENDA_REQUIRED", HttpStatus.BAD_REQUEST);
         }
+        if (produto.getEstoque() != null && produto.getEstoque() < 0) {
+            throw new InfoException("MESSAGE.ESTOQUE_NEGATIVO", HttpStatus.BAD_REQUEST);
+        }
+        if (produto.getEstoqueMinimo() != null && produto.getEstoqueMinimo() < 0) {
+            throw new InfoException("MESSAGE.ESTOQUE_MINIMO_NEGATIVO", HttpStatus.BAD_REQUEST);
+        }
         if (produto.getFabricante() == null) {
             throw new InfoException("MESSAGE.MARCA_REQUIRED", HttpStatus.BAD_REQUEST);
         }
@@ -27,10 +33,13 @@ public class UtilProduto {
 
     public static ProdutoDTO converterProduto(Produto produto) {
         return ProdutoDTO.builder()
+                .id(produto.getId())
                 .nome(produto.getNome())
                 .descricao(produto.getDescricao())
                 .valorCusto(produto.getValorCusto())
                 .valorVenda(produto.getValorVenda())
+                .estoque(produto.getEstoque())
+                .estoqueMinimo(produto.getEstoqueMinimo())
                 .fabricante(produto.getFabricante() != null ? UtilFabricante.converteFabricante(produto.getFabricante()) : null)
                 .categoria(produto.getCategoria() != null ? UtilCategoria.converteCategoria(produto.getCategoria()) : null)
                 .build();
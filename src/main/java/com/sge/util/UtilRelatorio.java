@@ -0,0 +1,22 @@
+package com.sge.util;
+
+import com.sge.dto.SolicitacaoRelatorioDTO;
+import com.sge.enums.TipoRelatorio;
+import com.sge.exceptions.InfoException;
+import org.springframework.http.HttpStatus;
+
+public class UtilRelatorio {
+    public static Boolean validarSolicitacao(SolicitacaoRelatorioDTO solicitacao) throws InfoException {
+        if (solicitacao.getTipo() == null) {
+            throw new InfoException("MESSAGE.TIPO_REQUIRED", HttpStatus.BAD_REQUEST);
+        }
+        if (solicitacao.getTipo() != TipoRelatorio.DATA && solicitacao.getId() == null) {
+            throw new InfoException("MESSAGE.ID_REQUIRED", HttpStatus.BAD_REQUEST);
+        }
+        if (solicitacao.getTipo() == TipoRelatorio.DATA
+                && (solicitacao.getDataInicio() == null || solicitacao.getDataFim() == null)) {
+            throw new InfoException("MESSAGE.DATA_REQUIRED", HttpStatus.BAD_REQUEST);
+        }
+        return true;
+    }
+}
@@ -1,11 +1,15 @@
 package com.sge.util;
 
 import com.sge.dto.VendaDTO;
+import com.sge.entity.ItensVenda;
 import com.sge.entity.Venda;
 import com.sge.exceptions.InfoException;
 import org.springframework.http.HttpStatus;
 
 public class UtilVenda {
+    // Tamanho da coluna chave_idempotencia
+    private static final int TAMANHO_MAXIMO_CHAVE = 100;
+
     public static Boolean validarVenda(Venda venda) throws InfoException {
         if (venda.getUsuario() == null) {
             throw new InfoException("MESSAGE.USUARIO_REQUIRED", HttpStatus.BAD_REQUEST);
@@ -16,13 +20,29 @@ public class UtilVenda {
         if (venda.getItensVenda() == null || venda.getItensVenda().size() == 0) {
             throw new InfoException("MESSAGE.ITEM_REQUIRED", HttpStatus.BAD_REQUEST);
         }
+        // O resumo diário e os listeners pós-commit somam quantidade e valor de todos os itens
+        for (ItensVenda item : venda.getItensVenda()) {
+            if (item.getQuantidade() == null) {
+                throw new InfoException("MESSAGE.QUANTIDADE_REQUIRED", HttpStatus.BAD_REQUEST);
+            }
+            if (item.getValorUnitario() == null) {
+                throw new InfoException("MESSAGE.VALOR_UNITARIO_REQUIRED", HttpStatus.BAD_REQUEST);
+            }
+        }
         return true;
     }
 
+    public static void validarChaveIdempotencia(String chaveIdempotencia) throws InfoException {
+        if (chaveIdempotencia.isBlank() || chaveIdempotencia.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new InfoException("A chave de idempotência deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres", HttpStatus.BAD_REQUEST);
+        }
+    }
+
     public static VendaDTO converteVenda(Venda venda) {
         return VendaDTO.builder()
                 .id(venda.getId())
                 .itensVenda(UtilItensVenda.converterListaItensVenda(venda.getItensVenda()))
+                .chaveIdempotencia(venda.getChaveIdempotencia())
                 .build();
     }
 }
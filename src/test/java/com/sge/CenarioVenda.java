@@ -0,0 +1,148 @@
+package com.sge;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.sge.entity.Categoria;
+import com.sge.entity.Cliente;
+import com.sge.entity.Fabricante;
+import com.sge.entity.ItensVenda;
+import com.sge.entity.Produto;
+import com.sge.entity.Usuario;
+import com.sge.entity.Venda;
+import com.sge.exceptions.InfoException;
+import com.sge.service.categoria.CategoriaServiceImpl;
+import com.sge.service.cliente.ClienteServiceImpl;
+import com.sge.service.fabricante.FabricanteServiceImpl;
+import com.sge.service.produto.ProdutoServiceImpl;
+import com.sge.service.usuario.UsuarioServiceImpl;
+import com.sge.service.venda.VendaServiceImpl;
+
+// Cadastros comuns aos testes que registram vendas: categoria, fabricante, usuário e cliente são criados antes dos
+// testes da classe; eles, os produtos criados com criarProduto e as vendas em vendaIds são excluídos no fim
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public abstract class CenarioVenda {
+    @Autowired
+    protected VendaServiceImpl vendaService;
+    @Autowired
+    protected ProdutoServiceImpl produtoService;
+    @Autowired
+    protected CategoriaServiceImpl categoriaService;
+    @Autowired
+    protected FabricanteServiceImpl fabricanteService;
+    @Autowired
+    protected UsuarioServiceImpl usuarioService;
+    @Autowired
+    protected ClienteServiceImpl clienteService;
+
+    protected Categoria categoria;
+    protected Fabricante fabricante;
+    protected Usuario usuario;
+    protected Cliente cliente;
+    protected final List<Long> vendaIds = Collections.synchronizedList(new ArrayList<>());
+
+    private final String nome;
+    private final List<Produto> produtosCriados = new ArrayList<>();
+
+    protected CenarioVenda(String nome) {
+        this.nome = nome;
+    }
+
+    @BeforeAll
+    protected void criarCenario() throws Exception {
+        categoria = new Categoria();
+        categoria.setNome("Categoria " + nome);
+        categoriaService.inserir(categoria);
+
+        fabricante = new Fabricante();
+        fabricante.setNome("Fabricante " + nome);
+        fabricanteService.inserir(fabricante);
+
+        usuario = new Usuario();
+        usuario.setNome("Usuário " + nome);
+        usuario.setDocumento("11122233344");
+        usuario.setEndereco("Rua " + nome);
+        usuario.setCep("12345678");
+        usuario.setEmail("usuario@teste.com");
+        usuarioService.inserir(usuario);
+
+        cliente = new Cliente();
+        cliente.setNome("Cliente " + nome);
+        cliente.setDocumento("44433322211");
+        cliente.setEndereco("Rua Cliente " + nome);
+        cliente.setCep("12345678");
+        cliente.setEmail("cliente@teste.com");
+        clienteService.inserir(cliente);
+    }
+
+    @AfterAll
+    protected void excluirCenario() throws Exception {
+        if (!vendaIds.isEmpty()) {
+            vendaService.excluirLote(new ArrayList<>(vendaIds));
+        }
+        for (Produto produto : produtosCriados) {
+            produtoService.excluir(produto.getId());
+        }
+        categoriaService.excluir(categoria.getId());
+        fabricanteService.excluir(fabricante.getId());
+        usuarioService.excluir(usuario.getId());
+        clienteService.excluir(cliente.getId());
+    }
+
+    protected Produto criarProduto(String nomeProduto) throws InfoException {
+        return criarProduto(nomeProduto, null, null);
+    }
+
+    protected Produto criarProduto(String nomeProduto, Double estoque, Double estoqueMinimo) throws InfoException {
+        Produto produto = new Produto();
+        produto.setNome(nomeProduto);
+        produto.setDescricao("Descrição do produto");
+        produto.setValorCusto(5.0);
+        produto.setValorVenda(10.0);
+        produto.setEstoque(estoque);
+        produto.setEstoqueMinimo(estoqueMinimo);
+        produto.setCategoria(categoria);
+        produto.setFabricante(fabricante);
+        produtoService.inserir(produto);
+        produtosCriados.add(produto);
+        return produto;
+    }
+
+    // Venda de um item com referências apenas pelo id, como chegam pela API
+    protected Venda montarVenda(Produto produto, double quantidade) {
+        Produto referencia = new Produto();
+        referencia.setId(produto.getId());
+
+        ItensVenda item = new ItensVenda();
+        item.setProduto(referencia);
+        item.setQuantidade(quantidade);
+        item.setValorUnitario(10.0);
+
+        Usuario referenciaUsuario = new Usuario();
+        referenciaUsuario.setId(usuario.getId());
+        Cliente referenciaCliente = new Cliente();
+        referenciaCliente.setId(cliente.getId());
+
+        Venda venda = new Venda();
+        venda.setUsuario(referenciaUsuario);
+        venda.setCliente(referenciaCliente);
+        venda.setItensVenda(new ArrayList<>(List.of(item)));
+        return venda;
+    }
+
+    protected Long vender(Produto produto, double quantidade) throws InfoException {
+        return vender(montarVenda(produto, quantidade));
+    }
+
+    protected Long vender(Venda venda) throws InfoException {
+        Long vendaId = vendaService.inserir(venda).getId();
+        vendaIds.add(vendaId);
+        return vendaId;
+    }
+}
@@ -0,0 +1,73 @@
+package com.sge.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import com.sge.CenarioVenda;
+import com.sge.entity.Produto;
+import com.sge.entity.Venda;
+
+// Banco próprio: o teste precisa de um contexto em que nenhuma venda foi inserida antes do ajuste das sequências
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:sequencias")
+@WebAppConfiguration
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class InicializadorSequenciasTest extends CenarioVenda {
+    private static final long VENDA_EXISTENTE = 1000L;
+    private static final long ITEM_EXISTENTE = 2000L;
+
+    @Autowired
+    private InicializadorSequencias inicializadorSequencias;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Produto produto;
+
+    public InicializadorSequenciasTest() {
+        super("Sequência");
+    }
+
+    @BeforeAll
+    private void setUp() throws Exception {
+        produto = criarProduto("Produto Sequência");
+    }
+
+    // Roda antes da limpeza do cenário, que exclui o usuário e o cliente das linhas inseridas direto no banco
+    @AfterAll
+    private void tearDown() {
+        jdbcTemplate.update("delete from itens_venda where id = ?", ITEM_EXISTENTE);
+        jdbcTemplate.update("delete from venda where id = ?", VENDA_EXISTENTE);
+    }
+
+    @Test
+    @DisplayName("Vendas gravadas antes das sequências não devem colidir com as novas chaves")
+    @Tag("sequencias")
+    public void testSequenciasAvancamAlemDoMaiorId() throws Exception {
+        // Simula vendas gravadas quando as chaves ainda eram IDENTITY
+        jdbcTemplate.update("insert into venda (id, data_venda, usuario_id, cliente_id) values (?, ?, ?, ?)",
+                VENDA_EXISTENTE, new Date(), usuario.getId(), cliente.getId());
+        jdbcTemplate.update("insert into itens_venda (id, quantidade, valor_unitario, venda_id, produto_id) values (?, ?, ?, ?, ?)",
+                ITEM_EXISTENTE, 1.0, 10.0, VENDA_EXISTENTE, produto.getId());
+
+        inicializadorSequencias.iniciar();
+        // Repetir o ajuste não deve voltar as sequências
+        inicializadorSequencias.iniciar();
+
+        Venda venda = montarVenda(produto, 1.0);
+        Long vendaId = vender(venda);
+
+        assertTrue(vendaId > VENDA_EXISTENTE);
+        assertTrue(venda.getItensVenda().get(0).getId() > ITEM_EXISTENTE);
+    }
+}
@@ -0,0 +1,105 @@
+package com.sge.service.alertaEstoque;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.mail.internet.MimeMessage;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.sge.CenarioVenda;
+import com.sge.dto.MovimentoEstoqueDTO;
+import com.sge.entity.Produto;
+import com.sge.enums.TipoMovimentoEstoque;
+import com.sge.service.estoque.EstoqueServiceImpl;
+
+@SpringBootTest(properties = {"estoque.alerta.habilitado=true", "estoque.alerta.intervalo-ms=3600000", "estoque.alerta.tamanho-lote=2",
+        "spring.mail.host=localhost", "spring.mail.port=3025",
+        "spring.mail.properties.mail.smtp.starttls.enable=false", "spring.mail.properties.mail.smtp.starttls.required=false"})
+@WebAppConfiguration
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class AlertaEstoqueServiceImplTest extends CenarioVenda {
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withUser("teste@teste.com", "teste123"))
+            .withPerMethodLifecycle(false);
+
+    @Autowired
+    private AlertaEstoqueServiceImpl alertaEstoqueService;
+    @Autowired
+    private EstoqueServiceImpl estoqueService;
+
+    private final List<Produto> produtos = new ArrayList<>();
+
+    public AlertaEstoqueServiceImplTest() {
+        super("Alerta");
+    }
+
+    @BeforeAll
+    private void setUp() throws Exception {
+        for (String nome : List.of("Produto Alerta A", "Produto Alerta B", "Produto Alerta C")) {
+            produtos.add(criarProduto(nome, 10.0, 5.0));
+        }
+    }
+
+    @Test
+    @DisplayName("Alertas de estoque baixo devem sair uma vez por produto, agrupados em lotes de e-mail")
+    @Tag("AlertaEstoqueService")
+    public void testEnviarAlertasEstoqueBaixo() throws Exception {
+        Produto produtoA = produtos.get(0);
+        vender(produtoA, 3.0);
+        assertTrue(alertaEstoqueService.buscarPendentes().isEmpty());
+
+        vender(produtoA, 3.0);
+        vender(produtoA, 1.0);
+        assertEquals(1, alertaEstoqueService.buscarPendentes().size());
+        assertEquals(4.0, alertaEstoqueService.buscarPendentes().get(0).getEstoque());
+
+        estoqueService.movimentar(produtoA.getId(), MovimentoEstoqueDTO.builder().tipo(TipoMovimentoEstoque.ENTRADA).quantidade(9.0).build());
+        vender(produtoA, 9.0);
+        vender(produtos.get(1), 6.0);
+        estoqueService.movimentar(produtos.get(2).getId(), MovimentoEstoqueDTO.builder().tipo(TipoMovimentoEstoque.AJUSTE).quantidade(-6.0).build());
+
+        assertEquals(3, alertaEstoqueService.buscarPendentes().size());
+        assertEquals(3.0, alertaEstoqueService.buscarPendentes().get(0).getEstoque());
+        assertEquals(3, alertaEstoqueService.enviarPendentes());
+        assertEquals(0, alertaEstoqueService.enviarPendentes());
+
+        MimeMessage[] mensagens = greenMail.getReceivedMessages();
+        assertEquals(2, mensagens.length);
+        assertEquals("Alerta de estoque baixo: 2 produto(s)", mensagens[0].getSubject());
+        assertEquals("Alerta de estoque baixo: 1 produto(s)", mensagens[1].getSubject());
+        String texto = GreenMailUtil.getBody(mensagens[0]);
+        assertTrue(texto.contains("Produto Alerta A"), texto);
+        assertTrue(texto.contains("estoque 3.0"), texto);
+        assertTrue(GreenMailUtil.getBody(mensagens[1]).contains("Produto Alerta C"));
+    }
+
+    @Test
+    @DisplayName("Alertas habilitados sem destinatários devem impedir a inicialização")
+    @Tag("AlertaEstoqueService")
+    public void testHabilitadoSemDestinatarios() {
+        AlertaEstoqueServiceImpl semDestinatarios = new AlertaEstoqueServiceImpl();
+        ReflectionTestUtils.setField(semDestinatarios, "habilitado", true);
+        ReflectionTestUtils.setField(semDestinatarios, "destinatarios", new String[0]);
+        assertThrows(IllegalStateException.class, semDestinatarios::iniciar);
+
+        ReflectionTestUtils.setField(semDestinatarios, "destinatarios", new String[]{" "});
+        assertThrows(IllegalStateException.class, semDestinatarios::iniciar);
+    }
+}
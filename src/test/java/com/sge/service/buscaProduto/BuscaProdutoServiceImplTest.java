@@ -0,0 +1,201 @@
+package com.sge.service.buscaProduto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import com.sge.dto.FacetaDTO;
+import com.sge.dto.FaixaPrecoDTO;
+import com.sge.dto.NavegacaoProdutoDTO;
+import com.sge.dto.ResultadoBuscaProdutoDTO;
+import com.sge.entity.Categoria;
+import com.sge.entity.Fabricante;
+import com.sge.entity.Produto;
+import com.sge.exceptions.InfoException;
+import com.sge.service.categoria.CategoriaServiceImpl;
+import com.sge.service.fabricante.FabricanteServiceImpl;
+import com.sge.service.produto.ProdutoServiceImpl;
+
+@SpringBootTest
+@WebAppConfiguration
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class BuscaProdutoServiceImplTest {
+    @Autowired
+    private BuscaProdutoServiceImpl buscaProdutoService;
+    @Autowired
+    private ProdutoServiceImpl produtoService;
+    @Autowired
+    private CategoriaServiceImpl categoriaService;
+    @Autowired
+    private FabricanteServiceImpl fabricanteService;
+
+    private Categoria categoria;
+    private Categoria outraCategoria;
+    private Fabricante fabricante;
+    private Fabricante outroFabricante;
+    private final List<Produto> produtos = new ArrayList<>();
+
+    @BeforeAll
+    private void setUp() throws Exception {
+        categoria = new Categoria();
+        categoria.setNome("Categoria Busca");
+        categoriaService.inserir(categoria);
+
+        fabricante = new Fabricante();
+        fabricante.setNome("Fabricante Busca");
+        fabricanteService.inserir(fabricante);
+
+        produtos.add(produtoService.inserir(novoProduto("Café Xícara Torrado", "Pacote de 500g")));
+        produtos.add(produtoService.inserir(novoProduto("Xícara de Porcelana", "Ideal para café")));
+        produtos.add(produtoService.inserir(novoProduto("Açúcar Xícara Refinado", "Pacote de 1kg")));
+
+        outraCategoria = new Categoria();
+        outraCategoria.setNome("Outra Categoria Busca");
+        categoriaService.inserir(outraCategoria);
+
+        outroFabricante = new Fabricante();
+        outroFabricante.setNome("Outro Fabricante Busca");
+        fabricanteService.inserir(outroFabricante);
+
+        produtos.add(produtoService.inserir(novoProduto("Garrafa Térmica", "Inox", outraCategoria, fabricante, 75.0)));
+        produtos.add(produtoService.inserir(novoProduto("Cafeteira Italiana", "Alumínio", outraCategoria, outroFabricante, 300.0)));
+        produtos.add(produtoService.inserir(novoProduto("Moedor de Café", "Elétrico", categoria, outroFabricante, 1000.0)));
+    }
+
+    @AfterAll
+    private void tearDown() throws Exception {
+        for (Produto produto : produtos) {
+            produtoService.excluir(produto.getId());
+        }
+        categoriaService.excluir(categoria.getId());
+        categoriaService.excluir(outraCategoria.getId());
+        fabricanteService.excluir(fabricante.getId());
+        fabricanteService.excluir(outroFabricante.getId());
+    }
+
+    private Produto novoProduto(String nome, String descricao) {
+        return novoProduto(nome, descricao, categoria, fabricante, 10.0);
+    }
+
+    private Produto novoProduto(String nome, String descricao, Categoria categoriaProduto, Fabricante fabricanteProduto, double valorVenda) {
+        Produto produto = new Produto();
+        produto.setNome(nome);
+        produto.setDescricao(descricao);
+        produto.setValorCusto(5.0);
+        produto.setValorVenda(valorVenda);
+        produto.setCategoria(categoriaProduto);
+        produto.setFabricante(fabricanteProduto);
+        return produto;
+    }
+
+    private Map<Long, Long> contagens(List<FacetaDTO> facetas) {
+        return facetas.stream().collect(Collectors.toMap(FacetaDTO::getId, FacetaDTO::getQuantidade));
+    }
+
+    private Map<Integer, Long> contagensFaixas(List<FaixaPrecoDTO> faixas) {
+        return faixas.stream().filter(faixa -> faixa.getQuantidade() > 0)
+                .collect(Collectors.toMap(FaixaPrecoDTO::getIndice, FaixaPrecoDTO::getQuantidade));
+    }
+
+    private List<String> nomes(String termo) throws InfoException {
+        return buscaProdutoService.buscar(termo, 20).stream()
+                .map(ResultadoBuscaProdutoDTO::getNome)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Busca deve ignorar acentos e maiúsculas e ordenar acertos no nome antes da descrição")
+    @Tag("BuscaProdutoService")
+    public void testBuscarSemAcentos() throws Exception {
+        assertEquals(List.of("Café Xícara Torrado", "Xícara de Porcelana"), nomes("CAFE xicara"));
+        assertEquals(List.of("Açúcar Xícara Refinado"), nomes("acucar"));
+        assertTrue(nomes("café inexistente").isEmpty());
+        assertTrue(nomes("  ").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Prefixos devem autocompletar, com o termo exato à frente")
+    @Tag("BuscaProdutoService")
+    public void testAutocompletar() throws Exception {
+        assertEquals(List.of("Xícara de Porcelana"), nomes("porc"));
+        assertEquals(List.of("Café Xícara Torrado", "Xícara de Porcelana"), nomes("xic caf"));
+        assertEquals(1, buscaProdutoService.buscar("xic", 1).size());
+        assertThrows(InfoException.class, () -> buscaProdutoService.buscar("xic", 0));
+    }
+
+    @Test
+    @DisplayName("Índice deve acompanhar alteração e exclusão de produtos")
+    @Tag("BuscaProdutoService")
+    public void testAtualizarIndice() throws Exception {
+        Produto temporario = produtoService.inserir(novoProduto("Chaleira Elétrica", "Inox"));
+        assertEquals(List.of("Chaleira Elétrica"), nomes("chaleira"));
+
+        produtoService.alterar(temporario.getId(), novoProduto("Bule Elétrico", "Inox"));
+        assertTrue(nomes("chaleira").isEmpty());
+        assertEquals(List.of("Bule Elétrico"), nomes("bule inox"));
+
+        produtoService.excluir(temporario.getId());
+        assertTrue(nomes("bule").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Navegação deve intersectar os filtros e contar cada faceta com os filtros das demais")
+    @Tag("BuscaProdutoService")
+    public void testNavegarFacetas() throws Exception {
+        List<Long> fabricantes = List.of(fabricante.getId(), outroFabricante.getId());
+
+        NavegacaoProdutoDTO todos = buscaProdutoService.navegar(null, fabricantes, null, 0, 20);
+        assertEquals(6L, todos.getTotal());
+        assertEquals(Map.of(categoria.getId(), 4L, outraCategoria.getId(), 2L), contagens(todos.getCategorias()));
+        assertEquals("Categoria Busca", todos.getCategorias().get(0).getNome());
+
+        NavegacaoProdutoDTO filtrado = buscaProdutoService.navegar(List.of(outraCategoria.getId()), fabricantes, null, 0, 20);
+        assertEquals(2L, filtrado.getTotal());
+        assertEquals(List.of("Garrafa Térmica", "Cafeteira Italiana"),
+                filtrado.getProdutos().stream().map(ResultadoBuscaProdutoDTO::getNome).collect(Collectors.toList()));
+        assertEquals(Map.of(categoria.getId(), 4L, outraCategoria.getId(), 2L), contagens(filtrado.getCategorias()));
+        assertEquals(Map.of(fabricante.getId(), 1L, outroFabricante.getId(), 1L), contagens(filtrado.getFabricantes()));
+        assertEquals(Map.of(1, 1L, 3, 1L), contagensFaixas(filtrado.getFaixasPreco()));
+
+        NavegacaoProdutoDTO porFaixa = buscaProdutoService.navegar(null, fabricantes, List.of(5), 0, 20);
+        assertEquals(List.of("Moedor de Café"),
+                porFaixa.getProdutos().stream().map(ResultadoBuscaProdutoDTO::getNome).collect(Collectors.toList()));
+        assertEquals(1000.0, porFaixa.getFaixasPreco().get(5).getMinimo());
+        assertNull(porFaixa.getFaixasPreco().get(5).getMaximo());
+
+        NavegacaoProdutoDTO segundaPagina = buscaProdutoService.navegar(null, List.of(fabricante.getId()), List.of(0), 1, 2);
+        assertEquals(3L, segundaPagina.getTotal());
+        assertEquals(1, segundaPagina.getProdutos().size());
+
+        assertThrows(InfoException.class, () -> buscaProdutoService.navegar(null, null, List.of(6), 0, 20));
+        assertThrows(InfoException.class, () -> buscaProdutoService.navegar(null, null, null, 0, 0));
+    }
+
+    @Test
+    @DisplayName("Facetas devem acompanhar a alteração de preço do produto")
+    @Tag("BuscaProdutoService")
+    public void testAtualizarFacetas() throws Exception {
+        Produto temporario = produtoService.inserir(novoProduto("Jarra Medidora", "Vidro", outraCategoria, outroFabricante, 20.0));
+        assertEquals(1L, buscaProdutoService.navegar(List.of(outraCategoria.getId()), null, List.of(0), 0, 20).getTotal());
+
+        produtoService.alterar(temporario.getId(), novoProduto("Jarra Medidora", "Vidro", outraCategoria, outroFabricante, 600.0));
+        assertEquals(0L, buscaProdutoService.navegar(List.of(outraCategoria.getId()), null, List.of(0), 0, 20).getTotal());
+        assertEquals(1L, buscaProdutoService.navegar(List.of(outraCategoria.getId()), null, List.of(4), 0, 20).getTotal());
+
+        produtoService.excluir(temporario.getId());
+        assertEquals(2L, buscaProdutoService.navegar(List.of(outraCategoria.getId()), null, null, 0, 20).getTotal());
+    }
+}
@@ -0,0 +1,127 @@
+package com.sge.service.buscaReferencia;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import com.sge.dto.PaginaReferenciaDTO;
+import com.sge.dto.ReferenciaDTO;
+import com.sge.entity.Categoria;
+import com.sge.entity.Fabricante;
+import com.sge.entity.Permissao;
+import com.sge.enums.TipoReferencia;
+import com.sge.exceptions.InfoException;
+import com.sge.service.categoria.CategoriaServiceImpl;
+import com.sge.service.fabricante.FabricanteServiceImpl;
+import com.sge.service.permissao.PermissaoServiceImpl;
+
+@SpringBootTest
+@WebAppConfiguration
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class BuscaReferenciaServiceImplTest {
+    @Autowired
+    private BuscaReferenciaServiceImpl buscaReferenciaService;
+    @Autowired
+    private CategoriaServiceImpl categoriaService;
+    @Autowired
+    private FabricanteServiceImpl fabricanteService;
+    @Autowired
+    private PermissaoServiceImpl permissaoService;
+
+    private final List<Categoria> categorias = new ArrayList<>();
+    private Fabricante fabricante;
+    private Permissao permissao;
+
+    @BeforeAll
+    private void setUp() throws Exception {
+        for (String nome : List.of("Eletrônicos Trigrama", "Eletrodomésticos Trigrama", "Alimentos Trigrama")) {
+            Categoria categoria = new Categoria();
+            categoria.setNome(nome);
+            categorias.add(categoriaService.inserir(categoria));
+        }
+
+        fabricante = new Fabricante();
+        fabricante.setNome("Indústria Trigrama Ltda");
+        fabricanteService.inserir(fabricante);
+
+        permissao = new Permissao();
+        permissao.setNome("Gerente Trigrama");
+        permissaoService.inserir(permissao);
+    }
+
+    @AfterAll
+    private void tearDown() throws Exception {
+        for (Categoria categoria : categorias) {
+            categoriaService.excluir(categoria.getId());
+        }
+        fabricanteService.excluir(fabricante.getId());
+        permissaoService.excluir(permissao.getId());
+    }
+
+    private List<String> nomes(TipoReferencia tipo, String termo) throws InfoException {
+        return buscaReferenciaService.buscar(tipo, termo, 0, 20).getItens().stream()
+                .map(ReferenciaDTO::getNome)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Busca deve encontrar trechos do nome sem diferenciar acentos e maiúsculas")
+    @Tag("BuscaReferenciaService")
+    public void testBuscarTrecho() throws Exception {
+        assertEquals(List.of("Eletrônicos Trigrama", "Eletrodomésticos Trigrama"), nomes(TipoReferencia.CATEGORIA, "ELETRO"));
+        assertEquals(List.of("Eletrônicos Trigrama"), nomes(TipoReferencia.CATEGORIA, "ronicos trig"));
+        assertEquals(List.of("Alimentos Trigrama"), nomes(TipoReferencia.CATEGORIA, "ali"));
+        assertTrue(nomes(TipoReferencia.CATEGORIA, "eletroa").isEmpty());
+        assertTrue(nomes(TipoReferencia.CATEGORIA, "trigrama").size() >= 3);
+
+        assertEquals(List.of("Indústria Trigrama Ltda"), nomes(TipoReferencia.FABRICANTE, "industria trig"));
+        assertEquals(List.of("GERENTE TRIGRAMA"), nomes(TipoReferencia.PERMISSAO, "rente tri"));
+    }
+
+    @Test
+    @DisplayName("Busca deve paginar em ordem de id e informar o total")
+    @Tag("BuscaReferenciaService")
+    public void testPaginar() throws Exception {
+        PaginaReferenciaDTO primeira = buscaReferenciaService.buscar(TipoReferencia.CATEGORIA, "s trigrama", 0, 2);
+        PaginaReferenciaDTO segunda = buscaReferenciaService.buscar(TipoReferencia.CATEGORIA, "s trigrama", 1, 2);
+
+        assertEquals(3L, primeira.getTotal());
+        assertEquals(3L, segunda.getTotal());
+        assertEquals(List.of(categorias.get(0).getId(), categorias.get(1).getId()),
+                primeira.getItens().stream().map(ReferenciaDTO::getId).collect(Collectors.toList()));
+        assertEquals(List.of(categorias.get(2).getId()),
+                segunda.getItens().stream().map(ReferenciaDTO::getId).collect(Collectors.toList()));
+        assertThrows(InfoException.class, () -> buscaReferenciaService.buscar(TipoReferencia.CATEGORIA, "a", 0, 101));
+    }
+
+    @Test
+    @DisplayName("Índice deve acompanhar inclusão, alteração e exclusão")
+    @Tag("BuscaReferenciaService")
+    public void testAtualizarIndice() throws Exception {
+        Categoria temporaria = new Categoria();
+        temporaria.setNome("Brinquedos Temporários");
+        categoriaService.inserir(temporaria);
+        assertEquals(List.of("Brinquedos Temporários"), nomes(TipoReferencia.CATEGORIA, "brinq"));
+
+        Categoria alteracao = new Categoria();
+        alteracao.setNome("Papelaria Temporária");
+        categoriaService.alterar(temporaria.getId(), alteracao);
+        assertTrue(nomes(TipoReferencia.CATEGORIA, "brinq").isEmpty());
+        assertEquals(List.of("Papelaria Temporária"), nomes(TipoReferencia.CATEGORIA, "papel"));
+
+        categoriaService.excluir(temporaria.getId());
+        assertTrue(nomes(TipoReferencia.CATEGORIA, "papel").isEmpty());
+    }
+}
@@ -0,0 +1,124 @@
+package com.sge.service.catalogo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import com.sge.CenarioVenda;
+import com.sge.dto.EstatisticaCacheDTO;
+import com.sge.entity.Categoria;
+import com.sge.entity.Fabricante;
+import com.sge.entity.Produto;
+
+@SpringBootTest
+@WebAppConfiguration
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class CatalogoCacheServiceImplTest extends CenarioVenda {
+    @Autowired
+    private CatalogoCacheServiceImpl catalogoCacheService;
+
+    private Produto produto;
+
+    public CatalogoCacheServiceImplTest() {
+        super("Cache");
+    }
+
+    @BeforeAll
+    private void setUp() throws Exception {
+        produto = produtoService.inserir(novoProduto("Produto Cache"));
+    }
+
+    @AfterAll
+    private void tearDown() throws Exception {
+        produtoService.excluir(produto.getId());
+    }
+
+    // Categoria e fabricante apenas pelo id, para que o serviço os complete a partir do cache
+    private Produto novoProduto(String nome) {
+        Categoria referenciaCategoria = new Categoria();
+        referenciaCategoria.setId(categoria.getId());
+        Fabricante referenciaFabricante = new Fabricante();
+        referenciaFabricante.setId(fabricante.getId());
+
+        Produto novo = new Produto();
+        novo.setNome(nome);
+        novo.setDescricao("Produto do cache do catálogo");
+        novo.setValorCusto(5.0);
+        novo.setValorVenda(10.0);
+        novo.setCategoria(referenciaCategoria);
+        novo.setFabricante(referenciaFabricante);
+        return novo;
+    }
+
+    private EstatisticaCacheDTO estatisticas(String nome) {
+        return catalogoCacheService.buscarEstatisticas().stream()
+                .filter(estatistica -> estatistica.getNome().equals(nome))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Leituras repetidas de um produto devem ser servidas pelo cache")
+    @Tag("CatalogoCacheService")
+    public void testAcertosCache() throws Exception {
+        catalogoCacheService.invalidarProduto(produto.getId());
+        EstatisticaCacheDTO antes = estatisticas("produtos");
+
+        Produto primeiraLeitura = produtoService.buscarPorId(produto.getId());
+        Produto segundaLeitura = produtoService.buscarPorId(produto.getId());
+
+        EstatisticaCacheDTO depois = estatisticas("produtos");
+        assertEquals(primeiraLeitura, segundaLeitura);
+        assertEquals(antes.getFalhas() + 1, depois.getFalhas());
+        assertEquals(antes.getAcertos() + 1, depois.getAcertos());
+        assertEquals(antes.getCarregamentos() + 1, depois.getCarregamentos());
+    }
+
+    @Test
+    @DisplayName("Categoria e fabricante informados pelo id devem ser completados a partir do cache")
+    @Tag("CatalogoCacheService")
+    public void testResolverReferencias() throws Exception {
+        assertEquals("Categoria Cache", produto.getCategoria().getNome());
+        assertEquals("Fabricante Cache", produto.getFabricante().getNome());
+    }
+
+    @Test
+    @DisplayName("Alterar produto, categoria ou fabricante deve invalidar o cache")
+    @Tag("CatalogoCacheService")
+    public void testInvalidarAlteracao() throws Exception {
+        produtoService.buscarPorId(produto.getId());
+        produtoService.alterar(produto.getId(), novoProduto("Produto Cache Alterado"));
+        assertEquals("Produto Cache Alterado", produtoService.buscarPorId(produto.getId()).getNome());
+
+        Categoria alteracaoCategoria = new Categoria();
+        alteracaoCategoria.setNome("Categoria Cache Alterada");
+        categoriaService.alterar(categoria.getId(), alteracaoCategoria);
+        assertEquals("Categoria Cache Alterada", categoriaService.buscarPorId(categoria.getId()).getNome());
+        assertEquals("Categoria Cache Alterada", produtoService.buscarPorId(produto.getId()).getCategoria().getNome());
+
+        Fabricante alteracaoFabricante = new Fabricante();
+        alteracaoFabricante.setNome("Fabricante Cache Alterado");
+        fabricanteService.alterar(fabricante.getId(), alteracaoFabricante);
+        assertEquals("Fabricante Cache Alterado", fabricanteService.buscarPorId(fabricante.getId()).getNome());
+        assertEquals("Fabricante Cache Alterado", produtoService.buscarPorId(produto.getId()).getFabricante().getNome());
+    }
+
+    @Test
+    @DisplayName("Excluir produto deve removê-lo do cache")
+    @Tag("CatalogoCacheService")
+    public void testInvalidarExclusao() throws Exception {
+        Produto temporario = produtoService.inserir(novoProduto("Produto Cache Temporário"));
+        assertNotNull(produtoService.buscarPorId(temporario.getId()));
+
+        produtoService.excluir(temporario.getId());
+        assertNull(produtoService.buscarPorId(temporario.getId()));
+    }
+}
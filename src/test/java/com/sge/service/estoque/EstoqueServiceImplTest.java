@@ -0,0 +1,150 @@
+package com.sge.service.estoque;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import com.sge.CenarioVenda;
+import com.sge.dto.MovimentoEstoqueDTO;
+import com.sge.dto.SaldoEstoqueDTO;
+import com.sge.entity.Produto;
+import com.sge.enums.TipoMovimentoEstoque;
+import com.sge.exceptions.InfoException;
+
+@SpringBootTest
+@WebAppConfiguration
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class EstoqueServiceImplTest extends CenarioVenda {
+    @Autowired
+    private EstoqueServiceImpl estoqueService;
+
+    private Produto produto;
+
+    public EstoqueServiceImplTest() {
+        super("Estoque");
+    }
+
+    @BeforeAll
+    private void setUp() throws Exception {
+        produto = criarProduto("Produto Estoque", 100.0, null);
+    }
+
+    private Long vender(double quantidade) throws InfoException {
+        return vender(produto, quantidade);
+    }
+
+    private MovimentoEstoqueDTO movimento(TipoMovimentoEstoque tipo, double quantidade) {
+        return MovimentoEstoqueDTO.builder().tipo(tipo).quantidade(quantidade).observacao("Teste").build();
+    }
+
+    private double estoqueAtual() throws InfoException {
+        return produtoService.buscarPorId(produto.getId()).getEstoque();
+    }
+
+    @Test
+    @DisplayName("Saldo deve ser o último snapshot somado aos movimentos posteriores, inclusive em datas passadas")
+    @Tag("EstoqueService")
+    public void testSaldoComSnapshots() throws Exception {
+        double base = estoqueAtual();
+        Date inicio = new Date();
+        Thread.sleep(5);
+
+        vender(30.0);
+        estoqueService.movimentar(produto.getId(), movimento(TipoMovimentoEstoque.ENTRADA, 20.0));
+        estoqueService.movimentar(produto.getId(), movimento(TipoMovimentoEstoque.AJUSTE, -5.0));
+        assertEquals(base - 15.0, estoqueAtual());
+        assertEquals(base - 15.0, estoqueService.buscarSaldo(produto.getId(), null).getSaldo());
+
+        Thread.sleep(5);
+        Date corte = new Date();
+        assertTrue(estoqueService.gerarSnapshots(corte) >= 1);
+        assertEquals(0, estoqueService.gerarSnapshots(corte));
+        Thread.sleep(5);
+
+        Long vendaId = vender(10.0);
+        SaldoEstoqueDTO saldo = estoqueService.buscarSaldo(produto.getId(), null);
+        assertEquals(base - 25.0, saldo.getSaldo());
+        assertEquals(base - 15.0, saldo.getSaldoSnapshot());
+        assertEquals(1L, saldo.getMovimentosDesdeSnapshot());
+        assertEquals(base - 25.0, estoqueAtual());
+
+        vendaService.excluir(vendaId);
+        vendaIds.remove(vendaId);
+        assertEquals(base - 15.0, estoqueService.buscarSaldo(produto.getId(), null).getSaldo());
+        assertEquals(base - 15.0, estoqueAtual());
+
+        assertEquals(base - 15.0, estoqueService.buscarSaldo(produto.getId(), corte).getSaldo());
+        assertEquals(base, estoqueService.buscarSaldo(produto.getId(), inicio).getSaldo());
+        assertEquals(0.0, estoqueService.buscarSaldo(produto.getId(), new Date(0)).getSaldo());
+
+        List<MovimentoEstoqueDTO> movimentos = estoqueService.buscarMovimentos(produto.getId(), inicio, new Date());
+        assertEquals(List.of(TipoMovimentoEstoque.VENDA, TipoMovimentoEstoque.ENTRADA, TipoMovimentoEstoque.AJUSTE,
+                        TipoMovimentoEstoque.VENDA, TipoMovimentoEstoque.DEVOLUCAO),
+                movimentos.stream().map(MovimentoEstoqueDTO::getTipo).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Alterar o estoque do produto deve registrar um ajuste com a diferença")
+    @Tag("EstoqueService")
+    public void testAlterarEstoqueProduto() throws Exception {
+        double anterior = estoqueAtual();
+        Produto alteracao = produtoService.buscarPorId(produto.getId());
+        alteracao.setEstoque(anterior + 50.0);
+        produtoService.alterar(produto.getId(), alteracao);
+
+        assertEquals(anterior + 50.0, estoqueAtual());
+        assertEquals(anterior + 50.0, estoqueService.buscarSaldo(produto.getId(), null).getSaldo());
+
+        InfoException exception = assertThrows(InfoException.class,
+                () -> estoqueService.movimentar(produto.getId(), movimento(TipoMovimentoEstoque.AJUSTE, -(anterior + 51.0))));
+        assertEquals("Estoque insuficiente para o ajuste", exception.getMessage());
+        assertThrows(InfoException.class, () -> estoqueService.movimentar(produto.getId(), movimento(TipoMovimentoEstoque.VENDA, 1.0)));
+    }
+
+    @Test
+    @DisplayName("Definir o saldo durante vendas concorrentes deve manter o estoque igual ao saldo dos movimentos")
+    @Tag("EstoqueService")
+    public void testDefinirSaldoConcorrente() throws Exception {
+        int vendas = 10;
+        ExecutorService executor = Executors.newFixedThreadPool(vendas + 1);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (int i = 0; i < vendas; i++) {
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                return vender(1.0);
+            }));
+        }
+        tarefas.add(executor.submit(() -> {
+            largada.await();
+            estoqueService.definirSaldo(produto.getId(), 500.0);
+            return null;
+        }));
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        double atual = estoqueAtual();
+        assertTrue(atual <= 500.0 && atual >= 500.0 - vendas, "Estoque inesperado: " + atual);
+        assertEquals(atual, estoqueService.buscarSaldo(produto.getId(), null).getSaldo());
+    }
+}
@@ -0,0 +1,91 @@
+package com.sge.service.feedVenda;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sge.entity.Venda;
+import com.sge.service.venda.VendaRegistradaEvent;
+
+// Servidor real: só uma conexão TCP que não é lida deixa o envio do emitter preso
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "venda.feed.threads=1",
+        "venda.feed.intervalo-heartbeat-ms=100",
+        "venda.feed.tempo-maximo-envio-ms=500"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class FeedVendaServiceImplTest {
+    private static final int EVENTOS = 400;
+    private static final int TAMANHO_EVENTO = 64 * 1024;
+
+    @Autowired
+    private FeedVendaServiceImpl feedVendaService;
+
+    @LocalServerPort
+    private int porta;
+
+    @Test
+    @DisplayName("Assinante que não lê deve ser desconectado pelo vigia sem fechar o emitter durante o envio")
+    @Tag("feedVenda")
+    public void testAssinanteQueNaoLe() throws Exception {
+        Set<?> assinantes = (Set<?>) ReflectionTestUtils.getField(feedVendaService, "assinantes");
+
+        try (Socket socket = new Socket()) {
+            socket.setReceiveBufferSize(4096);
+            socket.connect(new InetSocketAddress("localhost", porta));
+            OutputStream saida = socket.getOutputStream();
+            saida.write(("GET /api/venda/eventos HTTP/1.1\r\nHost: localhost\r\nAccept: text/event-stream\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            saida.flush();
+
+            assertTrue(aguardar(() -> assinantes.size() == 1));
+            Object assinante = new ArrayList<>(assinantes).get(0);
+
+            // Eventos grandes o bastante para encher os buffers do socket; o único thread de envio fica preso
+            String chave = String.join("", Collections.nCopies(TAMANHO_EVENTO, "x"));
+            for (long id = 1; id <= EVENTOS; id++) {
+                Venda venda = new Venda();
+                venda.setId(id);
+                venda.setChaveIdempotencia(chave);
+                venda.setItensVenda(Collections.emptyList());
+                feedVendaService.registrarVenda(new VendaRegistradaEvent(venda));
+            }
+
+            assertTrue(aguardar(assinantes::isEmpty));
+            assertNotEquals(0L, ReflectionTestUtils.getField(assinante, "inicioEnvio"));
+            assertFalse(((AtomicBoolean) ReflectionTestUtils.getField(assinante, "fechado")).get());
+
+            socket.setSoLinger(true, 0);
+            socket.close();
+            // Com a conexão encerrada a escrita falha e o próprio envio fecha o emitter
+            assertTrue(aguardar(() -> ((AtomicBoolean) ReflectionTestUtils.getField(assinante, "fechado")).get()));
+        }
+    }
+
+    private boolean aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 30000;
+        while (!condicao.getAsBoolean()) {
+            if (System.currentTimeMillis() > limite) {
+                return false;
+            }
+            Thread.sleep(50);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,268 @@
+package com.sge.service.journal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sge.CenarioVenda;
+import com.sge.dto.VendaDTO;
+import com.sge.entity.Produto;
+import com.sge.entity.Venda;
+import com.sge.exceptions.InfoException;
+import com.sge.service.idempotencia.IdempotenciaVendaServiceImpl;
+
+@SpringBootTest(properties = {"venda.journal.habilitado=true", "venda.journal.arquivo=target/teste/venda.journal",
+        "venda.journal.arquivo-descartes=target/teste/venda.journal.descartes"})
+@WebAppConfiguration
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class JournalVendaServiceImplTest extends CenarioVenda {
+    @Autowired
+    private JournalVendaServiceImpl journalVendaService;
+    @Autowired
+    private IdempotenciaVendaServiceImpl idempotenciaVendaService;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Produto produto;
+    private Produto produtoComEstoque;
+
+    public JournalVendaServiceImplTest() {
+        super("Journal");
+    }
+
+    @BeforeAll
+    private void setUp() throws Exception {
+        produto = criarProduto("Produto Journal");
+        produtoComEstoque = criarProduto("Produto Journal Estoque", 3.0, null);
+    }
+
+    private Venda montarVenda() {
+        return montarVenda(produto);
+    }
+
+    private Venda montarVenda(Produto produto) {
+        return montarVenda(produto, 1.0);
+    }
+
+    @Test
+    @DisplayName("Vendas confirmadas pelo journal devem ser gravadas no banco em segundo plano")
+    @Tag("journal")
+    public void testVendasAplicadasAoBanco() throws Exception {
+        List<String> chaves = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            VendaDTO vendaDTO = journalVendaService.registrar(montarVenda(), null);
+
+            assertNull(vendaDTO.getId());
+            assertEquals(produto.getNome(), vendaDTO.getItensVenda().get(0).getProduto().getNome());
+            chaves.add(vendaDTO.getChaveIdempotencia());
+        }
+
+        long limite = System.currentTimeMillis() + 10_000;
+        while (journalVendaService.getPendentes() > 0 && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+        }
+
+        for (String chave : chaves) {
+            VendaDTO gravada = null;
+            while (gravada == null && System.currentTimeMillis() < limite) {
+                gravada = idempotenciaVendaService.buscarPorChave(chave);
+                Thread.sleep(gravada == null ? 20 : 0);
+            }
+            assertNotNull(gravada, "Venda " + chave + " não foi gravada");
+            vendaIds.add(gravada.getId());
+        }
+
+        assertEquals(idempotenciaVendaService.buscarPorChave(chaves.get(0)).getId(),
+                journalVendaService.registrar(montarVenda(), chaves.get(0)).getId());
+    }
+
+    @Test
+    @DisplayName("Venda que o banco recusaria não deve ser confirmada pelo journal")
+    @Tag("journal")
+    public void testValidacaoAntesDaConfirmacao() throws Exception {
+        Venda semUsuario = montarVenda();
+        semUsuario.getUsuario().setId(Long.MAX_VALUE);
+        assertEquals(HttpStatus.NOT_FOUND,
+                assertThrows(InfoException.class, () -> journalVendaService.registrar(semUsuario, null)).getStatus());
+
+        Venda semCliente = montarVenda();
+        semCliente.getCliente().setId(Long.MAX_VALUE);
+        assertEquals(HttpStatus.NOT_FOUND,
+                assertThrows(InfoException.class, () -> journalVendaService.registrar(semCliente, null)).getStatus());
+
+        // O estoque das vendas confirmadas conta mesmo antes de elas chegarem ao banco
+        List<String> chaves = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            chaves.add(journalVendaService.registrar(montarVenda(produtoComEstoque), null).getChaveIdempotencia());
+        }
+        assertEquals(HttpStatus.CONFLICT, assertThrows(InfoException.class,
+                () -> journalVendaService.registrar(montarVenda(produtoComEstoque), null)).getStatus());
+
+        long limite = System.currentTimeMillis() + 10_000;
+        for (String chave : chaves) {
+            VendaDTO gravada = null;
+            while (gravada == null && System.currentTimeMillis() < limite) {
+                gravada = idempotenciaVendaService.buscarPorChave(chave);
+                Thread.sleep(gravada == null ? 20 : 0);
+            }
+            assertNotNull(gravada, "Venda " + chave + " não foi gravada");
+            vendaIds.add(gravada.getId());
+        }
+        assertEquals(HttpStatus.CONFLICT, assertThrows(InfoException.class,
+                () -> journalVendaService.registrar(montarVenda(produtoComEstoque), null)).getStatus());
+    }
+
+    @Test
+    @DisplayName("Chave de idempotência longa demais ou item sem valor unitário devem ser recusados antes da confirmação")
+    @Tag("journal")
+    public void testChaveEItensValidadosAntesDaConfirmacao() {
+        String chaveLonga = String.join("", Collections.nCopies(101, "x"));
+        assertEquals(HttpStatus.BAD_REQUEST,
+                assertThrows(InfoException.class, () -> journalVendaService.registrar(montarVenda(), chaveLonga)).getStatus());
+
+        Venda semValor = montarVenda();
+        semValor.getItensVenda().get(0).setValorUnitario(null);
+        assertEquals(HttpStatus.BAD_REQUEST,
+                assertThrows(InfoException.class, () -> journalVendaService.registrar(semValor, null)).getStatus());
+    }
+
+    @Test
+    @DisplayName("Venda maior que o journal deve ser recusada com 413 e liberar a reserva de estoque")
+    @Tag("journal")
+    public void testVendaMaiorQueJournal(@TempDir Path diretorio) throws Exception {
+        Map<?, ?> reservasPendentes = (Map<?, ?>) ReflectionTestUtils.getField(journalVendaService, "reservasPendentes");
+        long limite = System.currentTimeMillis() + 10_000;
+        while (!reservasVazias(reservasPendentes) && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+        }
+        assertTrue(reservasVazias(reservasPendentes));
+
+        Object journalOriginal = ReflectionTestUtils.getField(journalVendaService, "journal");
+        try (ArquivoJournal pequeno = new ArquivoJournal(diretorio.resolve("venda.journal"), 64, 1)) {
+            pequeno.iniciar();
+            ReflectionTestUtils.setField(journalVendaService, "journal", pequeno);
+
+            assertEquals(HttpStatus.PAYLOAD_TOO_LARGE,
+                    assertThrows(InfoException.class, () -> journalVendaService.registrar(montarVenda(), null)).getStatus());
+            assertTrue(reservasVazias(reservasPendentes));
+        } finally {
+            ReflectionTestUtils.setField(journalVendaService, "journal", journalOriginal);
+        }
+    }
+
+    @Test
+    @DisplayName("Registro que falha ao ser gravado no banco deve ir para o arquivo de descartes")
+    @Tag("journal")
+    public void testRegistroDescartado() throws Exception {
+        Path descartes = Paths.get("target/teste/venda.journal.descartes");
+        Files.deleteIfExists(descartes);
+
+        Venda semCliente = montarVenda();
+        semCliente.getCliente().setId(Long.MAX_VALUE);
+        semCliente.setChaveIdempotencia("chave-journal-descartada");
+
+        assertTrue(journalVendaService.aplicarLote(List.of(
+                new ArquivoJournal.Registro(0, objectMapper.writeValueAsBytes(semCliente)),
+                new ArquivoJournal.Registro(0, bytes("não é uma venda")))));
+        assertNull(idempotenciaVendaService.buscarPorChave("chave-journal-descartada"));
+
+        List<String> linhas = Files.readAllLines(descartes, StandardCharsets.UTF_8);
+        assertEquals(2, linhas.size());
+        JsonNode primeira = objectMapper.readTree(linhas.get(0));
+        assertEquals("chave-journal-descartada", primeira.get("venda").get("chaveIdempotencia").asText());
+        assertNotNull(primeira.get("erro"));
+        assertEquals("não é uma venda", objectMapper.readTree(linhas.get(1)).get("venda").asText());
+    }
+
+    @Test
+    @DisplayName("Journal deve reler apenas os registros íntegros posteriores ao checkpoint")
+    @Tag("journal")
+    public void testReleituraDoJournal(@TempDir Path diretorio) throws Exception {
+        Path arquivo = diretorio.resolve("venda.journal");
+
+        int fimTerceiro;
+        try (ArquivoJournal journal = new ArquivoJournal(arquivo, 4096, 1)) {
+            journal.iniciar();
+            int fimPrimeiro = journal.anexar(bytes("primeira"), 0);
+            journal.anexar(bytes("segunda"), 0);
+            fimTerceiro = journal.anexar(bytes("terceira"), 0);
+            journal.aguardarDurabilidade(fimTerceiro);
+            journal.avancarCheckpoint(fimPrimeiro);
+        }
+
+        try (ArquivoJournal journal = new ArquivoJournal(arquivo, 4096, 1)) {
+            assertEquals(List.of("segunda", "terceira"), textos(journal.lerPendentes()));
+        }
+
+        // Um registro corrompido encerra a leitura
+        try (RandomAccessFile acesso = new RandomAccessFile(arquivo.toFile(), "rw")) {
+            acesso.seek(fimTerceiro - 1);
+            acesso.write('X');
+        }
+        try (ArquivoJournal journal = new ArquivoJournal(arquivo, 4096, 1)) {
+            assertEquals(List.of("segunda"), textos(journal.lerPendentes()));
+        }
+    }
+
+    @Test
+    @DisplayName("Journal cheio deve recomeçar do início depois que tudo foi aplicado")
+    @Tag("journal")
+    public void testReinicioDoJournalCheio(@TempDir Path diretorio) throws Exception {
+        Path arquivo = diretorio.resolve("venda.journal");
+
+        try (ArquivoJournal journal = new ArquivoJournal(arquivo, 160, 1)) {
+            journal.iniciar();
+            journal.anexar(bytes("registro com quarenta bytes de dados...."), 0);
+            int fim = journal.anexar(bytes("registro com quarenta bytes de dados...."), 0);
+            assertEquals(-1, journal.anexar(bytes("registro com quarenta bytes de dados...."), 0));
+
+            journal.aguardarDurabilidade(fim);
+            journal.avancarCheckpoint(fim);
+            assertTrue(journal.anexar(bytes("novo"), 0) > 0);
+        }
+
+        try (ArquivoJournal journal = new ArquivoJournal(arquivo, 160, 1)) {
+            assertEquals(List.of("novo"), textos(journal.lerPendentes()));
+        }
+    }
+
+    private boolean reservasVazias(Map<?, ?> reservasPendentes) {
+        synchronized (reservasPendentes) {
+            return reservasPendentes.isEmpty();
+        }
+    }
+
+    private byte[] bytes(String texto) {
+        return texto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private List<String> textos(List<ArquivoJournal.Registro> registros) {
+        List<String> textos = new ArrayList<>();
+        for (ArquivoJournal.Registro registro : registros) {
+            textos.add(new String(registro.getDados(), StandardCharsets.UTF_8));
+        }
+        return textos;
+    }
+}
@@ -10,6 +10,10 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Stream;
 
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -52,6 +56,8 @@ public class ProdutoServiceImplTest {
     private CategoriaServiceImpl categoriaService;
     @Autowired
     private FabricanteServiceImpl fabricanteService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
 
     @BeforeEach
     private void beforeEach() throws Exception {
@@ -134,6 +140,43 @@ public class ProdutoServiceImplTest {
         assertEquals(3, produtos.size());
     }
 
+    @Test
+    @DisplayName("Listar produtos deve trazer fabricante e categoria em uma única consulta, sem carregar entidades")
+    @Tag("ProdutoService")
+    public void testListarProdutos() throws Exception {
+        List<Categoria> categorias = categoriaService.buscarTodos();
+        List<Fabricante> fabricantes = fabricanteService.buscarTodos();
+        for (int i = 0; i < 2; i++) {
+            Produto produto = new Produto();
+            produto.setNome("Produto Listagem " + i);
+            produto.setDescricao("Descrição do produto");
+            produto.setValorCusto(10.0);
+            produto.setValorVenda(20.0);
+            produto.setCategoria(categorias.get(i * (categorias.size() - 1)));
+            produto.setFabricante(fabricantes.get(i * (fabricantes.size() - 1)));
+            produtoService.inserir(produto);
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        List<ProdutoDTO> produtos;
+        try {
+            statistics.clear();
+            produtos = produtoService.listar();
+            assertEquals(1, statistics.getPrepareStatementCount());
+            assertEquals(0, statistics.getEntityLoadCount());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+
+        assertEquals(2, produtos.size());
+        assertNotNull(produtos.get(0).getId());
+        assertEquals("Produto Listagem 0", produtos.get(0).getNome());
+        assertEquals(categorias.get(0).getId(), produtos.get(0).getCategoria().getId());
+        assertEquals(categorias.get(0).getNome(), produtos.get(0).getCategoria().getNome());
+        assertEquals(fabricantes.get(fabricantes.size() - 1).getNome(), produtos.get(1).getFabricante().getNome());
+    }
+
     @Nested
     @DisplayName("Testes de inserir produto")
     @Tag("ProdutoService")
@@ -0,0 +1,216 @@
+package com.sge.service.relatorio;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sge.CenarioVenda;
+import com.sge.dto.RelatorioJobDTO;
+import com.sge.dto.RetornoRelatorioDTO;
+import com.sge.dto.SolicitacaoRelatorioDTO;
+import com.sge.enums.StatusRelatorioJob;
+import com.sge.enums.TipoRelatorio;
+import com.sge.exceptions.InfoException;
+import com.sge.service.relatorioJob.RelatorioJobServiceImpl;
+
+@SpringBootTest(properties = {"relatorio.jobs.threads=1", "relatorio.jobs.fila=2"})
+@WebAppConfiguration
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class RelatorioJobServiceImplTest extends CenarioVenda {
+    @Autowired
+    private RelatorioJobServiceImpl relatorioJobService;
+    @Autowired
+    private RelatorioServiceImpl relatorioService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    public RelatorioJobServiceImplTest() {
+        super("Job");
+    }
+
+    @BeforeAll
+    private void setUp() throws Exception {
+        vender(criarProduto("Produto Job"), 2.0);
+    }
+
+    private SolicitacaoRelatorioDTO solicitacaoUsuario() {
+        return SolicitacaoRelatorioDTO.builder().tipo(TipoRelatorio.USUARIO).id(usuario.getId()).build();
+    }
+
+    private RelatorioJobDTO aguardar(String id) throws Exception {
+        for (int i = 0; i < 300; i++) {
+            RelatorioJobDTO job = relatorioJobService.consultar(id);
+            if (job.getStatus() == StatusRelatorioJob.CONCLUIDO || job.getStatus() == StatusRelatorioJob.FALHOU) {
+                return job;
+            }
+            Thread.sleep(100);
+        }
+        fail("O relatório " + id + " não terminou a tempo");
+        return null;
+    }
+
+    // Ocupa a única thread do executor até a liberação, para que os jobs enviados fiquem na fila
+    private CountDownLatch ocuparExecutor() throws Exception {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(relatorioJobService, "executor");
+        CountDownLatch liberacao = new CountDownLatch(1);
+        CountDownLatch ocupado = new CountDownLatch(1);
+        executor.execute(() -> {
+            ocupado.countDown();
+            try {
+                liberacao.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        ocupado.await();
+        return liberacao;
+    }
+
+    @Test
+    @DisplayName("Relatório enviado deve ser consultado até concluir e baixado com o mesmo conteúdo do relatório síncrono")
+    @Tag("relatorioJob")
+    public void testSubmeterConsultarBaixar() throws Exception {
+        RelatorioJobDTO enviado = relatorioJobService.submeter(solicitacaoUsuario());
+        assertNotNull(enviado.getId());
+
+        RelatorioJobDTO concluido = aguardar(enviado.getId());
+        assertEquals(StatusRelatorioJob.CONCLUIDO, concluido.getStatus());
+        assertEquals(100, concluido.getProgresso());
+
+        byte[] resultado = relatorioJobService.baixarResultado(enviado.getId());
+        assertEquals(concluido.getTamanhoResultado(), resultado.length);
+        RetornoRelatorioDTO esperado = relatorioService.vendasPorUsuario(usuario.getId());
+        RetornoRelatorioDTO baixado = objectMapper.readValue(resultado, RetornoRelatorioDTO.class);
+        assertEquals(esperado.getMensagem(), baixado.getMensagem());
+        assertEquals(esperado.getValorTotalVenda(), baixado.getValorTotalVenda());
+        assertEquals(esperado.getRelatorioDTO(), baixado.getRelatorioDTO());
+    }
+
+    @Test
+    @DisplayName("Solicitações iguais enviadas enquanto o relatório está pendente devem reaproveitar o mesmo job")
+    @Tag("relatorioJob")
+    public void testSolicitacaoDuplicadaReaproveitaJob() throws Exception {
+        CountDownLatch liberacao = ocuparExecutor();
+        RelatorioJobDTO primeiro;
+        try {
+            primeiro = relatorioJobService.submeter(solicitacaoUsuario());
+            RelatorioJobDTO segundo = relatorioJobService.submeter(solicitacaoUsuario());
+
+            assertEquals(primeiro.getId(), segundo.getId());
+            assertEquals(StatusRelatorioJob.PENDENTE, segundo.getStatus());
+
+            InfoException emProcessamento = assertThrows(InfoException.class, () -> relatorioJobService.baixarResultado(primeiro.getId()));
+            assertEquals(HttpStatus.CONFLICT, emProcessamento.getStatus());
+        } finally {
+            liberacao.countDown();
+        }
+
+        aguardar(primeiro.getId());
+        RelatorioJobDTO novo = relatorioJobService.submeter(solicitacaoUsuario());
+        assertNotEquals(primeiro.getId(), novo.getId());
+        aguardar(novo.getId());
+    }
+
+    @Test
+    @DisplayName("Relatório enviado com a fila cheia deve ser recusado com 503")
+    @Tag("relatorioJob")
+    public void testFilaCheia() throws Exception {
+        CountDownLatch liberacao = ocuparExecutor();
+        List<String> enviados = new ArrayList<>();
+        try {
+            enviados.add(relatorioJobService.submeter(solicitacaoUsuario()).getId());
+            enviados.add(relatorioJobService.submeter(SolicitacaoRelatorioDTO.builder()
+                    .tipo(TipoRelatorio.CLIENTE).id(cliente.getId()).build()).getId());
+
+            InfoException cheia = assertThrows(InfoException.class, () -> relatorioJobService.submeter(SolicitacaoRelatorioDTO.builder()
+                    .tipo(TipoRelatorio.USUARIO).id(usuario.getId()).resumo(true).build()));
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, cheia.getStatus());
+        } finally {
+            liberacao.countDown();
+        }
+
+        for (String id : enviados) {
+            assertEquals(StatusRelatorioJob.CONCLUIDO, aguardar(id).getStatus());
+        }
+    }
+
+    @Test
+    @DisplayName("Relatórios expirados devem ser removidos pela limpeza periódica")
+    @Tag("relatorioJob")
+    public void testExpiracao() throws Exception {
+        RelatorioJobDTO enviado = relatorioJobService.submeter(solicitacaoUsuario());
+        aguardar(enviado.getId());
+
+        Object ttlOriginal = ReflectionTestUtils.getField(relatorioJobService, "ttlMinutos");
+        ReflectionTestUtils.setField(relatorioJobService, "ttlMinutos", 0L);
+        try {
+            Thread.sleep(5);
+            relatorioJobService.limparExpirados();
+        } finally {
+            ReflectionTestUtils.setField(relatorioJobService, "ttlMinutos", ttlOriginal);
+        }
+
+        InfoException expirado = assertThrows(InfoException.class, () -> relatorioJobService.consultar(enviado.getId()));
+        assertEquals(HttpStatus.NOT_FOUND, expirado.getStatus());
+    }
+
+    @Test
+    @DisplayName("Resultados acima do limite de armazenamento devem descartar os mais antigos ou falhar quando não couberem")
+    @Tag("relatorioJob")
+    public void testLimiteArmazenamento() throws Exception {
+        RelatorioJobDTO primeiro = aguardar(relatorioJobService.submeter(solicitacaoUsuario()).getId());
+        long tamanho = primeiro.getTamanhoResultado();
+
+        Object limiteOriginal = ReflectionTestUtils.getField(relatorioJobService, "tamanhoMaximo");
+        ReflectionTestUtils.setField(relatorioJobService, "tamanhoMaximo", tamanho);
+        try {
+            RelatorioJobDTO segundo = aguardar(relatorioJobService.submeter(solicitacaoUsuario()).getId());
+            assertEquals(StatusRelatorioJob.CONCLUIDO, segundo.getStatus());
+            assertEquals(HttpStatus.NOT_FOUND,
+                    assertThrows(InfoException.class, () -> relatorioJobService.consultar(primeiro.getId())).getStatus());
+
+            ReflectionTestUtils.setField(relatorioJobService, "tamanhoMaximo", tamanho - 1);
+            RelatorioJobDTO grande = aguardar(relatorioJobService.submeter(solicitacaoUsuario()).getId());
+            assertEquals(StatusRelatorioJob.FALHOU, grande.getStatus());
+            assertEquals(HttpStatus.BAD_REQUEST,
+                    assertThrows(InfoException.class, () -> relatorioJobService.baixarResultado(grande.getId())).getStatus());
+        } finally {
+            ReflectionTestUtils.setField(relatorioJobService, "tamanhoMaximo", limiteOriginal);
+        }
+    }
+
+    @Test
+    @DisplayName("O status da InfoException deve chegar ao cliente HTTP em vez de 500")
+    @Tag("relatorioJob")
+    public void testStatusDaInfoException() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+
+        mockMvc.perform(get("/api/relatorio/jobs/inexistente"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.mensagem").value("Relatório não encontrado ou expirado"));
+    }
+}
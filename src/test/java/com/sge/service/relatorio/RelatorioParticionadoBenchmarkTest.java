@@ -0,0 +1,93 @@
+package com.sge.service.relatorio;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import com.sge.CenarioVenda;
+import com.sge.dto.RetornoRelatorioDTO;
+import com.sge.entity.Produto;
+import com.sge.entity.Venda;
+import com.sge.repository.ItensVendaRepository;
+import com.sge.util.Util;
+
+@SpringBootTest
+@WebAppConfiguration
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class RelatorioParticionadoBenchmarkTest extends CenarioVenda {
+    private static final Logger log = LoggerFactory.getLogger(RelatorioParticionadoBenchmarkTest.class);
+    private static final LocalDate PRIMEIRO_DIA = LocalDate.of(2019, 1, 1);
+    private static final int DIAS = 730;
+    private static final int REPETICOES = 5;
+
+    @Autowired
+    private RelatorioServiceImpl relatorioService;
+    @Autowired
+    private ItensVendaRepository itensVendaRepository;
+
+    public RelatorioParticionadoBenchmarkTest() {
+        super("Benchmark");
+    }
+
+    @BeforeAll
+    private void setUp() throws Exception {
+        Produto produto = criarProduto("Produto Benchmark");
+        for (int dia = 0; dia < DIAS; dia++) {
+            Venda venda = montarVenda(produto, 1.0 + dia % 5);
+            venda.getItensVenda().get(0).setValorUnitario(10.0 + dia % 7);
+            venda.setDataVenda(converter(PRIMEIRO_DIA.plusDays(dia)));
+            vender(venda);
+        }
+    }
+
+    private Date converter(LocalDate data) {
+        return Date.from(data.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    @Test
+    @DisplayName("Relatório particionado por data deve ser igual para qualquer paralelismo e medir o ganho por núcleo")
+    @Tag("benchmark")
+    public void testEscalabilidadeRelatorioParticionado() {
+        Date inicio = converter(PRIMEIRO_DIA);
+        Date fim = converter(PRIMEIRO_DIA.plusDays(DIAS - 1));
+
+        RetornoRelatorioDTO referencia = null;
+        for (int paralelismo = 1; paralelismo <= Runtime.getRuntime().availableProcessors(); paralelismo *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(paralelismo);
+            try {
+                RetornoRelatorioDTO retorno = relatorioService.vendasFiltroPorDataParticionado(inicio, fim, pool);
+
+                long inicioMedicao = System.nanoTime();
+                for (int i = 0; i < REPETICOES; i++) {
+                    relatorioService.vendasFiltroPorDataParticionado(inicio, fim, pool);
+                }
+                long mediaMs = (System.nanoTime() - inicioMedicao) / REPETICOES / 1_000_000;
+                log.info("Relatório particionado: paralelismo={}, média={} ms", paralelismo, mediaMs);
+
+                if (referencia == null) {
+                    referencia = retorno;
+                }
+                assertEquals(referencia, retorno);
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        assertEquals(DIAS, referencia.getQuantidadeVendas());
+        assertEquals(itensVendaRepository.findRelatorioByPeriodo(inicio, Util.inicioDiaSeguinte(fim)), referencia.getRelatorioDTO());
+    }
+}
@@ -0,0 +1,418 @@
+package com.sge.service.relatorio;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sge.dto.AgregadoVendaDTO;
+import com.sge.dto.IntervaloHistogramaDTO;
+import com.sge.dto.RelatorioDTO;
+import com.sge.dto.RetornoDistintosDTO;
+import com.sge.dto.RetornoHistogramaDTO;
+import com.sge.dto.RetornoRelatorioDTO;
+import com.sge.dto.RetornoResumoDiarioDTO;
+import com.sge.dto.TopProdutoDTO;
+import com.sge.entity.Categoria;
+import com.sge.entity.Cliente;
+import com.sge.entity.Fabricante;
+import com.sge.entity.ItensVenda;
+import com.sge.entity.Produto;
+import com.sge.entity.Usuario;
+import com.sge.entity.Venda;
+import com.sge.enums.GranularidadeHistograma;
+import com.sge.exceptions.InfoException;
+import com.sge.repository.ResumoVendaDiarioRepository;
+import com.sge.service.analitico.AnaliticoVendaServiceImpl;
+import com.sge.service.categoria.CategoriaServiceImpl;
+import com.sge.service.cliente.ClienteServiceImpl;
+import com.sge.service.distintos.DistintosVendaServiceImpl;
+import com.sge.service.fabricante.FabricanteServiceImpl;
+import com.sge.service.histograma.HistogramaVendaServiceImpl;
+import com.sge.service.produto.ProdutoServiceImpl;
+import com.sge.service.resumoVenda.ResumoVendaServiceImpl;
+import com.sge.service.topProduto.TopProdutoServiceImpl;
+import com.sge.service.usuario.UsuarioServiceImpl;
+import com.sge.service.venda.VendaServiceImpl;
+import com.sge.util.Util;
+
+@SpringBootTest
+@WebAppConfiguration
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class RelatorioServiceImplTest {
+    @Autowired
+    private RelatorioServiceImpl relatorioService;
+    @Autowired
+    private VendaServiceImpl vendaService;
+    @Autowired
+    private ResumoVendaServiceImpl resumoVendaService;
+    @Autowired
+    private ResumoVendaDiarioRepository resumoVendaDiarioRepository;
+    @Autowired
+    private AnaliticoVendaServiceImpl analiticoVendaService;
+    @Autowired
+    private TopProdutoServiceImpl topProdutoService;
+    @Autowired
+    private HistogramaVendaServiceImpl histogramaVendaService;
+    @Autowired
+    private DistintosVendaServiceImpl distintosVendaService;
+    @Autowired
+    private ProdutoServiceImpl produtoService;
+    @Autowired
+    private CategoriaServiceImpl categoriaService;
+    @Autowired
+    private FabricanteServiceImpl fabricanteService;
+    @Autowired
+    private UsuarioServiceImpl usuarioService;
+    @Autowired
+    private ClienteServiceImpl clienteService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Categoria categoria;
+    private Fabricante fabricante;
+    private Produto produto;
+    private Usuario usuario;
+    private Cliente cliente;
+    private final List<Long> vendaIds = new ArrayList<>();
+
+    @BeforeAll
+    private void setUp() throws Exception {
+        categoria = new Categoria();
+        categoria.setNome("Categoria Relatório");
+        categoriaService.inserir(categoria);
+
+        fabricante = new Fabricante();
+        fabricante.setNome("Fabricante Relatório");
+        fabricanteService.inserir(fabricante);
+
+        produto = new Produto();
+        produto.setNome("Produto Relatório");
+        produto.setDescricao("Descrição do produto");
+        produto.setValorCusto(5.0);
+        produto.setValorVenda(10.0);
+        produto.setCategoria(categoria);
+        produto.setFabricante(fabricante);
+        produtoService.inserir(produto);
+
+        usuario = new Usuario();
+        usuario.setNome("Usuário Relatório");
+        usuario.setDocumento("98765432100");
+        usuario.setEndereco("Rua Relatório");
+        usuario.setCep("12345678");
+        usuario.setEmail("relatorio@teste.com");
+        usuarioService.inserir(usuario);
+
+        cliente = new Cliente();
+        cliente.setNome("Cliente Relatório");
+        cliente.setDocumento("12345678900");
+        cliente.setEndereco("Rua Cliente");
+        cliente.setCep("12345678");
+        cliente.setEmail("cliente@teste.com");
+        clienteService.inserir(cliente);
+    }
+
+    // Cada teste exclui as próprias vendas, para que os totais de hoje não dependam da ordem de execução
+    @AfterEach
+    private void excluirVendas() throws Exception {
+        for (Long vendaId : vendaIds) {
+            vendaService.excluir(vendaId);
+        }
+        vendaIds.clear();
+    }
+
+    @AfterAll
+    private void tearDown() throws Exception {
+        produtoService.excluir(produto.getId());
+        categoriaService.excluir(categoria.getId());
+        fabricanteService.excluir(fabricante.getId());
+        usuarioService.excluir(usuario.getId());
+        clienteService.excluir(cliente.getId());
+    }
+
+    private Venda montarVenda() {
+        ItensVenda item = new ItensVenda();
+        item.setProduto(produto);
+        item.setQuantidade(2.0);
+        item.setValorUnitario(10.0);
+
+        Venda venda = new Venda();
+        venda.setUsuario(usuario);
+        venda.setCliente(cliente);
+        venda.setItensVenda(Collections.singletonList(item));
+        return venda;
+    }
+
+    private void inserirVendas(int quantidade) throws Exception {
+        for (int i = 0; i < quantidade; i++) {
+            vendaIds.add(vendaService.inserir(montarVenda()).getId());
+        }
+    }
+
+    private long contarStatements(ThrowingSupplier<RetornoRelatorioDTO> relatorio) throws Throwable {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            relatorio.get();
+            return statistics.getPrepareStatementCount();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    @DisplayName("Teste que a quantidade de consultas dos relatórios não cresce com o volume de vendas")
+    @Tag("RelatorioService")
+    public void testQuantidadeConsultasConstante() throws Throwable {
+        inserirVendas(2);
+
+        long consultasUsuario = contarStatements(() -> relatorioService.vendasPorUsuario(usuario.getId()));
+        long consultasCliente = contarStatements(() -> relatorioService.comprasPorCliente(cliente.getId()));
+        long consultasData = contarStatements(() -> relatorioService.vendasFiltroPorData("2000-01-01", "2100-01-01"));
+
+        assertTrue(consultasUsuario > 0 && consultasCliente > 0 && consultasData > 0);
+
+        inserirVendas(20);
+
+        assertEquals(consultasUsuario, contarStatements(() -> relatorioService.vendasPorUsuario(usuario.getId())));
+        assertEquals(consultasCliente, contarStatements(() -> relatorioService.comprasPorCliente(cliente.getId())));
+        assertEquals(consultasData, contarStatements(() -> relatorioService.vendasFiltroPorData("2000-01-01", "2100-01-01")));
+
+        RetornoRelatorioDTO retorno = relatorioService.vendasPorUsuario(usuario.getId());
+
+        assertEquals(22, retorno.getRelatorioDTO().size());
+        assertEquals(440.0, retorno.getValorTotalVenda());
+        assertEquals("O usuário " + usuario.getId() + " realizou o total de 22 venda(s)", retorno.getMensagem());
+    }
+
+    @Test
+    @DisplayName("Teste que o relatório transmitido por data devolve as mesmas linhas e total do relatório em memória")
+    @Tag("RelatorioService")
+    public void testVendasFiltroPorDataStream() throws Exception {
+        inserirVendas(3);
+
+        RetornoRelatorioDTO esperado = relatorioService.vendasFiltroPorData("2000-01-01", "2100-01-01");
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        relatorioService.vendasFiltroPorDataStream(Util.converterData("2000-01-01"), Util.converterData("2100-01-01"), outputStream);
+        String[] linhas = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+
+        assertEquals(esperado.getRelatorioDTO().size() + 1, linhas.length);
+        for (int i = 0; i < esperado.getRelatorioDTO().size(); i++) {
+            assertEquals(esperado.getRelatorioDTO().get(i), objectMapper.readValue(linhas[i], RelatorioDTO.class));
+        }
+
+        RetornoRelatorioDTO total = objectMapper.readValue(linhas[linhas.length - 1], RetornoRelatorioDTO.class);
+        assertEquals(esperado.getValorTotalVenda(), total.getValorTotalVenda());
+        assertEquals(esperado.getMensagem(), total.getMensagem());
+    }
+
+    @Test
+    @DisplayName("Teste que o resumo diário acompanha as vendas e a reconstrução chega ao mesmo total")
+    @Tag("RelatorioService")
+    public void testResumoDiario() throws Exception {
+        inserirVendas(2);
+        vendaService.excluir(vendaIds.remove(vendaIds.size() - 1));
+
+        RetornoRelatorioDTO relatorio = relatorioService.vendasPorUsuario(usuario.getId());
+        Date hoje = Util.converterData(LocalDate.now().toString());
+
+        RetornoResumoDiarioDTO resumo = resumoVendaService.buscarResumoDiario(hoje, hoje, null, usuario.getId(), null);
+        assertEquals(1, resumo.getResumoDiarioDTO().size());
+        assertEquals(relatorio.getValorTotalVenda(), resumo.getValorTotalVenda());
+        assertEquals(relatorio.getRelatorioDTO().size(), resumo.getResumoDiarioDTO().get(0).getQuantidadeItens());
+
+        resumoVendaService.reconstruir();
+
+        RetornoResumoDiarioDTO reconstruido = resumoVendaService.buscarResumoDiario(hoje, hoje, produto.getId(), null, cliente.getId());
+        assertEquals(resumo, reconstruido);
+    }
+
+    @Test
+    @DisplayName("Teste que as primeiras vendas concorrentes do dia somam em uma única linha do resumo")
+    @Tag("RelatorioService")
+    public void testResumoDiarioConcorrente() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Long>> resultados = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            resultados.add(executor.submit(() -> {
+                Venda venda = montarVenda();
+                largada.await();
+                return vendaService.inserir(venda).getId();
+            }));
+        }
+        largada.countDown();
+
+        for (Future<Long> resultado : resultados) {
+            vendaIds.add(resultado.get(60, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        Date hoje = Util.converterData(LocalDate.now().toString());
+        RetornoResumoDiarioDTO resumo = resumoVendaService.buscarResumoDiario(hoje, hoje, produto.getId(), usuario.getId(), cliente.getId());
+        assertEquals(threads, resumo.getResumoDiarioDTO().get(0).getQuantidadeItens());
+        assertEquals(threads * 20.0, resumo.getValorTotalVenda());
+        assertEquals(1, resumoVendaDiarioRepository.findAll().stream()
+                .filter(linha -> linha.getProdutoId().equals(produto.getId()) && linha.getUsuarioId().equals(usuario.getId()))
+                .count());
+    }
+
+    @Test
+    @DisplayName("Teste que o resumo calculado no banco coincide com os totais do relatório completo")
+    @Tag("RelatorioService")
+    public void testResumoIgualAoRelatorioCompleto() throws Exception {
+        inserirVendas(3);
+
+        RetornoRelatorioDTO completo = relatorioService.comprasPorCliente(cliente.getId());
+        RetornoRelatorioDTO resumo = relatorioService.resumoComprasPorCliente(cliente.getId());
+
+        assertNull(resumo.getRelatorioDTO());
+        assertEquals(completo.getValorTotalVenda(), resumo.getValorTotalVenda());
+        assertEquals(completo.getQuantidadeVendas(), resumo.getQuantidadeVendas());
+        assertEquals(completo.getQuantidadeItens(), resumo.getQuantidadeItens());
+        assertEquals(completo.getMensagem(), resumo.getMensagem());
+
+        assertEquals(relatorioService.vendasPorUsuario(usuario.getId()).getValorTotalVenda(),
+                relatorioService.resumoVendasPorUsuario(usuario.getId()).getValorTotalVenda());
+        assertEquals(relatorioService.vendasFiltroPorData("2000-01-01", "2100-01-01").getMensagem(),
+                relatorioService.resumoVendasFiltroPorData("2000-01-01", "2100-01-01").getMensagem());
+    }
+
+    @Test
+    @DisplayName("Teste que todos os relatórios por período incluem as vendas do último dia informado")
+    @Tag("RelatorioService")
+    public void testUltimoDiaInclusivo() throws Exception {
+        inserirVendas(2);
+
+        String dia = LocalDate.now().toString();
+        Date hoje = Util.converterData(dia);
+        RetornoRelatorioDTO completo = relatorioService.vendasFiltroPorData(dia, dia);
+        assertEquals(2, completo.getQuantidadeVendas());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        relatorioService.vendasFiltroPorDataStream(hoje, hoje, outputStream);
+        String[] linhas = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+
+        assertEquals(completo.getValorTotalVenda(), objectMapper.readValue(linhas[linhas.length - 1], RetornoRelatorioDTO.class).getValorTotalVenda());
+        assertEquals(completo.getValorTotalVenda(), relatorioService.resumoVendasFiltroPorData(dia, dia).getValorTotalVenda());
+        assertEquals(completo.getValorTotalVenda(), resumoVendaService.buscarResumoDiario(hoje, hoje, null, null, null).getValorTotalVenda());
+        assertEquals(completo.getValorTotalVenda(), analiticoVendaService.agruparPorDia(hoje, hoje).get(0).getValorTotal());
+        assertEquals(completo.getQuantidadeItens() * 2.0, topProdutoService.buscarTopProdutosExato(1, hoje, hoje).get(0).getQuantidade());
+    }
+
+    @Test
+    @DisplayName("Teste que o armazenamento analítico acompanha inclusões e exclusões de vendas")
+    @Tag("RelatorioService")
+    public void testAnaliticoAcompanhaVendas() throws Exception {
+        inserirVendas(2);
+        vendaService.excluir(vendaIds.remove(vendaIds.size() - 1));
+
+        RetornoRelatorioDTO relatorio = relatorioService.vendasPorUsuario(usuario.getId());
+        Date hoje = Util.converterData(LocalDate.now().toString());
+
+        List<AgregadoVendaDTO> porProduto = analiticoVendaService.agruparPorProduto(hoje, hoje);
+        assertEquals(1, porProduto.size());
+        assertEquals(produto.getId(), porProduto.get(0).getId());
+        assertEquals(produto.getNome(), porProduto.get(0).getNome());
+        assertEquals(relatorio.getQuantidadeItens(), porProduto.get(0).getQuantidadeItens());
+        assertEquals(relatorio.getValorTotalVenda(), porProduto.get(0).getValorTotal());
+
+        List<AgregadoVendaDTO> porCategoria = analiticoVendaService.agruparPorCategoria(hoje, hoje);
+        assertEquals(categoria.getNome(), porCategoria.get(0).getNome());
+        assertEquals(relatorio.getValorTotalVenda(), analiticoVendaService.agruparPorDia(hoje, hoje).get(0).getValorTotal());
+    }
+
+    @Test
+    @DisplayName("Top produtos estimado deve limitar o erro em relação ao cálculo exato")
+    @Tag("topProdutos")
+    public void testTopProdutosDentroDoErro() throws Exception {
+        inserirVendas(3);
+
+        Date hoje = Util.converterData(LocalDate.now().toString());
+        List<TopProdutoDTO> exato = topProdutoService.buscarTopProdutosExato(1, hoje, hoje);
+        List<TopProdutoDTO> estimado = topProdutoService.buscarTopProdutos(1);
+
+        assertEquals(produto.getId(), exato.get(0).getProdutoId());
+        assertEquals(produto.getId(), estimado.get(0).getProdutoId());
+        assertTrue(estimado.get(0).getQuantidade() >= exato.get(0).getQuantidade());
+        assertTrue(estimado.get(0).getQuantidade() - estimado.get(0).getErroMaximo() <= exato.get(0).getQuantidade());
+    }
+
+    @Test
+    @DisplayName("Histograma de vendas deve somar o mesmo que o relatório completo em qualquer granularidade")
+    @Tag("histograma")
+    public void testHistogramaIgualAoRelatorio() throws Exception {
+        inserirVendas(2);
+
+        Date hoje = Util.converterData(LocalDate.now().toString());
+        RetornoRelatorioDTO relatorio = relatorioService.vendasPorUsuario(usuario.getId());
+
+        for (GranularidadeHistograma granularidade : GranularidadeHistograma.values()) {
+            RetornoHistogramaDTO histograma = histogramaVendaService.gerarHistograma(hoje, hoje, granularidade);
+
+            assertEquals(relatorio.getQuantidadeVendas(),
+                    histograma.getIntervalos().stream().mapToLong(IntervaloHistogramaDTO::getQuantidadeVendas).sum());
+            assertEquals(relatorio.getQuantidadeItens(),
+                    histograma.getIntervalos().stream().mapToLong(IntervaloHistogramaDTO::getQuantidadeItens).sum());
+            assertEquals(relatorio.getValorTotalVenda(),
+                    histograma.getIntervalos().stream().mapToDouble(IntervaloHistogramaDTO::getValorTotal).sum());
+        }
+
+        assertThrows(InfoException.class, () -> histogramaVendaService.gerarHistograma(
+                Util.converterData("2000-01-01"), Util.converterData("2100-01-01"), GranularidadeHistograma.HORA));
+    }
+
+    @Test
+    @DisplayName("Contagem aproximada de clientes e produtos distintos deve acompanhar a contagem exata")
+    @Tag("distintos")
+    public void testDistintosIgualAoExato() throws Exception {
+        inserirVendas(2);
+        vendaService.excluir(vendaIds.remove(vendaIds.size() - 1));
+
+        Date hoje = Util.converterData(LocalDate.now().toString());
+        RetornoDistintosDTO exato = distintosVendaService.contarDistintos(hoje, hoje, true);
+        RetornoDistintosDTO estimado = distintosVendaService.contarDistintos(hoje, hoje, false);
+
+        assertEquals(1L, exato.getClientesDistintos());
+        assertEquals(1L, exato.getProdutosDistintos());
+        assertEquals(exato.getClientesDistintos(), estimado.getClientesDistintos());
+        assertEquals(exato.getProdutosDistintos(), estimado.getProdutosDistintos());
+        assertFalse(estimado.getExato());
+
+        RetornoDistintosDTO vazio = distintosVendaService.contarDistintos(
+                Util.converterData("2000-01-01"), Util.converterData("2000-12-31"), false);
+        assertEquals(0L, vazio.getClientesDistintos());
+    }
+}
@@ -0,0 +1,88 @@
+package com.sge.service.topProduto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import com.sge.CenarioVenda;
+import com.sge.dto.TopProdutoDTO;
+import com.sge.entity.Produto;
+import com.sge.exceptions.InfoException;
+
+@SpringBootTest(properties = "relatorio.top-produtos.capacidade=3")
+@WebAppConfiguration
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TopProdutoServiceImplTest extends CenarioVenda {
+    private static final int CAPACIDADE = 3;
+    // Quantidade vendida de cada produto, na ordem das vendas; os pequenos vêm primeiro para serem descartados
+    private static final double[] QUANTIDADES = {5.0, 4.0, 3.0, 50.0, 30.0, 20.0, 1.0, 2.0};
+    private static final int[] PRODUTOS_DAS_VENDAS = {3, 4, 5, 0, 1, 2, 4, 5};
+
+    @Autowired
+    private TopProdutoServiceImpl topProdutoService;
+
+    private final List<Produto> produtos = new ArrayList<>();
+
+    public TopProdutoServiceImplTest() {
+        super("Top");
+    }
+
+    @BeforeAll
+    private void setUp() throws Exception {
+        for (int i = 0; i < 6; i++) {
+            produtos.add(criarProduto("Produto Top " + i));
+        }
+        for (int i = 0; i < QUANTIDADES.length; i++) {
+            vender(produtos.get(PRODUTOS_DAS_VENDAS[i]), QUANTIDADES[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("Com mais produtos que a capacidade, cada estimativa deve ficar entre a contagem exata e ela mais o erro")
+    @Tag("topProdutos")
+    public void testEstimativaComDescarte() throws Exception {
+        Map<Long, Double> exato = topProdutoService.buscarTopProdutosExato(produtos.size(), null, null).stream()
+                .collect(Collectors.toMap(TopProdutoDTO::getProdutoId, TopProdutoDTO::getQuantidade));
+        assertEquals(produtos.size(), exato.size());
+
+        double total = 0.0;
+        for (double quantidade : QUANTIDADES) {
+            total += quantidade;
+        }
+
+        List<TopProdutoDTO> estimado = topProdutoService.buscarTopProdutos(produtos.size());
+        assertEquals(CAPACIDADE, estimado.size());
+        assertEquals(produtos.get(0).getId(), estimado.get(0).getProdutoId());
+
+        for (TopProdutoDTO produto : estimado) {
+            double contagemExata = exato.get(produto.getProdutoId());
+            assertTrue(produto.getQuantidade() >= contagemExata);
+            assertTrue(produto.getQuantidade() - produto.getErroMaximo() <= contagemExata);
+            assertTrue(produto.getErroMaximo() <= total / CAPACIDADE);
+        }
+        assertTrue(estimado.stream().anyMatch(produto -> produto.getErroMaximo() > 0));
+    }
+
+    @Test
+    @DisplayName("Quantidade menor que um deve ser recusada com 400")
+    @Tag("topProdutos")
+    public void testQuantidadeInvalida() {
+        assertEquals(HttpStatus.BAD_REQUEST,
+                assertThrows(InfoException.class, () -> topProdutoService.buscarTopProdutos(0)).getStatus());
+        assertEquals(HttpStatus.BAD_REQUEST,
+                assertThrows(InfoException.class, () -> topProdutoService.buscarTopProdutosExato(-1, null, null)).getStatus());
+    }
+}
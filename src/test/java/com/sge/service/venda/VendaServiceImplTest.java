@@ -0,0 +1,578 @@
+package com.sge.service.venda;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sge.dto.ResultadoLoteVendaDTO;
+import com.sge.dto.RetornoExclusaoVendaDTO;
+import com.sge.dto.RetornoLoteVendaDTO;
+import com.sge.dto.VendaDTO;
+import com.sge.entity.Categoria;
+import com.sge.entity.Cliente;
+import com.sge.entity.Fabricante;
+import com.sge.entity.ItensVenda;
+import com.sge.entity.Produto;
+import com.sge.entity.Usuario;
+import com.sge.entity.Venda;
+import com.sge.exceptions.InfoException;
+import com.sge.repository.ProdutoRepository;
+import com.sge.service.categoria.CategoriaServiceImpl;
+import com.sge.service.cliente.ClienteServiceImpl;
+import com.sge.service.fabricante.FabricanteServiceImpl;
+import com.sge.service.idempotencia.IdempotenciaVendaServiceImpl;
+import com.sge.service.produto.ProdutoServiceImpl;
+import com.sge.service.usuario.UsuarioServiceImpl;
+import com.sge.service.vendaLote.VendaLoteServiceImpl;
+
+@SpringBootTest
+@WebAppConfiguration
+@RecordApplicationEvents
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class VendaServiceImplTest {
+    private static final Logger log = LoggerFactory.getLogger(VendaServiceImplTest.class);
+
+    @Autowired
+    private VendaServiceImpl vendaService;
+    @Autowired
+    private ProdutoServiceImpl produtoService;
+    @Autowired
+    private CategoriaServiceImpl categoriaService;
+    @Autowired
+    private FabricanteServiceImpl fabricanteService;
+    @Autowired
+    private UsuarioServiceImpl usuarioService;
+    @Autowired
+    private ClienteServiceImpl clienteService;
+    @Autowired
+    private VendaLoteServiceImpl vendaLoteService;
+    @Autowired
+    private IdempotenciaVendaServiceImpl idempotenciaVendaService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    private Categoria categoria;
+    private Fabricante fabricante;
+    private Produto produto;
+    private Usuario usuario;
+    private Cliente cliente;
+    private final List<Long> vendaIds = new ArrayList<>();
+
+    @BeforeAll
+    private void setUp() throws Exception {
+        categoria = new Categoria();
+        categoria.setNome("Categoria Venda");
+        categoriaService.inserir(categoria);
+
+        fabricante = new Fabricante();
+        fabricante.setNome("Fabricante Venda");
+        fabricanteService.inserir(fabricante);
+
+        produto = new Produto();
+        produto.setNome("Produto Venda");
+        produto.setDescricao("Descrição do produto");
+        produto.setValorCusto(5.0);
+        produto.setValorVenda(10.0);
+        produto.setCategoria(categoria);
+        produto.setFabricante(fabricante);
+        produtoService.inserir(produto);
+
+        usuario = new Usuario();
+        usuario.setNome("Usuário Venda");
+        usuario.setDocumento("55566677788");
+        usuario.setEndereco("Rua Venda");
+        usuario.setCep("12345678");
+        usuario.setEmail("venda@teste.com");
+        usuarioService.inserir(usuario);
+
+        cliente = new Cliente();
+        cliente.setNome("Cliente Venda");
+        cliente.setDocumento("88877766655");
+        cliente.setEndereco("Rua Cliente");
+        cliente.setCep("12345678");
+        cliente.setEmail("cliente.venda@teste.com");
+        clienteService.inserir(cliente);
+    }
+
+    @AfterAll
+    private void tearDown() throws Exception {
+        if (!vendaIds.isEmpty()) {
+            vendaService.excluirLote(vendaIds);
+        }
+        produtoService.excluir(produto.getId());
+        categoriaService.excluir(categoria.getId());
+        fabricanteService.excluir(fabricante.getId());
+        usuarioService.excluir(usuario.getId());
+        clienteService.excluir(cliente.getId());
+    }
+
+    private Venda montarVenda(int quantidadeItens) {
+        List<ItensVenda> itens = new ArrayList<>();
+        for (int i = 0; i < quantidadeItens; i++) {
+            Produto referencia = new Produto();
+            referencia.setId(produto.getId());
+
+            ItensVenda item = new ItensVenda();
+            item.setProduto(referencia);
+            item.setQuantidade(1.0);
+            item.setValorUnitario(10.0);
+            itens.add(item);
+        }
+
+        Venda venda = new Venda();
+        venda.setUsuario(usuario);
+        venda.setCliente(cliente);
+        venda.setItensVenda(itens);
+        return venda;
+    }
+
+    private VendaDTO inserir(Venda venda) throws InfoException {
+        VendaDTO vendaDTO = vendaService.inserir(venda);
+        vendaIds.add(vendaDTO.getId());
+        return vendaDTO;
+    }
+
+    @Test
+    @DisplayName("Inserir venda deve usar a mesma quantidade de comandos para qualquer número de itens")
+    @Tag("VendaService")
+    public void testInserirVendaEmLote() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            // Aquece as sequências para que a alocação de ids não entre na contagem
+            inserir(montarVenda(1));
+
+            statistics.clear();
+            VendaDTO vendaDTO = inserir(montarVenda(30));
+            long comandos = statistics.getPrepareStatementCount();
+
+            assertEquals(30, vendaDTO.getItensVenda().size());
+            assertEquals(produto.getNome(), vendaDTO.getItensVenda().get(0).getProduto().getNome());
+            assertTrue(comandos < 15, "Foram preparados " + comandos + " comandos");
+            assertEquals(31, statistics.getEntityInsertCount());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    @DisplayName("Buscar vendas por página deve carregar vendas, itens e produtos com duas consultas")
+    @Tag("VendaService")
+    public void testBuscarPagina() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            inserir(montarVenda(3));
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        List<VendaDTO> primeira;
+        try {
+            statistics.clear();
+            primeira = vendaService.buscarPagina(0, 3);
+            assertEquals(2, statistics.getPrepareStatementCount());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+
+        List<VendaDTO> paginas = new ArrayList<>(primeira);
+        paginas.addAll(vendaService.buscarPagina(1, 3));
+        List<VendaDTO> todas;
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            todas = vendaService.buscarTodos();
+            // Menos de uma página completa: a listagem não carrega usuário e cliente das vendas
+            assertEquals(2, statistics.getPrepareStatementCount());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+
+        assertEquals(todas.subList(0, 6), paginas);
+        assertEquals(vendaIds.size(), todas.size());
+        assertEquals(produto.getNome(), todas.get(todas.size() - 1).getItensVenda().get(2).getProduto().getNome());
+        assertThrows(InfoException.class, () -> vendaService.buscarPagina(0, 0));
+    }
+
+    @Test
+    @DisplayName("Inserir venda com produto inexistente deve falhar sem gravar nada")
+    @Tag("VendaService")
+    public void testInserirVendaProdutoInexistente() {
+        Venda venda = montarVenda(2);
+        venda.getItensVenda().get(1).getProduto().setId(Long.MAX_VALUE);
+
+        InfoException exception = assertThrows(InfoException.class, () -> vendaService.inserir(venda));
+        assertEquals("Produto " + Long.MAX_VALUE + " não encontrado", exception.getMessage());
+        assertNull(venda.getId());
+    }
+
+    @Test
+    @DisplayName("Inserir venda com item sem quantidade ou valor unitário deve falhar com 400 sem gravar nada")
+    @Tag("VendaService")
+    public void testInserirVendaItemIncompleto() {
+        Venda semQuantidade = montarVenda(2);
+        semQuantidade.getItensVenda().get(1).setQuantidade(null);
+        InfoException exception = assertThrows(InfoException.class, () -> vendaService.inserir(semQuantidade));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertNull(semQuantidade.getId());
+
+        Venda semValor = montarVenda(2);
+        semValor.getItensVenda().get(0).setValorUnitario(null);
+        exception = assertThrows(InfoException.class, () -> vendaService.inserir(semValor));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertNull(semValor.getId());
+    }
+
+    @Test
+    @DisplayName("Inserir venda repetindo a chave de idempotência deve devolver a venda original sem consultar o banco")
+    @Tag("VendaService")
+    public void testInserirVendaIdempotente() throws Exception {
+        VendaDTO original = idempotenciaVendaService.inserir(montarVenda(2), "chave-teste-idempotencia");
+        vendaIds.add(original.getId());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            VendaDTO repetida = idempotenciaVendaService.inserir(montarVenda(2), "chave-teste-idempotencia");
+
+            assertEquals(original, repetida);
+            assertEquals(0, statistics.getPrepareStatementCount());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+
+        Venda venda = montarVenda(1);
+        venda.setChaveIdempotencia("chave-teste-idempotencia");
+        assertEquals(original.getId(), idempotenciaVendaService.inserir(venda, null).getId());
+    }
+
+    @Test
+    @DisplayName("Inserir vendas em lote deve cadastrar as válidas e informar o resultado de cada uma")
+    @Tag("VendaService")
+    public void testInserirLote() throws Exception {
+        List<Map<String, Object>> lote = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("produto", Map.of("id", i == 120 ? Long.MAX_VALUE : produto.getId()));
+            item.put("quantidade", 1.0);
+            item.put("valorUnitario", 10.0);
+
+            Map<String, Object> venda = new HashMap<>();
+            venda.put("usuario", Map.of("id", usuario.getId()));
+            if (i != 5) {
+                venda.put("cliente", Map.of("id", cliente.getId()));
+            }
+            venda.put("itensVenda", List.of(item));
+            lote.add(venda);
+        }
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        vendaLoteService.inserirLote(new ByteArrayInputStream(objectMapper.writeValueAsBytes(lote)), saida);
+
+        String[] linhas = new String(saida.toByteArray(), StandardCharsets.UTF_8).split("\\n");
+        assertEquals(251, linhas.length);
+
+        List<Long> falhas = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            ResultadoLoteVendaDTO resultado = objectMapper.readValue(linhas[i], ResultadoLoteVendaDTO.class);
+            assertEquals(i, resultado.getIndice());
+            if (resultado.getSucesso()) {
+                vendaIds.add(resultado.getVendaId());
+            } else {
+                falhas.add(resultado.getIndice());
+            }
+        }
+        assertEquals(List.of(5L, 120L), falhas);
+
+        RetornoLoteVendaDTO retorno = objectMapper.readValue(linhas[250], RetornoLoteVendaDTO.class);
+        assertEquals(250L, retorno.getQuantidadeVendas());
+        assertEquals(248L, retorno.getQuantidadeSucesso());
+        assertEquals(2L, retorno.getQuantidadeFalha());
+    }
+
+    @Test
+    @DisplayName("Elemento do lote que não é venda deve falhar sozinho sem interromper as vendas seguintes")
+    @Tag("VendaService")
+    public void testInserirLoteComElementoInvalido() throws Exception {
+        String venda = objectMapper.writeValueAsString(Map.of(
+                "usuario", Map.of("id", usuario.getId()),
+                "cliente", Map.of("id", cliente.getId()),
+                "itensVenda", List.of(Map.of("produto", Map.of("id", produto.getId()), "quantidade", 1.0, "valorUnitario", 10.0))));
+        String campoInvalido = "{\"usuario\": {\"id\": \"abc\", \"nome\": \"x\"}, \"itensVenda\": [{\"quantidade\": 1.0}]}";
+        String lote = "[" + venda + ", 42, " + campoInvalido + ", [1, {\"a\": 2}], " + venda + "]";
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        vendaLoteService.inserirLote(new ByteArrayInputStream(lote.getBytes(StandardCharsets.UTF_8)), saida);
+
+        String[] linhas = new String(saida.toByteArray(), StandardCharsets.UTF_8).split("\\n");
+        assertEquals(6, linhas.length);
+
+        List<Boolean> sucessos = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ResultadoLoteVendaDTO resultado = objectMapper.readValue(linhas[i], ResultadoLoteVendaDTO.class);
+            assertEquals(i, resultado.getIndice());
+            sucessos.add(resultado.getSucesso());
+            if (resultado.getSucesso()) {
+                vendaIds.add(resultado.getVendaId());
+            }
+        }
+        assertEquals(List.of(true, false, false, false, true), sucessos);
+        assertTrue(objectMapper.readValue(linhas[2], ResultadoLoteVendaDTO.class).getMensagem().contains("usuario.id"));
+
+        RetornoLoteVendaDTO retorno = objectMapper.readValue(linhas[5], RetornoLoteVendaDTO.class);
+        assertEquals(5L, retorno.getQuantidadeVendas());
+        assertEquals(2L, retorno.getQuantidadeSucesso());
+        assertEquals("2 de 5 venda(s) cadastrada(s)", retorno.getMensagem());
+    }
+
+    @Test
+    @DisplayName("Lote sem o fechamento da lista deve gravar as vendas lidas e informar a interrupção")
+    @Tag("VendaService")
+    public void testInserirLoteInterrompido() throws Exception {
+        String venda = objectMapper.writeValueAsString(Map.of(
+                "usuario", Map.of("id", usuario.getId()),
+                "cliente", Map.of("id", cliente.getId()),
+                "itensVenda", List.of(Map.of("produto", Map.of("id", produto.getId()), "quantidade", 1.0, "valorUnitario", 10.0))));
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        vendaLoteService.inserirLote(new ByteArrayInputStream(("[" + venda).getBytes(StandardCharsets.UTF_8)), saida);
+
+        String[] linhas = new String(saida.toByteArray(), StandardCharsets.UTF_8).split("\\n");
+        assertEquals(3, linhas.length);
+
+        ResultadoLoteVendaDTO resultado = objectMapper.readValue(linhas[0], ResultadoLoteVendaDTO.class);
+        assertTrue(resultado.getSucesso());
+        vendaIds.add(resultado.getVendaId());
+        assertFalse(objectMapper.readValue(linhas[1], ResultadoLoteVendaDTO.class).getSucesso());
+
+        RetornoLoteVendaDTO retorno = objectMapper.readValue(linhas[2], RetornoLoteVendaDTO.class);
+        assertEquals(1L, retorno.getQuantidadeSucesso());
+        assertTrue(retorno.getMensagem().startsWith("Lote interrompido na venda 1"));
+    }
+
+    @Test
+    @DisplayName("Excluir vendas em lote deve usar a mesma quantidade de comandos para qualquer número de vendas")
+    @Tag("VendaService")
+    public void testExcluirLote() throws Exception {
+        List<Long> excluidas = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            excluidas.add(vendaService.inserir(montarVenda(3)).getId());
+        }
+        List<Long> ids = new ArrayList<>(excluidas);
+        ids.add(Long.MAX_VALUE);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        RetornoExclusaoVendaDTO retorno;
+        try {
+            statistics.clear();
+            retorno = vendaService.excluirLote(ids);
+            long comandos = statistics.getPrepareStatementCount();
+
+            assertTrue(comandos < 10, "Foram preparados " + comandos + " comandos");
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+
+        assertEquals(20L, retorno.getQuantidadeVendas());
+        assertEquals(60L, retorno.getQuantidadeItens());
+        assertThrows(InfoException.class, () -> vendaService.excluir(excluidas.get(0)));
+        assertThrows(InfoException.class, () -> vendaService.excluirLote(new ArrayList<>()));
+    }
+
+    @Test
+    @DisplayName("Excluir vendas por período deve excluir apenas as vendas dos dias informados")
+    @Tag("VendaService")
+    public void testExcluirPorPeriodo(ApplicationEvents eventos) throws Exception {
+        SimpleDateFormat formato = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+        String[] datas = {"1999-03-09 23:59", "1999-03-10 00:00", "1999-03-10 12:00", "1999-03-11 18:30", "1999-03-12 00:00"};
+        List<Long> excluidas = new ArrayList<>();
+        for (String data : datas) {
+            Venda venda = montarVenda(2);
+            venda.setDataVenda(formato.parse(data));
+            excluidas.add(inserir(venda).getId());
+        }
+        excluidas = excluidas.subList(1, 4);
+        vendaIds.removeAll(excluidas);
+
+        // Com blocos de duas vendas, cada bloco gera seu próprio evento
+        Object alvo = AopTestUtils.getTargetObject(vendaService);
+        Object tamanhoBloco = ReflectionTestUtils.getField(alvo, "tamanhoBlocoExclusao");
+        ReflectionTestUtils.setField(alvo, "tamanhoBlocoExclusao", 2);
+        RetornoExclusaoVendaDTO retorno;
+        try {
+            eventos.clear();
+            retorno = vendaService.excluirPorPeriodo(formato.parse("1999-03-10 00:00"), formato.parse("1999-03-11 00:00"));
+        } finally {
+            ReflectionTestUtils.setField(alvo, "tamanhoBlocoExclusao", tamanhoBloco);
+        }
+
+        List<VendaExcluidaEvent> blocos = eventos.stream(VendaExcluidaEvent.class).collect(Collectors.toList());
+        assertEquals(List.of(excluidas.subList(0, 2), excluidas.subList(2, 3)),
+                blocos.stream().map(VendaExcluidaEvent::getVendaIds).collect(Collectors.toList()));
+        assertEquals(2, blocos.get(1).getLinhasVenda().size());
+
+        assertEquals(3L, retorno.getQuantidadeVendas());
+        assertEquals(6L, retorno.getQuantidadeItens());
+        assertThrows(InfoException.class, () -> vendaService.excluirPorPeriodo(formato.parse("1999-03-11 00:00"),
+                formato.parse("1999-03-10 00:00")));
+    }
+
+    @Test
+    @DisplayName("Feed de vendas deve enviar cadastros e exclusões e retomar a partir do Last-Event-ID")
+    @Tag("VendaService")
+    public void testFeedVendas() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        MockHttpServletResponse assinante = mockMvc.perform(get("/api/venda/eventos")).andReturn().getResponse();
+
+        Long vendaId = vendaService.inserir(montarVenda(1)).getId();
+        vendaService.excluir(vendaId);
+
+        String recebido = aguardarEvento(assinante, "event:venda-excluida");
+        assertTrue(recebido.contains("event:venda-registrada"));
+        String idRegistro = recebido.substring(recebido.indexOf("id:") + 3, recebido.indexOf('\n', recebido.indexOf("id:")));
+
+        MockHttpServletResponse reconectado = mockMvc.perform(get("/api/venda/eventos").header("Last-Event-ID", idRegistro))
+                .andReturn().getResponse();
+        String reenviado = aguardarEvento(reconectado, "event:venda-excluida");
+        assertFalse(reenviado.contains("event:venda-registrada"));
+        assertTrue(reenviado.contains("\"vendaIds\":[" + vendaId + "]"));
+
+        MockHttpServletResponse desatualizado = mockMvc.perform(get("/api/venda/eventos").header("Last-Event-ID", "1"))
+                .andReturn().getResponse();
+        aguardarEvento(desatualizado, "event:reiniciar");
+    }
+
+    private String aguardarEvento(MockHttpServletResponse response, String evento) throws Exception {
+        long limite = System.currentTimeMillis() + 5000;
+        String conteudo = response.getContentAsString();
+        while (!conteudo.contains(evento) && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+            conteudo = response.getContentAsString();
+        }
+        assertTrue(conteudo.contains(evento), "Evento " + evento + " não recebido: " + conteudo);
+        return conteudo;
+    }
+
+    @Test
+    @DisplayName("Vendas concorrentes do mesmo produto não devem vender além do estoque")
+    @Tag("VendaService")
+    public void testReservarEstoqueConcorrente() throws Exception {
+        Produto disputado = new Produto();
+        disputado.setNome("Produto Disputado");
+        disputado.setDescricao("Produto com estoque limitado");
+        disputado.setValorCusto(5.0);
+        disputado.setValorVenda(10.0);
+        disputado.setEstoque(150.0);
+        disputado.setCategoria(categoria);
+        disputado.setFabricante(fabricante);
+        produtoService.inserir(disputado);
+
+        int threads = 300;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Long>> resultados = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            resultados.add(executor.submit(() -> {
+                Venda venda = montarVenda(1);
+                venda.getItensVenda().get(0).getProduto().setId(disputado.getId());
+                largada.await();
+                try {
+                    return vendaService.inserir(venda).getId();
+                } catch (InfoException e) {
+                    assertEquals(HttpStatus.CONFLICT, e.getStatus());
+                    return null;
+                }
+            }));
+        }
+        largada.countDown();
+
+        List<Long> vendidas = new ArrayList<>();
+        for (Future<Long> resultado : resultados) {
+            Long vendaId = resultado.get(60, TimeUnit.SECONDS);
+            if (vendaId != null) {
+                vendidas.add(vendaId);
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(150, vendidas.size());
+        assertEquals(0.0, produtoRepository.findById(disputado.getId()).get().getEstoque());
+
+        vendaService.excluirLote(vendidas.subList(0, 40));
+        assertEquals(40.0, produtoRepository.findById(disputado.getId()).get().getEstoque());
+
+        vendaService.excluirLote(vendidas.subList(40, vendidas.size()));
+        produtoService.excluir(disputado.getId());
+    }
+
+    @Test
+    @DisplayName("Benchmark de vendas por segundo com 1, 10 e 100 itens por venda")
+    @Tag("benchmark")
+    public void testBenchmarkInserirVenda() throws Exception {
+        int[][] cenarios = {{1, 200}, {10, 100}, {100, 20}};
+
+        // Aquecimento da JVM antes das medições
+        for (int i = 0; i < 200; i++) {
+            inserir(montarVenda(10));
+        }
+
+        for (int[] cenario : cenarios) {
+            VendaDTO ultima = null;
+            long inicio = System.nanoTime();
+            for (int i = 0; i < cenario[1]; i++) {
+                ultima = inserir(montarVenda(cenario[0]));
+            }
+            double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+            log.info("Inserir venda: {} item(ns) por venda, {} vendas/s", cenario[0], String.format("%.1f", cenario[1] / segundos));
+
+            assertEquals(cenario[0], ultima.getItensVenda().size());
+        }
+    }
+}